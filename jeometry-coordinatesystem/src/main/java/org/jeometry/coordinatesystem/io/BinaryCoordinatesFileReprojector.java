@@ -0,0 +1,298 @@
+package org.jeometry.coordinatesystem.io;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import org.jeometry.coordinatesystem.model.CoordinateSystem;
+import org.jeometry.coordinatesystem.model.systems.EpsgCoordinateSystems;
+import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
+import org.jeometry.coordinatesystem.operation.NoOpOperation;
+import org.jeometry.coordinatesystem.operation.ParallelCoordinatesOperation;
+
+/**
+ * Reproject a raw binary file of interleaved coordinates (x,y[,z[,m]])* stored as doubles or
+ * floats in either byte order. The input and output files are memory-mapped in windows of
+ * {@link #getWindowSize()} bytes and the points in each window are copied in chunks to a scratch
+ * array and processed with {@link CoordinatesOperation#perform(double[], int, double[], int, int, int)}.
+ *
+ * <pre>
+ * java org.jeometry.coordinatesystem.io.BinaryCoordinatesFileReprojector sourceSrid targetSrid
+ *   input output [axisCount [double|float [little|big [parallel]]]]
+ * </pre>
+ */
+public class BinaryCoordinatesFileReprojector {
+
+  public static final int DEFAULT_CHUNK_POINT_COUNT = 65536;
+
+  public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+  private static CoordinatesOperation getOperation(final CoordinateSystem sourceCoordinateSystem,
+    final CoordinateSystem targetCoordinateSystem) {
+    final CoordinatesOperation operation = sourceCoordinateSystem
+      .getCoordinatesOperation(targetCoordinateSystem);
+    if (operation != null) {
+      return operation;
+    } else if (sourceCoordinateSystem == targetCoordinateSystem
+      || sourceCoordinateSystem.isSame(targetCoordinateSystem)) {
+      return NoOpOperation.INSTANCE;
+    } else {
+      throw new IllegalArgumentException(
+        "No operation from " + sourceCoordinateSystem.getCoordinateSystemId() + " to "
+          + targetCoordinateSystem.getCoordinateSystemId() + " is supported");
+    }
+  }
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 4) {
+      System.err.println("Usage: BinaryCoordinatesFileReprojector sourceSrid targetSrid input"
+        + " output [axisCount [double|float [little|big [parallel]]]]");
+      System.exit(1);
+    }
+    final CoordinateSystem sourceCoordinateSystem = EpsgCoordinateSystems
+      .getCoordinateSystem(Integer.parseInt(args[0]));
+    final CoordinateSystem targetCoordinateSystem = EpsgCoordinateSystems
+      .getCoordinateSystem(Integer.parseInt(args[1]));
+    if (sourceCoordinateSystem == null || targetCoordinateSystem == null) {
+      System.err.println("Unknown coordinate system " + args[0] + " or " + args[1]);
+      System.exit(1);
+    }
+    final BinaryCoordinatesFileReprojector reprojector = new BinaryCoordinatesFileReprojector(
+      sourceCoordinateSystem, targetCoordinateSystem);
+    if (args.length > 4) {
+      reprojector.setAxisCount(Integer.parseInt(args[4]));
+    }
+    if (args.length > 5) {
+      reprojector.setFloatValues("float".equalsIgnoreCase(args[5]));
+    }
+    if (args.length > 6) {
+      if ("big".equalsIgnoreCase(args[6])) {
+        reprojector.setByteOrder(ByteOrder.BIG_ENDIAN);
+      } else {
+        reprojector.setByteOrder(ByteOrder.LITTLE_ENDIAN);
+      }
+    }
+    if (args.length > 7) {
+      reprojector.setParallel("parallel".equalsIgnoreCase(args[7]));
+    }
+    final long startTime = System.currentTimeMillis();
+    final long pointCount = reprojector.reproject(Paths.get(args[2]), Paths.get(args[3]));
+    final long time = System.currentTimeMillis() - startTime;
+    System.out.println("Reprojected " + pointCount + " points in " + time + "ms");
+  }
+
+  private int axisCount = 2;
+
+  private ByteOrder byteOrder = ByteOrder.LITTLE_ENDIAN;
+
+  private int chunkPointCount = DEFAULT_CHUNK_POINT_COUNT;
+
+  private boolean floatValues = false;
+
+  private boolean force = false;
+
+  private final CoordinatesOperation operation;
+
+  private boolean parallel = false;
+
+  private int windowSize = DEFAULT_WINDOW_SIZE;
+
+  /**
+   * Construct a reprojector for the operation between the coordinate systems.
+   *
+   * @param sourceCoordinateSystem The coordinate system of the input file.
+   * @param targetCoordinateSystem The coordinate system of the output file.
+   * @throws IllegalArgumentException If there is no operation between different coordinate
+   * systems.
+   */
+  public BinaryCoordinatesFileReprojector(final CoordinateSystem sourceCoordinateSystem,
+    final CoordinateSystem targetCoordinateSystem) {
+    this(getOperation(sourceCoordinateSystem, targetCoordinateSystem));
+  }
+
+  public BinaryCoordinatesFileReprojector(final CoordinatesOperation operation) {
+    if (operation == null) {
+      throw new IllegalArgumentException("operation must not be null");
+    }
+    this.operation = operation;
+  }
+
+  public int getAxisCount() {
+    return this.axisCount;
+  }
+
+  public ByteOrder getByteOrder() {
+    return this.byteOrder;
+  }
+
+  public int getChunkPointCount() {
+    return this.chunkPointCount;
+  }
+
+  public CoordinatesOperation getOperation() {
+    return this.operation;
+  }
+
+  private int getPointSize() {
+    if (this.floatValues) {
+      return this.axisCount * Float.BYTES;
+    } else {
+      return this.axisCount * Double.BYTES;
+    }
+  }
+
+  public int getWindowSize() {
+    return this.windowSize;
+  }
+
+  public boolean isFloatValues() {
+    return this.floatValues;
+  }
+
+  public boolean isForce() {
+    return this.force;
+  }
+
+  public boolean isParallel() {
+    return this.parallel;
+  }
+
+  private void perform(final CoordinatesOperation operation, final double[] coordinates,
+    final MappedByteBuffer sourceBuffer, final MappedByteBuffer targetBuffer,
+    final int pointCount) {
+    final int axisCount = this.axisCount;
+    if (this.floatValues) {
+      final int chunkPointCount = coordinates.length / axisCount;
+      final FloatBuffer source = sourceBuffer.order(this.byteOrder).asFloatBuffer();
+      final FloatBuffer target = targetBuffer.order(this.byteOrder).asFloatBuffer();
+      int index = 0;
+      for (int pointIndex = 0; pointIndex < pointCount; pointIndex += chunkPointCount) {
+        final int count = Math.min(chunkPointCount, pointCount - pointIndex);
+        final int valueCount = count * axisCount;
+        for (int i = 0; i < valueCount; i++) {
+          coordinates[i] = source.get(index + i);
+        }
+        operation.perform(coordinates, 0, coordinates, 0, count, axisCount);
+        for (int i = 0; i < valueCount; i++) {
+          target.put(index + i, (float)coordinates[i]);
+        }
+        index += valueCount;
+      }
+    } else {
+      final DoubleBuffer source = sourceBuffer.order(this.byteOrder).asDoubleBuffer();
+      final DoubleBuffer target = targetBuffer.order(this.byteOrder).asDoubleBuffer();
+      operation.perform(source, 0, axisCount, target, 0, axisCount, pointCount, axisCount,
+        coordinates);
+    }
+  }
+
+  /**
+   * Reproject the points in the input file writing them to the output file. The output file is
+   * created or replaced. The input and output can be the same file to reproject it in place.
+   *
+   * @param input The input file.
+   * @param output The output file.
+   * @return The number of points reprojected.
+   * @throws IOException If the files could not be read or written.
+   */
+  public long reproject(final Path input, final Path output) throws IOException {
+    final int pointSize = getPointSize();
+    final boolean inPlace = input.toAbsolutePath()
+      .normalize()
+      .equals(output.toAbsolutePath().normalize());
+    try (
+      FileChannel in = inPlace
+        ? FileChannel.open(input, StandardOpenOption.READ, StandardOpenOption.WRITE)
+        : FileChannel.open(input, StandardOpenOption.READ);
+      FileChannel out = inPlace ? in
+        : FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      final long size = in.size();
+      if (size % pointSize != 0) {
+        throw new IllegalArgumentException(input + " size=" + size
+          + " is not a multiple of the point size=" + pointSize);
+      }
+      final long pointCount = size / pointSize;
+      final int windowPointCount = Math.max(1, this.windowSize / pointSize);
+      CoordinatesOperation operation = this.operation;
+      if (this.parallel) {
+        operation = new ParallelCoordinatesOperation(operation);
+      }
+      final double[] coordinates = new double[(int)Math
+        .min(Math.min(this.chunkPointCount, windowPointCount), Math.max(1, pointCount))
+        * this.axisCount];
+      for (long pointIndex = 0; pointIndex < pointCount; pointIndex += windowPointCount) {
+        final int count = (int)Math.min(windowPointCount, pointCount - pointIndex);
+        final long position = pointIndex * pointSize;
+        final long length = (long)count * pointSize;
+        final MappedByteBuffer sourceBuffer;
+        if (inPlace) {
+          sourceBuffer = in.map(MapMode.READ_WRITE, position, length);
+        } else {
+          sourceBuffer = in.map(MapMode.READ_ONLY, position, length);
+        }
+        final MappedByteBuffer targetBuffer;
+        if (inPlace) {
+          targetBuffer = sourceBuffer;
+        } else {
+          targetBuffer = out.map(MapMode.READ_WRITE, position, length);
+        }
+        perform(operation, coordinates, sourceBuffer, targetBuffer, count);
+        if (this.force) {
+          targetBuffer.force();
+        }
+      }
+      return pointCount;
+    }
+  }
+
+  public void setAxisCount(final int axisCount) {
+    if (axisCount < 2) {
+      throw new IllegalArgumentException("axisCount=" + axisCount + " must be >= 2");
+    }
+    this.axisCount = axisCount;
+  }
+
+  public void setByteOrder(final ByteOrder byteOrder) {
+    this.byteOrder = byteOrder;
+  }
+
+  public void setChunkPointCount(final int chunkPointCount) {
+    if (chunkPointCount < 1) {
+      throw new IllegalArgumentException("chunkPointCount=" + chunkPointCount + " must be > 0");
+    }
+    this.chunkPointCount = chunkPointCount;
+  }
+
+  public void setFloatValues(final boolean floatValues) {
+    this.floatValues = floatValues;
+  }
+
+  /**
+   * Write each window to the storage device before the next window is mapped so the output is
+   * durable when {@link #reproject(Path, Path)} returns. By default the operating system writes
+   * the mapped pages in the background, which is faster but a crash can lose the output.
+   */
+  public void setForce(final boolean force) {
+    this.force = force;
+  }
+
+  /**
+   * Use a {@link ParallelCoordinatesOperation} to process each chunk. The chunk point count
+   * should be increased so each chunk can be split across the workers.
+   */
+  public void setParallel(final boolean parallel) {
+    this.parallel = parallel;
+  }
+
+  public void setWindowSize(final int windowSize) {
+    this.windowSize = windowSize;
+  }
+}
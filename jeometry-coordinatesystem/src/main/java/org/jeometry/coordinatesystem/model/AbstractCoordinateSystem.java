@@ -1,9 +1,8 @@
 package org.jeometry.coordinatesystem.model;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import org.jeometry.coordinatesystem.operation.ChainedCoordinatesOperation;
 import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
@@ -12,11 +11,23 @@ import org.slf4j.LoggerFactory;
 
 public abstract class AbstractCoordinateSystem implements CoordinateSystem {
 
+  /** Incremented when the cached operations on all coordinate systems must be recreated. */
+  private static volatile int coordinatesOperationVersion;
+
+  /**
+   * Clear the operations cached on every coordinate system the next time they are used. Called
+   * when an operation that is registered on a coordinate system instance is added or removed, as
+   * other coordinate systems may have cached operations to that instance.
+   */
+  static synchronized void clearCachedCoordinatesOperations() {
+    coordinatesOperationVersion++;
+  }
+
   private final Area area;
 
   private final Authority authority;
 
-  private final List<Axis> axis = new ArrayList<>();
+  private final List<Axis> axis;
 
   private final boolean deprecated;
 
@@ -24,23 +35,30 @@ public abstract class AbstractCoordinateSystem implements CoordinateSystem {
 
   private final String name;
 
-  private Map<CoordinateSystem, CoordinatesOperation> coordinatesOperationByCoordinateSystem;
+  private volatile CoordinatesOperationCache<CoordinateSystem> coordinatesOperationCache;
+
+  private volatile int coordinatesOperationCacheVersion;
 
   public AbstractCoordinateSystem(final int id, final String name, final List<Axis> axis,
     final Area area, final boolean deprecated) {
-    this(id, name, axis, area, deprecated, new EpsgAuthority(id));
+    this(id, name, axis, area, deprecated, null);
   }
 
   public AbstractCoordinateSystem(final int id, final String name, final List<Axis> axis,
     final Area area, final boolean deprecated, final Authority authority) {
     this.id = id;
     this.name = name;
-    if (axis != null && !axis.isEmpty()) {
-      this.axis.addAll(axis);
+    if (axis == null || axis.isEmpty()) {
+      this.axis = Collections.emptyList();
+    } else {
+      // Shared if the list is already immutable
+      this.axis = List.copyOf(axis);
     }
     this.area = area;
     this.deprecated = deprecated;
-    if (id > 0) {
+    if (authority instanceof EpsgAuthority && authority.getId() == id) {
+      this.authority = authority;
+    } else if (id > 0) {
       this.authority = new EpsgAuthority(id);
     } else {
       this.authority = null;
@@ -124,36 +142,39 @@ public abstract class AbstractCoordinateSystem implements CoordinateSystem {
 
   @Override
   public CoordinatesOperation getCoordinatesOperation(final CoordinateSystem coordinateSystem) {
-    if (coordinateSystem == this) {
+    if (coordinateSystem == this || coordinateSystem == null) {
       return null;
     } else {
-      if (this.coordinatesOperationByCoordinateSystem == null) {
-        synchronized (this) {
-          if (this.coordinatesOperationByCoordinateSystem == null) {
-            this.coordinatesOperationByCoordinateSystem = new HashMap<>();
-          }
-        }
+      final CoordinatesOperation coordinatesOperation = getCoordinatesOperationCache()
+        .get(coordinateSystem, target -> CoordinatesOperationRegistry.get(this, target,
+          this::newCoordinatesOperationOrNoOp));
+      if (coordinatesOperation == NoOpOperation.INSTANCE) {
+        return null;
+      } else {
+        return coordinatesOperation;
       }
-      synchronized (this.coordinatesOperationByCoordinateSystem) {
-        CoordinatesOperation coordinatesOperation = this.coordinatesOperationByCoordinateSystem
-          .get(coordinateSystem);
-        if (coordinatesOperation == null) {
-          try {
-            coordinatesOperation = newCoordinatesOperation(coordinateSystem);
-          } catch (final IllegalArgumentException e) {
-            coordinatesOperation = NoOpOperation.INSTANCE;
-            LoggerFactory.getLogger(getClass())
-              .error("Cannot get conversion from " + this + " to " + coordinateSystem, e);
-          }
-          this.coordinatesOperationByCoordinateSystem.put(coordinateSystem, coordinatesOperation);
-        }
-        if (coordinatesOperation == NoOpOperation.INSTANCE) {
-          return null;
-        } else {
-          return coordinatesOperation;
+    }
+  }
+
+  public CoordinatesOperationCache<CoordinateSystem> getCoordinatesOperationCache() {
+    CoordinatesOperationCache<CoordinateSystem> cache = this.coordinatesOperationCache;
+    if (cache == null) {
+      synchronized (this) {
+        cache = this.coordinatesOperationCache;
+        if (cache == null) {
+          cache = new CoordinatesOperationCache<>();
+          this.coordinatesOperationCacheVersion = coordinatesOperationVersion;
+          this.coordinatesOperationCache = cache;
         }
       }
+    } else {
+      final int version = coordinatesOperationVersion;
+      if (this.coordinatesOperationCacheVersion != version) {
+        this.coordinatesOperationCacheVersion = version;
+        cache.clear();
+      }
     }
+    return cache;
   }
 
   @Override
@@ -166,6 +187,14 @@ public abstract class AbstractCoordinateSystem implements CoordinateSystem {
     return this.name;
   }
 
+  /**
+   * Check if the operations from or to this coordinate system only depend on its definition, so
+   * they can be shared with equal coordinate systems using {@link CoordinatesOperationRegistry}.
+   */
+  protected boolean isCoordinatesOperationShared() {
+    return true;
+  }
+
   @Override
   public boolean isDeprecated() {
     return this.deprecated;
@@ -180,18 +209,50 @@ public abstract class AbstractCoordinateSystem implements CoordinateSystem {
         addCoordinatesOperations(operations, (GeographicCoordinateSystem)coordinateSystem);
       } else if (coordinateSystem instanceof ProjectedCoordinateSystem) {
         addCoordinatesOperations(operations, (ProjectedCoordinateSystem)coordinateSystem);
+      } else if (coordinateSystem instanceof CompoundCoordinateSystem
+        || coordinateSystem instanceof VerticalCoordinateSystem) {
+        return CompoundCoordinateSystem.newCompoundCoordinatesOperation(this, coordinateSystem);
       } else {
         throw new IllegalArgumentException("Coordinate system type not supported\n"
           + coordinateSystem.getCoordinateSystemType() + "\n" + coordinateSystem);
       }
-      final int operationCount = operations.size();
-      if (operationCount == 0) {
+      return newCoordinatesOperation(operations);
+    }
+  }
+
+  /**
+   * Create the operation that performs the optimized operations in order.
+   *
+   * @param operations The operations.
+   * @return The operation or {@link NoOpOperation#INSTANCE} if there are no operations.
+   */
+  static CoordinatesOperation newCoordinatesOperation(
+    final List<CoordinatesOperation> operations) {
+    final List<CoordinatesOperation> optimizedOperations = ChainedCoordinatesOperation
+      .optimize(operations);
+    final int operationCount = optimizedOperations.size();
+    if (operationCount == 0) {
+      return NoOpOperation.INSTANCE;
+    } else if (operationCount == 1) {
+      return optimizedOperations.get(0);
+    } else {
+      return new ChainedCoordinatesOperation(optimizedOperations);
+    }
+  }
+
+  private CoordinatesOperation newCoordinatesOperationOrNoOp(
+    final CoordinateSystem coordinateSystem) {
+    try {
+      final CoordinatesOperation coordinatesOperation = newCoordinatesOperation(coordinateSystem);
+      if (coordinatesOperation == null) {
         return NoOpOperation.INSTANCE;
-      } else if (operationCount == 1) {
-        return operations.get(0);
       } else {
-        return new ChainedCoordinatesOperation(operations);
+        return coordinatesOperation;
       }
+    } catch (final IllegalArgumentException e) {
+      LoggerFactory.getLogger(getClass())
+        .error("Cannot get conversion from " + this + " to " + coordinateSystem, e);
+      return NoOpOperation.INSTANCE;
     }
   }
 
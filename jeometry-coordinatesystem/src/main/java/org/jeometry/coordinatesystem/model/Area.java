@@ -65,6 +65,27 @@ public class Area {
     return this.name;
   }
 
+  /**
+   * Check if the area intersects the bounding box in degrees. Areas that cross the
+   * antimeridian have a minX less than -180.
+   *
+   * @param minX The minimum longitude.
+   * @param minY The minimum latitude.
+   * @param maxX The maximum longitude.
+   * @param maxY The maximum latitude.
+   * @return True if the area intersects the bounding box.
+   */
+  public boolean intersects(final double minX, final double minY, final double maxX,
+    final double maxY) {
+    if (minY > this.maxY || maxY < this.minY) {
+      return false;
+    } else if (minX <= this.maxX && maxX >= this.minX) {
+      return true;
+    } else {
+      return minX - 360 <= this.maxX && maxX - 360 >= this.minX;
+    }
+  }
+
   public boolean isDeprecated() {
     return this.deprecated;
   }
@@ -1,5 +1,6 @@
 package org.jeometry.coordinatesystem.model;
 
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -7,11 +8,29 @@ import javax.measure.Quantity;
 import javax.measure.Unit;
 import javax.measure.quantity.Length;
 
+import org.jeometry.coordinatesystem.model.unit.AngularUnit;
 import org.jeometry.coordinatesystem.model.unit.LinearUnit;
 import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
+import org.jeometry.coordinatesystem.operation.VerticalScaleOffsetOperation;
+import org.jeometry.coordinatesystem.operation.gridshift.VerticalShiftOperation;
 
 public class CompoundCoordinateSystem extends AbstractCoordinateSystem {
 
+  private static void addCoordinatesOperation(final List<CoordinatesOperation> operations,
+    final CoordinateSystem source, final CoordinateSystem target) {
+    final CoordinatesOperation operation = source.getCoordinatesOperation(target);
+    if (operation != null) {
+      operations.add(operation);
+    }
+  }
+
+  private static void addVerticalOperation(final List<CoordinatesOperation> operations,
+    final VerticalScaleOffsetOperation operation) {
+    if (!operation.isIdentity()) {
+      operations.add(operation);
+    }
+  }
+
   private static List<Axis> getAxis(final CoordinateSystem horizontalCoordinateSystem,
     final VerticalCoordinateSystem verticalCoordinateSystem) {
     final List<Axis> axis = new ArrayList<>();
@@ -20,6 +39,162 @@ public class CompoundCoordinateSystem extends AbstractCoordinateSystem {
     return axis;
   }
 
+  private static GeographicCoordinateSystem getGeographicCoordinateSystem(
+    final HorizontalCoordinateSystem coordinateSystem) {
+    if (coordinateSystem instanceof ProjectedCoordinateSystem) {
+      return ((ProjectedCoordinateSystem)coordinateSystem).getGeographicCoordinateSystem();
+    } else if (coordinateSystem instanceof GeographicCoordinateSystem) {
+      return (GeographicCoordinateSystem)coordinateSystem;
+    } else {
+      return null;
+    }
+  }
+
+  private static HorizontalCoordinateSystem getHorizontalComponent(
+    final CoordinateSystem coordinateSystem) {
+    if (coordinateSystem instanceof CompoundCoordinateSystem) {
+      return ((CompoundCoordinateSystem)coordinateSystem).horizontalCoordinateSystem;
+    } else if (coordinateSystem instanceof HorizontalCoordinateSystem) {
+      return (HorizontalCoordinateSystem)coordinateSystem;
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * Get the coordinate system that defines the heights, a vertical coordinate system or a 3D
+   * geographic coordinate system for ellipsoidal heights.
+   */
+  private static CoordinateSystem getVerticalComponent(final CoordinateSystem coordinateSystem) {
+    if (coordinateSystem instanceof CompoundCoordinateSystem) {
+      return ((CompoundCoordinateSystem)coordinateSystem).verticalCoordinateSystem;
+    } else if (coordinateSystem instanceof VerticalCoordinateSystem) {
+      return coordinateSystem;
+    } else if (coordinateSystem instanceof GeographicCoordinateSystem
+      && ((GeographicCoordinateSystem)coordinateSystem).is3d()) {
+      return coordinateSystem;
+    } else {
+      return null;
+    }
+  }
+
+  private static LinearUnit getVerticalUnit(final CoordinateSystem verticalCoordinateSystem) {
+    if (verticalCoordinateSystem instanceof VerticalCoordinateSystem) {
+      return verticalCoordinateSystem.getLinearUnit();
+    } else {
+      // Ellipsoidal heights are in metres
+      return null;
+    }
+  }
+
+  private static VerticalShiftOperation getVerticalShiftOperation(
+    final CoordinateSystem sourceVerticalCoordinateSystem,
+    final CoordinateSystem targetVerticalCoordinateSystem) {
+    if (sourceVerticalCoordinateSystem instanceof VerticalCoordinateSystem) {
+      final VerticalShiftOperation operation = ((VerticalCoordinateSystem)sourceVerticalCoordinateSystem)
+        .getVerticalShiftOperation(targetVerticalCoordinateSystem);
+      if (operation != null) {
+        return operation;
+      }
+    }
+    if (targetVerticalCoordinateSystem instanceof VerticalCoordinateSystem) {
+      final VerticalShiftOperation operation = ((VerticalCoordinateSystem)targetVerticalCoordinateSystem)
+        .getVerticalShiftOperation(sourceVerticalCoordinateSystem);
+      if (operation != null) {
+        final VerticalShiftOperation inverseOperation = operation.getInverseOperation();
+        if (inverseOperation == null) {
+          throw new IllegalArgumentException("Vertical shift from "
+            + targetVerticalCoordinateSystem + " to " + sourceVerticalCoordinateSystem
+            + " cannot be inverted: " + operation);
+        }
+        return inverseOperation;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isSupported(final CoordinateSystem coordinateSystem) {
+    return coordinateSystem instanceof CompoundCoordinateSystem
+      || coordinateSystem instanceof VerticalCoordinateSystem
+      || getGeographicCoordinateSystem(getHorizontalComponent(coordinateSystem)) != null;
+  }
+
+  /**
+   * Create the operation between coordinate systems where one of them is a compound or vertical
+   * coordinate system. The operation is the horizontal operation between the horizontal
+   * components followed by the conversion of the z ordinate between the vertical units. If a
+   * {@link VerticalShiftOperation} is registered between the vertical components the coordinates
+   * are converted to the geographic coordinate system of the source in degrees, the z ordinate is
+   * converted to metres, shifted and converted to the target unit before converting to the
+   * target horizontal coordinate system. Without a vertical component on one side the z
+   * ordinate is passed through unchanged.
+   *
+   * @param source The source coordinate system.
+   * @param target The target coordinate system.
+   * @return The operation or {@link org.jeometry.coordinatesystem.operation.NoOpOperation#INSTANCE}
+   * if the coordinates don't need to be changed.
+   */
+  static CoordinatesOperation newCompoundCoordinatesOperation(final CoordinateSystem source,
+    final CoordinateSystem target) {
+    if (!isSupported(source) || !isSupported(target)) {
+      throw new IllegalArgumentException("Coordinate system type not supported\n" + source + "\n"
+        + target.getCoordinateSystemType() + "\n" + target);
+    }
+    HorizontalCoordinateSystem sourceHorizontalCoordinateSystem = getHorizontalComponent(source);
+    HorizontalCoordinateSystem targetHorizontalCoordinateSystem = getHorizontalComponent(target);
+    if (sourceHorizontalCoordinateSystem == null) {
+      // Only the heights are converted, x,y are in the target horizontal coordinate system
+      sourceHorizontalCoordinateSystem = targetHorizontalCoordinateSystem;
+    } else if (targetHorizontalCoordinateSystem == null) {
+      targetHorizontalCoordinateSystem = sourceHorizontalCoordinateSystem;
+    }
+    final CoordinateSystem sourceVerticalCoordinateSystem = getVerticalComponent(source);
+    final CoordinateSystem targetVerticalCoordinateSystem = getVerticalComponent(target);
+    VerticalShiftOperation verticalShiftOperation = null;
+    VerticalScaleOffsetOperation toMetresOperation = null;
+    VerticalScaleOffsetOperation fromMetresOperation = null;
+    if (sourceVerticalCoordinateSystem != null && targetVerticalCoordinateSystem != null) {
+      if (!sourceVerticalCoordinateSystem.isSame(targetVerticalCoordinateSystem)) {
+        verticalShiftOperation = getVerticalShiftOperation(sourceVerticalCoordinateSystem,
+          targetVerticalCoordinateSystem);
+      }
+      toMetresOperation = VerticalScaleOffsetOperation
+        .toMetres(getVerticalUnit(sourceVerticalCoordinateSystem));
+      fromMetresOperation = VerticalScaleOffsetOperation
+        .fromMetres(getVerticalUnit(targetVerticalCoordinateSystem));
+    }
+
+    final List<CoordinatesOperation> operations = new ArrayList<>();
+    if (verticalShiftOperation == null) {
+      if (sourceHorizontalCoordinateSystem != null) {
+        addCoordinatesOperation(operations, sourceHorizontalCoordinateSystem,
+          targetHorizontalCoordinateSystem);
+      }
+      if (toMetresOperation != null) {
+        addVerticalOperation(operations, toMetresOperation.then(fromMetresOperation));
+      }
+    } else if (sourceHorizontalCoordinateSystem == null) {
+      // The shift uses x,y as the longitude, latitude in degrees
+      addVerticalOperation(operations, toMetresOperation);
+      operations.add(verticalShiftOperation);
+      addVerticalOperation(operations, fromMetresOperation);
+    } else {
+      final GeographicCoordinateSystem geographicCoordinateSystem = getGeographicCoordinateSystem(
+        sourceHorizontalCoordinateSystem);
+      addCoordinatesOperation(operations, sourceHorizontalCoordinateSystem,
+        geographicCoordinateSystem);
+      final AngularUnit angularUnit = geographicCoordinateSystem.getAngularUnit();
+      angularUnit.addToDegreesOperation(operations);
+      addVerticalOperation(operations, toMetresOperation);
+      operations.add(verticalShiftOperation);
+      addVerticalOperation(operations, fromMetresOperation);
+      angularUnit.addFromDegreesOperation(operations);
+      addCoordinatesOperation(operations, geographicCoordinateSystem,
+        targetHorizontalCoordinateSystem);
+    }
+    return newCoordinatesOperation(operations);
+  }
+
   private final HorizontalCoordinateSystem horizontalCoordinateSystem;
 
   private final VerticalCoordinateSystem verticalCoordinateSystem;
@@ -94,11 +269,6 @@ public class CompoundCoordinateSystem extends AbstractCoordinateSystem {
     return false;
   }
 
-  @Override
-  public CoordinatesOperation getCoordinatesOperation(final CoordinateSystem coordinateSystem) {
-    return null;
-  }
-
   @Override
   public CoordinateSystemType getCoordinateSystemType() {
     return CoordinateSystemType.COMPOUND;
@@ -151,6 +321,20 @@ public class CompoundCoordinateSystem extends AbstractCoordinateSystem {
     return result;
   }
 
+  @Override
+  protected boolean isCoordinatesOperationShared() {
+    return isComponentOperationShared(this.horizontalCoordinateSystem)
+      && isComponentOperationShared(this.verticalCoordinateSystem);
+  }
+
+  private boolean isComponentOperationShared(final CoordinateSystem coordinateSystem) {
+    if (coordinateSystem instanceof AbstractCoordinateSystem) {
+      return ((AbstractCoordinateSystem)coordinateSystem).isCoordinatesOperationShared();
+    } else {
+      return coordinateSystem == null;
+    }
+  }
+
   public boolean isSame(final CompoundCoordinateSystem coordinateSystem) {
     if (coordinateSystem == null) {
       return false;
@@ -183,4 +367,23 @@ public class CompoundCoordinateSystem extends AbstractCoordinateSystem {
     }
   }
 
+  @Override
+  protected CoordinatesOperation newCoordinatesOperation(final CoordinateSystem coordinateSystem) {
+    if (coordinateSystem == null || this == coordinateSystem) {
+      return null;
+    } else {
+      return newCompoundCoordinatesOperation(this, coordinateSystem);
+    }
+  }
+
+  @Override
+  public void updateDigest(final MessageDigest digest) {
+    if (this.horizontalCoordinateSystem != null) {
+      this.horizontalCoordinateSystem.updateDigest(digest);
+    }
+    if (this.verticalCoordinateSystem != null) {
+      this.verticalCoordinateSystem.updateDigest(digest);
+    }
+  }
+
 }
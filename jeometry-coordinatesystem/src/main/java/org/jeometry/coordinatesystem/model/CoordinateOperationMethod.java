@@ -4,10 +4,10 @@ import java.io.Serializable;
 import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.jeometry.coordinatesystem.operation.projection.AlbersConicEqualArea;
@@ -17,7 +17,6 @@ import org.jeometry.coordinatesystem.operation.projection.LambertConicConformal1
 import org.jeometry.coordinatesystem.operation.projection.Mercator1SP;
 import org.jeometry.coordinatesystem.operation.projection.Mercator1SPSpherical;
 import org.jeometry.coordinatesystem.operation.projection.Mercator2SP;
-import org.jeometry.coordinatesystem.operation.projection.ProjectionFactory;
 import org.jeometry.coordinatesystem.operation.projection.TransverseMercatorUsgs;
 import org.jeometry.coordinatesystem.operation.projection.WebMercator;
 import org.jeometry.coordinatesystem.util.Equals;
@@ -49,7 +48,7 @@ public class CoordinateOperationMethod
 
   public static final String TRANSVERSE_MERCATOR = "Transverse_Mercator";
 
-  private static final Map<String, Function<ProjectedCoordinateSystem, CoordinatesProjection>> FACTORY_BY_NAME = new HashMap<>();
+  private static final Map<String, Function<ProjectedCoordinateSystem, CoordinatesProjection>> FACTORY_BY_NAME = new ConcurrentHashMap<>();
 
   static {
     for (final String alias : Arrays.asList(ALBERS_EQUAL_AREA, "Albers", "Albers_Equal_Area_Conic",
@@ -137,7 +136,13 @@ public class CoordinateOperationMethod
     return name.replaceAll(" ", "_").replaceAll("[^a-zA-Z0-9_]", "");
   }
 
-  private static void registerCoordinatesProjection(
+  /**
+   * Register the factory used to create the projection for the named methods.
+   *
+   * @param factory The projection factory.
+   * @param names The normalized method names.
+   */
+  public static void registerCoordinatesProjection(
     final Function<ProjectedCoordinateSystem, CoordinatesProjection> factory,
     final String... names) {
     for (final String name : names) {
@@ -185,7 +190,11 @@ public class CoordinateOperationMethod
         normalizedName);
     }
 
-    this.coordinatesProjectionFactory = FACTORY_BY_NAME.get(this.normalizedName);
+    if (this.normalizedName == null) {
+      this.coordinatesProjectionFactory = null;
+    } else {
+      this.coordinatesProjectionFactory = FACTORY_BY_NAME.get(this.normalizedName);
+    }
   }
 
   @Override
@@ -243,12 +252,16 @@ public class CoordinateOperationMethod
     }
   }
 
-  public synchronized CoordinatesProjection newCoordinatesProjection(
+  public CoordinatesProjection newCoordinatesProjection(
     final ProjectedCoordinateSystem coordinateSystem) {
-    if (this.coordinatesProjectionFactory == null) {
-      return ProjectionFactory.newCoordinatesProjection(coordinateSystem);
+    Function<ProjectedCoordinateSystem, CoordinatesProjection> factory = this.coordinatesProjectionFactory;
+    if (factory == null && this.normalizedName != null) {
+      factory = FACTORY_BY_NAME.get(this.normalizedName);
+    }
+    if (factory == null) {
+      return null;
     } else {
-      return this.coordinatesProjectionFactory.apply(coordinateSystem);
+      return factory.apply(coordinateSystem);
     }
   }
 
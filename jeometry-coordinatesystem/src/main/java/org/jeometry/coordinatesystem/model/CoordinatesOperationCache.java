@@ -0,0 +1,152 @@
+package org.jeometry.coordinatesystem.model;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.jeometry.common.exception.Exceptions;
+import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
+
+/**
+ * Cache of the operations to other coordinate systems (or pairs of coordinate systems). Cache hits
+ * are a single {@link ConcurrentHashMap#get(Object)} with no locking. On a miss only one thread
+ * creates the operation for a key, other threads requesting the same key wait for that result.
+ *
+ * If the maximum size is greater than 0 the oldest entries are evicted once the cache exceeds
+ * that size. The default maximum size is read from the
+ * {@value #MAX_SIZE_PROPERTY} system property (0 = unbounded).
+ */
+public class CoordinatesOperationCache<K> {
+  public static final String MAX_SIZE_PROPERTY = "org.jeometry.coordinatesystem.operationCacheSize";
+
+  private static int defaultMaxSize = Integer.getInteger(MAX_SIZE_PROPERTY, 0);
+
+  public static int getDefaultMaxSize() {
+    return defaultMaxSize;
+  }
+
+  public static void setDefaultMaxSize(final int defaultMaxSize) {
+    CoordinatesOperationCache.defaultMaxSize = defaultMaxSize;
+  }
+
+  private final ConcurrentHashMap<K, Object> operationByKey = new ConcurrentHashMap<>();
+
+  private final Queue<K> insertionOrder = new ConcurrentLinkedQueue<>();
+
+  private final LongAdder evictionCount = new LongAdder();
+
+  private final LongAdder hitCount = new LongAdder();
+
+  private final LongAdder missCount = new LongAdder();
+
+  private volatile int maxSize;
+
+  public CoordinatesOperationCache() {
+    this(defaultMaxSize);
+  }
+
+  public CoordinatesOperationCache(final int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public void clear() {
+    this.operationByKey.clear();
+    this.insertionOrder.clear();
+  }
+
+  private void evict() {
+    final int maxSize = this.maxSize;
+    if (maxSize > 0) {
+      while (this.operationByKey.size() > maxSize) {
+        final K key = this.insertionOrder.poll();
+        if (key == null) {
+          return;
+        } else if (this.operationByKey.remove(key) != null) {
+          this.evictionCount.increment();
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the cached operation for the key, creating it using the factory if it is not in the
+   * cache.
+   *
+   * @param key The key.
+   * @param factory The function to create the operation.
+   * @return The operation.
+   */
+  public CoordinatesOperation get(final K key,
+    final Function<? super K, CoordinatesOperation> factory) {
+    Object value = this.operationByKey.get(key);
+    if (value instanceof CoordinatesOperation) {
+      this.hitCount.increment();
+      return (CoordinatesOperation)value;
+    }
+    if (value == null) {
+      final FutureTask<CoordinatesOperation> task = new FutureTask<>(
+        () -> factory.apply(key));
+      value = this.operationByKey.putIfAbsent(key, task);
+      if (value == null) {
+        this.missCount.increment();
+        task.run();
+        try {
+          final CoordinatesOperation operation = task.get();
+          this.operationByKey.replace(key, task, operation);
+          this.insertionOrder.add(key);
+          evict();
+          return operation;
+        } catch (final ExecutionException | InterruptedException e) {
+          this.operationByKey.remove(key, task);
+          return Exceptions.throwUncheckedException(e);
+        }
+      } else if (value instanceof CoordinatesOperation) {
+        this.hitCount.increment();
+        return (CoordinatesOperation)value;
+      }
+    }
+    this.hitCount.increment();
+    @SuppressWarnings("unchecked")
+    final FutureTask<CoordinatesOperation> pendingTask = (FutureTask<CoordinatesOperation>)value;
+    try {
+      return pendingTask.get();
+    } catch (final ExecutionException | InterruptedException e) {
+      return Exceptions.throwUncheckedException(e);
+    }
+  }
+
+  public long getEvictionCount() {
+    return this.evictionCount.sum();
+  }
+
+  public long getHitCount() {
+    return this.hitCount.sum();
+  }
+
+  public int getMaxSize() {
+    return this.maxSize;
+  }
+
+  public long getMissCount() {
+    return this.missCount.sum();
+  }
+
+  public void setMaxSize(final int maxSize) {
+    this.maxSize = maxSize;
+    evict();
+  }
+
+  public int size() {
+    return this.operationByKey.size();
+  }
+
+  @Override
+  public String toString() {
+    return "size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+      + ", evictions=" + getEvictionCount();
+  }
+}
@@ -0,0 +1,170 @@
+package org.jeometry.coordinatesystem.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jeometry.coordinatesystem.model.systems.EpsgCoordinateSystems;
+import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
+import org.jeometry.coordinatesystem.operation.datum.HelmertTransformationOperation;
+import org.jeometry.coordinatesystem.util.Hex;
+
+/**
+ * Process wide cache of the operations between pairs of coordinate systems. The pairs are keyed
+ * by the type, dimension and {@link CoordinateSystem#md5Digest()} of the coordinate systems, so
+ * equal but distinct instances (e.g. parsed from WKT) share the same operation. It is used by
+ * {@link AbstractCoordinateSystem#getCoordinatesOperation(CoordinateSystem)} when the operation
+ * is not in the source coordinate system's own cache.
+ *
+ * Coordinate systems with instance specific grid shift operations are not shared.
+ */
+public final class CoordinatesOperationRegistry {
+  private static final class Key {
+    private final String sourceKey;
+
+    private final String targetKey;
+
+    private final int hashCode;
+
+    private Key(final String sourceKey, final String targetKey) {
+      this.sourceKey = sourceKey;
+      this.targetKey = targetKey;
+      this.hashCode = 31 * sourceKey.hashCode() + targetKey.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+      if (object instanceof Key) {
+        final Key key = (Key)object;
+        return this.sourceKey.equals(key.sourceKey) && this.targetKey.equals(key.targetKey);
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+
+    @Override
+    public String toString() {
+      return this.sourceKey + " -> " + this.targetKey;
+    }
+  }
+
+  private static final CoordinatesOperationCache<Key> CACHE = new CoordinatesOperationCache<>();
+
+  static CoordinatesOperation get(final AbstractCoordinateSystem source,
+    final CoordinateSystem target,
+    final Function<CoordinateSystem, CoordinatesOperation> factory) {
+    if (isShared(source) && isShared(target)) {
+      final Key key = new Key(getKey(source), getKey(target));
+      return CACHE.get(key, k -> factory.apply(target));
+    } else {
+      return factory.apply(target);
+    }
+  }
+
+  public static CoordinatesOperationCache<?> getCache() {
+    return CACHE;
+  }
+
+  public static CoordinatesOperation getCoordinatesOperation(final CoordinateSystem source,
+    final CoordinateSystem target) {
+    if (source == null || target == null) {
+      return null;
+    } else {
+      return source.getCoordinatesOperation(target);
+    }
+  }
+
+  public static CoordinatesOperation getCoordinatesOperation(final int sourceId,
+    final int targetId) {
+    final CoordinateSystem source = EpsgCoordinateSystems.getCoordinateSystem(sourceId);
+    final CoordinateSystem target = EpsgCoordinateSystems.getCoordinateSystem(targetId);
+    return getCoordinatesOperation(source, target);
+  }
+
+  private static List<CoordinateSystem> getCoordinateSystems(final int[] ids) {
+    final List<CoordinateSystem> coordinateSystems = new ArrayList<>();
+    for (final int id : ids) {
+      final CoordinateSystem coordinateSystem = EpsgCoordinateSystems.getCoordinateSystem(id);
+      if (coordinateSystem != null) {
+        coordinateSystems.add(coordinateSystem);
+      }
+    }
+    return coordinateSystems;
+  }
+
+  private static String getKey(final CoordinateSystem coordinateSystem) {
+    // The digest doesn't include the axis, a 3D geographic coordinate system has heights. WKT
+    // without axis is 2D.
+    final int dimension = Math.max(2, coordinateSystem.getAxis().size());
+    final String key = coordinateSystem.getCoordinateSystemType() + ":" + dimension + ":"
+      + Hex.toHex(coordinateSystem.md5Digest());
+    final CoordinateSystem horizontalCoordinateSystem = coordinateSystem
+      .getHorizontalCoordinateSystem();
+    GeographicCoordinateSystem geographicCoordinateSystem = null;
+    if (horizontalCoordinateSystem instanceof GeographicCoordinateSystem) {
+      geographicCoordinateSystem = (GeographicCoordinateSystem)horizontalCoordinateSystem;
+    } else if (horizontalCoordinateSystem instanceof ProjectedCoordinateSystem) {
+      geographicCoordinateSystem = ((ProjectedCoordinateSystem)horizontalCoordinateSystem)
+        .getGeographicCoordinateSystem();
+    }
+    if (geographicCoordinateSystem != null) {
+      // The digest only includes the ellipsoid not the datum transformation
+      final HelmertTransformationOperation toWgs84 = geographicCoordinateSystem
+        .getToWgs84Operation();
+      if (toWgs84 != null) {
+        return key + ":" + toWgs84;
+      }
+    }
+    return key;
+  }
+
+  private static boolean isShared(final CoordinateSystem coordinateSystem) {
+    if (coordinateSystem instanceof AbstractCoordinateSystem) {
+      return ((AbstractCoordinateSystem)coordinateSystem).isCoordinatesOperationShared();
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * Create the operations from each of the source coordinate systems to each of the target
+   * coordinate systems in parallel so they are cached before they are first used.
+   *
+   * @param sources The source coordinate systems.
+   * @param targets The target coordinate systems.
+   */
+  public static void prefetch(final Collection<? extends CoordinateSystem> sources,
+    final Collection<? extends CoordinateSystem> targets) {
+    final List<CoordinateSystem[]> pairs = new ArrayList<>();
+    for (final CoordinateSystem source : sources) {
+      for (final CoordinateSystem target : targets) {
+        if (source != null && target != null && source != target) {
+          pairs.add(new CoordinateSystem[] {
+            source, target
+          });
+        }
+      }
+    }
+    pairs.parallelStream().forEach(pair -> getCoordinatesOperation(pair[0], pair[1]));
+  }
+
+  /**
+   * Create the operations from each of the source EPSG coordinate systems to each of the target
+   * EPSG coordinate systems in parallel.
+   *
+   * @param sourceIds The source coordinate system ids.
+   * @param targetIds The target coordinate system ids.
+   */
+  public static void prefetch(final int[] sourceIds, final int[] targetIds) {
+    prefetch(getCoordinateSystems(sourceIds), getCoordinateSystems(targetIds));
+  }
+
+  private CoordinatesOperationRegistry() {
+  }
+}
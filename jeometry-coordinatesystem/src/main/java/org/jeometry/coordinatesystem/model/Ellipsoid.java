@@ -199,7 +199,7 @@ public class Ellipsoid implements Serializable {
     final double z = point.z;
 
     final double a = this.semiMajorAxis;
-    final double b = this.semiMajorAxis;
+    final double b = this.semiMinorAxis;
     final double es = this.eccentricitySquared;
     final double p = Math.hypot(x, y);
 
@@ -12,15 +12,71 @@ import javax.measure.quantity.Length;
 
 import org.jeometry.coordinatesystem.model.datum.GeodeticDatum;
 import org.jeometry.coordinatesystem.model.systems.EpsgCoordinateSystems;
+import org.jeometry.coordinatesystem.model.systems.EpsgId;
 import org.jeometry.coordinatesystem.model.unit.AngularUnit;
 import org.jeometry.coordinatesystem.model.unit.LinearUnit;
 import org.jeometry.coordinatesystem.model.unit.Radian;
 import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
+import org.jeometry.coordinatesystem.operation.datum.AbridgedMolodenskyOperation;
+import org.jeometry.coordinatesystem.operation.datum.HelmertTransformationOperation;
 import org.jeometry.coordinatesystem.operation.gridshift.HorizontalShiftOperation;
 
 import tech.units.indriya.unit.Units;
 
 public class GeographicCoordinateSystem extends AbstractHorizontalCoordinateSystem {
+  /** The maximum difference in the semi-axes of ellipsoids that are treated as the same. */
+  private static final double ELLIPSOID_TOLERANCE = 0.001;
+
+  public static final String FAST_DATUM_TRANSFORMATION_PROPERTY = "org.jeometry.coordinatesystem.fastDatumTransformation";
+
+  private static volatile boolean fastDatumTransformation = Boolean
+    .getBoolean(FAST_DATUM_TRANSFORMATION_PROPERTY);
+
+  /** Set once a datum transformation has been created, after that the mode can't change. */
+  private static boolean fastDatumTransformationUsed = false;
+
+  public static boolean isFastDatumTransformation() {
+    return fastDatumTransformation;
+  }
+
+  /**
+   * Use the {@link AbridgedMolodenskyOperation} instead of the full Helmert transformation for 3
+   * parameter datum transformations. This is faster but has an error of up to 0.6 m.
+   *
+   * The mode is not part of the key of the cached operations, so it is a startup setting (also
+   * available as the {@link #FAST_DATUM_TRANSFORMATION_PROPERTY} system property). It can't be
+   * changed after the first datum transformation operation has been created.
+   *
+   * @param fastDatumTransformation True if the fast datum transformation is used.
+   * @throws IllegalStateException If the mode is changed after a datum transformation operation
+   * was created.
+   */
+  public static synchronized void setFastDatumTransformation(
+    final boolean fastDatumTransformation) {
+    if (GeographicCoordinateSystem.fastDatumTransformation != fastDatumTransformation) {
+      if (fastDatumTransformationUsed) {
+        throw new IllegalStateException(
+          "fastDatumTransformation must be set before any datum transformation is created");
+      }
+      GeographicCoordinateSystem.fastDatumTransformation = fastDatumTransformation;
+    }
+  }
+
+  private static synchronized boolean useFastDatumTransformation() {
+    fastDatumTransformationUsed = true;
+    return fastDatumTransformation;
+  }
+
+  private static Ellipsoid getEpsgEllipsoid(final int coordinateSystemId) {
+    final CoordinateSystem coordinateSystem = EpsgCoordinateSystems
+      .getCoordinateSystem(coordinateSystemId);
+    if (coordinateSystem instanceof GeographicCoordinateSystem) {
+      return ((GeographicCoordinateSystem)coordinateSystem).getEllipsoid();
+    } else {
+      return null;
+    }
+  }
+
   private static PrimeMeridian getPrimeMeridian(final GeodeticDatum datum) {
     if (datum == null) {
       return null;
@@ -29,6 +85,17 @@ public class GeographicCoordinateSystem extends AbstractHorizontalCoordinateSyst
     }
   }
 
+  private static boolean isBetter(final CoordinateOperation operation,
+    final CoordinateOperation bestOperation) {
+    if (bestOperation == null) {
+      return true;
+    } else if (operation.getVariant() != bestOperation.getVariant()) {
+      return operation.getVariant() < bestOperation.getVariant();
+    } else {
+      return EpsgCoordinateSystems.compareCoordinateOperations(operation, bestOperation) < 0;
+    }
+  }
+
   private Map<GeographicCoordinateSystem, GeographicCoordinateSystemGridShiftOperation> gridShiftOperationsByCoordinateSystem;
 
   private final AngularUnit angularUnit;
@@ -41,6 +108,10 @@ public class GeographicCoordinateSystem extends AbstractHorizontalCoordinateSyst
 
   private CoordinateOperation coordinateOperation;
 
+  private volatile HelmertTransformationOperation toWgs84Operation;
+
+  private volatile boolean toWgs84OperationResolved;
+
   public GeographicCoordinateSystem(final int id, final String name,
     final GeodeticDatum geodeticDatum, final List<Axis> axis, final Area area,
     final CoordinateSystem sourceCoordinateSystem, final CoordinateOperation coordinateOperation,
@@ -88,6 +159,24 @@ public class GeographicCoordinateSystem extends AbstractHorizontalCoordinateSyst
         return;
       }
     }
+    if (this != targetGeoCs) {
+      final HelmertTransformationOperation datumTransformation = getDatumTransformation(
+        targetGeoCs);
+      if (datumTransformation != null) {
+        sourceAngularUnit.addToDegreesOperation(operations);
+        AbridgedMolodenskyOperation fastOperation = null;
+        if (useFastDatumTransformation()) {
+          fastOperation = datumTransformation.getAbridgedMolodenskyOperation();
+        }
+        if (fastOperation == null) {
+          operations.add(datumTransformation);
+        } else {
+          operations.add(fastOperation);
+        }
+        targetAngularUnit.addFromDegreesOperation(operations);
+        return;
+      }
+    }
     sourceAngularUnit.addConversionOperation(operations, targetAngularUnit);
 
   }
@@ -125,8 +214,12 @@ public class GeographicCoordinateSystem extends AbstractHorizontalCoordinateSyst
     if (operations == null) {
       operations = new GeographicCoordinateSystemGridShiftOperation(this, coordinateSystem);
       this.gridShiftOperationsByCoordinateSystem.put(coordinateSystem, operations);
+      operations.addOperation(operation);
+      // Cached operations to coordinateSystem use the datum transformation
+      clearCachedCoordinatesOperations();
+    } else {
+      operations.addOperation(operation);
     }
-    operations.addOperation(operation);
   }
 
   @Override
@@ -154,6 +247,8 @@ public class GeographicCoordinateSystem extends AbstractHorizontalCoordinateSyst
         return false;
       } else if (!equals(this.angularUnit, cs.angularUnit)) {
         return false;
+      } else if (is3d() != cs.is3d()) {
+        return false;
       } else {
         return true;
       }
@@ -199,6 +294,50 @@ public class GeographicCoordinateSystem extends AbstractHorizontalCoordinateSyst
     return CoordinateSystemType.GEOGRAPHIC;
   }
 
+  /**
+   * Get the datum transformation from this coordinate system to the target coordinate system
+   * (via WGS 84).
+   *
+   * @param targetGeoCs The target coordinate system.
+   * @return The transformation or null if no transformation is required or none is known.
+   */
+  public HelmertTransformationOperation getDatumTransformation(
+    final GeographicCoordinateSystem targetGeoCs) {
+    if (targetGeoCs == null || !isGreenwich() || !targetGeoCs.isGreenwich()) {
+      return null;
+    }
+    final HelmertTransformationOperation sourceToWgs84 = getToWgs84Operation();
+    final HelmertTransformationOperation targetToWgs84 = targetGeoCs.getToWgs84Operation();
+    HelmertTransformationOperation transformation;
+    if (sourceToWgs84 == null) {
+      if (targetToWgs84 == null || this.geodeticDatum == null
+        || !this.geodeticDatum.isWgs84()) {
+        return null;
+      } else {
+        transformation = targetToWgs84.getInverseOperation();
+      }
+    } else if (targetToWgs84 == null) {
+      if (targetGeoCs.geodeticDatum == null || !targetGeoCs.geodeticDatum.isWgs84()) {
+        return null;
+      } else {
+        transformation = sourceToWgs84;
+      }
+    } else {
+      transformation = sourceToWgs84.then(targetToWgs84.getInverseOperation());
+    }
+    final Ellipsoid sourceEllipsoid = getEllipsoid();
+    final Ellipsoid targetEllipsoid = targetGeoCs.getEllipsoid();
+    if (transformation.isIdentity()
+      && Math.abs(sourceEllipsoid.getSemiMajorAxis()
+        - targetEllipsoid.getSemiMajorAxis()) < ELLIPSOID_TOLERANCE
+      && Math.abs(sourceEllipsoid.getSemiMinorAxis()
+        - targetEllipsoid.getSemiMinorAxis()) < ELLIPSOID_TOLERANCE) {
+      return null;
+    } else {
+      return transformation.withTransformHeight(is3d() && targetGeoCs.is3d());
+    }
+  }
+
   public GeodeticDatum getDatum() {
     return this.geodeticDatum;
   }
@@ -243,6 +382,21 @@ public class GeographicCoordinateSystem extends AbstractHorizontalCoordinateSyst
     return this.angularUnit.getUnit();
   }
 
+  /**
+   * Get the Helmert transformation from this coordinate system's datum to WGS 84. The datum's
+   * TOWGS84 is used if defined, otherwise the EPSG geocentric translations, position vector or
+   * coordinate frame transformation to WGS 84.
+   *
+   * @return The transformation or null if the datum is WGS 84 or no transformation is known.
+   */
+  public HelmertTransformationOperation getToWgs84Operation() {
+    if (!this.toWgs84OperationResolved) {
+      this.toWgs84Operation = newToWgs84Operation();
+      this.toWgs84OperationResolved = true;
+    }
+    return this.toWgs84Operation;
+  }
+
   @Override
   public String getUnitLabel() {
     return this.angularUnit.getLabel();
@@ -261,6 +415,17 @@ public class GeographicCoordinateSystem extends AbstractHorizontalCoordinateSyst
     return result;
   }
 
+  boolean is3d() {
+    final List<Axis> axis = getAxis();
+    return axis != null && axis.size() > 2;
+  }
+
+  @Override
+  protected synchronized boolean isCoordinatesOperationShared() {
+    return this.gridShiftOperationsByCoordinateSystem == null
+      || this.gridShiftOperationsByCoordinateSystem.isEmpty();
+  }
+
   @Override
   public boolean isSame(final CoordinateSystem coordinateSystem) {
     if (coordinateSystem instanceof GeographicCoordinateSystem) {
@@ -270,6 +435,10 @@ public class GeographicCoordinateSystem extends AbstractHorizontalCoordinateSyst
     }
   }
 
+  private boolean isGreenwich() {
+    return this.primeMeridian == null || this.primeMeridian.getLongitude() == 0;
+  }
+
   public boolean isSame(final GeographicCoordinateSystem coordinateSystem) {
     if (this.primeMeridian == null) {
       if (coordinateSystem.primeMeridian != null) {
@@ -287,6 +456,96 @@ public class GeographicCoordinateSystem extends AbstractHorizontalCoordinateSyst
     return false;
   }
 
+  /**
+   * Create the Helmert transformation for an EPSG transformation between geographic coordinate
+   * systems. A concatenated operation is supported if all of its steps are Helmert
+   * transformations between geographic coordinate systems.
+   */
+  private static HelmertTransformationOperation newHelmertOperation(
+    final CoordinateOperation operation) {
+    final List<CoordinateOperation> steps = EpsgCoordinateSystems
+      .getCoordinateOperationSteps(operation.getId());
+    if (steps.isEmpty()) {
+      final Ellipsoid sourceEllipsoid = getEpsgEllipsoid(operation.getSourceCrsCode());
+      final Ellipsoid targetEllipsoid = getEpsgEllipsoid(operation.getTargetCrsCode());
+      if (sourceEllipsoid == null || targetEllipsoid == null) {
+        return null;
+      } else {
+        return HelmertTransformationOperation.newOperation(operation, sourceEllipsoid,
+          targetEllipsoid);
+      }
+    } else {
+      int crsId = operation.getSourceCrsCode();
+      HelmertTransformationOperation transformation = null;
+      for (final CoordinateOperation step : steps) {
+        HelmertTransformationOperation stepTransformation = newHelmertOperation(step);
+        if (stepTransformation == null) {
+          return null;
+        } else if (step.getSourceCrsCode() == crsId) {
+          crsId = step.getTargetCrsCode();
+        } else if (step.getTargetCrsCode() == crsId) {
+          stepTransformation = stepTransformation.getInverseOperation();
+          crsId = step.getSourceCrsCode();
+        } else {
+          return null;
+        }
+        if (transformation == null) {
+          transformation = stepTransformation;
+        } else {
+          transformation = transformation.then(stepTransformation);
+        }
+      }
+      if (crsId == operation.getTargetCrsCode()) {
+        return transformation;
+      } else {
+        return null;
+      }
+    }
+  }
+
+  /**
+   * As the location of the coordinates isn't known the lowest EPSG variant is used (variant 1 is
+   * normally for the whole area of the datum), then the most accurate. The ranking of
+   * {@link EpsgCoordinateSystems#getCoordinateOperations(int, int)} prefers the most accurate,
+   * which is often only valid for a small area.
+   */
+  private HelmertTransformationOperation newToWgs84Operation() {
+    final GeodeticDatum datum = this.geodeticDatum;
+    if (datum == null || datum.isWgs84()) {
+      return null;
+    }
+    final Ellipsoid ellipsoid = getEllipsoid();
+    final Ellipsoid wgs84Ellipsoid = EpsgCoordinateSystems.wgs84().getEllipsoid();
+    final ToWgs84 toWgs84 = datum.getToWgs84();
+    if (toWgs84 != null) {
+      return HelmertTransformationOperation.toWgs84(toWgs84, ellipsoid, wgs84Ellipsoid);
+    }
+    final int id = getCoordinateSystemId();
+    HelmertTransformationOperation bestTransformation = null;
+    CoordinateOperation bestOperation = null;
+    for (final CoordinateOperation operation : EpsgCoordinateSystems.getCoordinateOperations(id,
+      EpsgId.WGS84)) {
+      if (isBetter(operation, bestOperation)) {
+        final HelmertTransformationOperation transformation = newHelmertOperation(operation);
+        if (transformation != null) {
+          bestTransformation = transformation;
+          bestOperation = operation;
+        }
+      }
+    }
+    for (final CoordinateOperation operation : EpsgCoordinateSystems
+      .getCoordinateOperations(EpsgId.WGS84, id)) {
+      if (isBetter(operation, bestOperation)) {
+        final HelmertTransformationOperation transformation = newHelmertOperation(operation);
+        if (transformation != null) {
+          bestTransformation = transformation.getInverseOperation();
+          bestOperation = operation;
+        }
+      }
+    }
+    return bestTransformation;
+  }
+
   public synchronized void removeGridShiftOperation(
     final GeographicCoordinateSystem coordinateSystem, final HorizontalShiftOperation operation) {
     if (this.gridShiftOperationsByCoordinateSystem != null) {
@@ -294,6 +553,11 @@ public class GeographicCoordinateSystem extends AbstractHorizontalCoordinateSyst
         .get(coordinateSystem);
       if (operations != null) {
         operations.removeOperation(operation);
+        if (operations.isEmpty()) {
+          // Use the datum transformation again
+          this.gridShiftOperationsByCoordinateSystem.remove(coordinateSystem);
+          clearCachedCoordinatesOperations();
+        }
       }
     }
   }
@@ -1,18 +1,206 @@
 package org.jeometry.coordinatesystem.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 
 import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
 import org.jeometry.coordinatesystem.operation.CoordinatesOperationPoint;
 import org.jeometry.coordinatesystem.operation.gridshift.HorizontalShiftOperation;
 
+/**
+ * Apply the first of the registered grid shifts that covers a point. The grids are indexed in
+ * buckets by their {@link HorizontalShiftOperation#getBounds()} so each point only tries the
+ * grids covering it, in the order they were added. Grids without bounds are tried for every
+ * point.
+ *
+ * The index is immutable and replaced atomically when grids are added or removed, so shifts never
+ * block and can run concurrently with changes.
+ */
 public class GeographicCoordinateSystemGridShiftOperation implements CoordinatesOperation {
+  private static final class Grid {
+    private final HorizontalShiftOperation operation;
+
+    private final double maxX;
+
+    private final double maxY;
+
+    private final double minX;
+
+    private final double minY;
+
+    private Grid(final HorizontalShiftOperation operation) {
+      this.operation = operation;
+      final double[] bounds = operation.getBounds();
+      if (bounds == null) {
+        this.minX = Double.NEGATIVE_INFINITY;
+        this.minY = Double.NEGATIVE_INFINITY;
+        this.maxX = Double.POSITIVE_INFINITY;
+        this.maxY = Double.POSITIVE_INFINITY;
+      } else {
+        this.minX = bounds[0];
+        this.minY = bounds[1];
+        this.maxX = bounds[2];
+        this.maxY = bounds[3];
+      }
+    }
+
+    private boolean covers(final double x, final double y) {
+      return this.minX <= x && x <= this.maxX && this.minY <= y && y <= this.maxY;
+    }
+
+    private boolean isBounded() {
+      return this.minX != Double.NEGATIVE_INFINITY;
+    }
+  }
+
+  private static final class GridIndex {
+    private static final int MAX_BUCKET_COUNT = 65536;
+
+    private static final Grid[] EMPTY = new Grid[0];
+
+    private final Grid[][] buckets;
+
+    private final double bucketSize;
+
+    private final int columnCount;
+
+    private final double minX;
+
+    private final double minY;
+
+    private final List<HorizontalShiftOperation> operations;
+
+    private final int rowCount;
+
+    private final Grid[] unboundedGrids;
+
+    private GridIndex(final List<HorizontalShiftOperation> operations) {
+      this.operations = Collections.unmodifiableList(operations);
+      final List<Grid> grids = new ArrayList<>();
+      final List<Grid> unboundedGrids = new ArrayList<>();
+      double minX = Double.POSITIVE_INFINITY;
+      double minY = Double.POSITIVE_INFINITY;
+      double maxX = Double.NEGATIVE_INFINITY;
+      double maxY = Double.NEGATIVE_INFINITY;
+      for (final HorizontalShiftOperation operation : operations) {
+        final Grid grid = new Grid(operation);
+        grids.add(grid);
+        if (grid.isBounded()) {
+          minX = Math.min(minX, grid.minX);
+          minY = Math.min(minY, grid.minY);
+          maxX = Math.max(maxX, grid.maxX);
+          maxY = Math.max(maxY, grid.maxY);
+        } else {
+          unboundedGrids.add(grid);
+        }
+      }
+      this.unboundedGrids = unboundedGrids.toArray(EMPTY);
+      if (minX > maxX) {
+        this.minX = 0;
+        this.minY = 0;
+        this.bucketSize = 1;
+        this.columnCount = 0;
+        this.rowCount = 0;
+        this.buckets = new Grid[0][];
+      } else {
+        double bucketSize = 1;
+        while (true) {
+          final double gridMinX = Math.floor(minX / bucketSize) * bucketSize;
+          final double gridMinY = Math.floor(minY / bucketSize) * bucketSize;
+          final long columnCount = (long)Math.floor((maxX - gridMinX) / bucketSize) + 1;
+          final long rowCount = (long)Math.floor((maxY - gridMinY) / bucketSize) + 1;
+          if (columnCount * rowCount <= MAX_BUCKET_COUNT) {
+            this.minX = gridMinX;
+            this.minY = gridMinY;
+            this.columnCount = (int)columnCount;
+            this.rowCount = (int)rowCount;
+            break;
+          } else {
+            bucketSize *= 2;
+          }
+        }
+        this.bucketSize = bucketSize;
+        final List<List<Grid>> bucketLists = new ArrayList<>();
+        for (int i = 0; i < this.columnCount * this.rowCount; i++) {
+          bucketLists.add(null);
+        }
+        for (final Grid grid : grids) {
+          if (grid.isBounded()) {
+            forEachBucket(grid, index -> {
+              if (bucketLists.get(index) == null) {
+                bucketLists.set(index, new ArrayList<>());
+              }
+            });
+          }
+        }
+        for (final Grid grid : grids) {
+          if (grid.isBounded()) {
+            forEachBucket(grid, index -> bucketLists.get(index).add(grid));
+          } else {
+            for (final List<Grid> bucket : bucketLists) {
+              if (bucket != null) {
+                bucket.add(grid);
+              }
+            }
+          }
+        }
+        this.buckets = new Grid[bucketLists.size()][];
+        for (int i = 0; i < this.buckets.length; i++) {
+          final List<Grid> bucket = bucketLists.get(i);
+          if (bucket != null) {
+            this.buckets[i] = bucket.toArray(EMPTY);
+          }
+        }
+      }
+    }
+
+    private void forEachBucket(final Grid grid, final IntConsumer action) {
+      final int minColumn = getColumn(grid.minX);
+      final int maxColumn = getColumn(grid.maxX);
+      final int minRow = getRow(grid.minY);
+      final int maxRow = getRow(grid.maxY);
+      for (int row = minRow; row <= maxRow; row++) {
+        for (int column = minColumn; column <= maxColumn; column++) {
+          action.accept(row * this.columnCount + column);
+        }
+      }
+    }
+
+    private int getColumn(final double x) {
+      return Math.max(0,
+        Math.min(this.columnCount - 1, (int)Math.floor((x - this.minX) / this.bucketSize)));
+    }
+
+    /**
+     * Get the grids that may cover the point in the order they were added.
+     */
+    private Grid[] getGrids(final double x, final double y) {
+      final double gridX = (x - this.minX) / this.bucketSize;
+      final double gridY = (y - this.minY) / this.bucketSize;
+      if (gridX >= 0 && gridY >= 0 && gridX < this.columnCount && gridY < this.rowCount) {
+        final Grid[] bucket = this.buckets[(int)gridY * this.columnCount + (int)gridX];
+        if (bucket != null) {
+          return bucket;
+        }
+      }
+      return this.unboundedGrids;
+    }
+
+    private int getRow(final double y) {
+      return Math.max(0,
+        Math.min(this.rowCount - 1, (int)Math.floor((y - this.minY) / this.bucketSize)));
+    }
+  }
+
   private final GeographicCoordinateSystem sourceCoordinateSystem;
 
   private final GeographicCoordinateSystem targetCoordinateSystem;
 
-  private final List<HorizontalShiftOperation> operations = new ArrayList<>();
+  private final AtomicReference<GridIndex> index = new AtomicReference<>(
+    new GridIndex(Collections.emptyList()));
 
   public GeographicCoordinateSystemGridShiftOperation(
     final GeographicCoordinateSystem sourceCoordinateSystem,
@@ -21,23 +209,52 @@ public class GeographicCoordinateSystemGridShiftOperation implements Coordinates
     this.targetCoordinateSystem = targetCoordinateSystem;
   }
 
-  public synchronized void addOperation(final HorizontalShiftOperation operation) {
-    if (!this.operations.contains(operation)) {
-      this.operations.add(operation);
-    }
+  public void addOperation(final HorizontalShiftOperation operation) {
+    GridIndex index;
+    GridIndex newIndex;
+    do {
+      index = this.index.get();
+      if (index.operations.contains(operation)) {
+        return;
+      }
+      final List<HorizontalShiftOperation> operations = new ArrayList<>(index.operations);
+      operations.add(operation);
+      newIndex = new GridIndex(operations);
+    } while (!this.index.compareAndSet(index, newIndex));
+  }
+
+  public List<HorizontalShiftOperation> getOperations() {
+    return this.index.get().operations;
+  }
+
+  public boolean isEmpty() {
+    return this.index.get().operations.isEmpty();
   }
 
   @Override
   public void perform(final CoordinatesOperationPoint point) {
-    for (final HorizontalShiftOperation operation : this.operations) {
-      if (operation.horizontalShift(point)) {
+    final GridIndex index = this.index.get();
+    final double x = point.x;
+    final double y = point.y;
+    for (final Grid grid : index.getGrids(x, y)) {
+      if (grid.covers(x, y) && grid.operation.horizontalShift(point)) {
         return;
       }
     }
   }
 
   public void removeOperation(final HorizontalShiftOperation operation) {
-    this.operations.remove(operation);
+    GridIndex index;
+    GridIndex newIndex;
+    do {
+      index = this.index.get();
+      if (!index.operations.contains(operation)) {
+        return;
+      }
+      final List<HorizontalShiftOperation> operations = new ArrayList<>(index.operations);
+      operations.remove(operation);
+      newIndex = new GridIndex(operations);
+    } while (!this.index.compareAndSet(index, newIndex));
   }
 
   @Override
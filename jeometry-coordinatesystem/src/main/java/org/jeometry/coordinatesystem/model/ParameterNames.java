@@ -94,6 +94,9 @@ public class ParameterNames {
   public static final ParameterName RECTIFIED_GRID_ANGLE = new SingleParameterName(
     "rectified_grid_angle");
 
+  public static final ParameterName SCALE_DIFFERENCE = new SingleParameterName(8611,
+    "scale_difference");
+
   public static final ParameterName SCALE_FACTOR = new SingleParameterName("scale_factor");
 
   public static final ParameterName SCALE_FACTOR_AT_NATURAL_ORIGIN = new SingleParameterName(8805,
@@ -117,6 +120,24 @@ public class ParameterNames {
   public static final ParameterName STANDARD_PARALLEL_2 = new SingleParameterName(
     "standard_parallel_2", UnitsOfMeasure.DEGREE);
 
+  public static final ParameterName X_AXIS_ROTATION = new SingleParameterName(8608,
+    "xaxis_rotation");
+
+  public static final ParameterName X_AXIS_TRANSLATION = new SingleParameterName(8605,
+    "xaxis_translation", UnitsOfMeasure.METRE);
+
+  public static final ParameterName Y_AXIS_ROTATION = new SingleParameterName(8609,
+    "yaxis_rotation");
+
+  public static final ParameterName Y_AXIS_TRANSLATION = new SingleParameterName(8606,
+    "yaxis_translation", UnitsOfMeasure.METRE);
+
+  public static final ParameterName Z_AXIS_ROTATION = new SingleParameterName(8610,
+    "zaxis_rotation");
+
+  public static final ParameterName Z_AXIS_TRANSLATION = new SingleParameterName(8607,
+    "zaxis_translation", UnitsOfMeasure.METRE);
+
   static {
     NormalizedParameterNames.init();
   }
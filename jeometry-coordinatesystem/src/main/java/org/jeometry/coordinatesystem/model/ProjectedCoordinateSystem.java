@@ -1,6 +1,10 @@
 package org.jeometry.coordinatesystem.model;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.security.MessageDigest;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -8,6 +12,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import javax.measure.Unit;
 import javax.measure.quantity.Length;
@@ -21,14 +27,80 @@ import org.jeometry.coordinatesystem.operation.projection.CoordinatesProjection;
 import org.jeometry.coordinatesystem.util.Equals;
 
 public class ProjectedCoordinateSystem extends AbstractHorizontalCoordinateSystem {
+  /** Cleared when no coordinate system uses the parameters, removes its entry when polled. */
+  private static final class SharedParametersReference
+    extends WeakReference<Map<ParameterName, Object>> {
+    private final List<Object> key;
+
+    private SharedParametersReference(final Map<ParameterName, Object> parameters,
+      final List<Object> key) {
+      super(parameters, SHARED_PARAMETERS_QUEUE);
+      this.key = key;
+    }
+  }
 
-  private CoordinatesProjection coordinatesProjection;
+  private static final AtomicReferenceFieldUpdater<ProjectedCoordinateSystem, CoordinatesProjection> COORDINATES_PROJECTION_UPDATER = AtomicReferenceFieldUpdater
+    .newUpdater(ProjectedCoordinateSystem.class, CoordinatesProjection.class,
+      "coordinatesProjection");
+
+  private static final ReferenceQueue<Map<ParameterName, Object>> SHARED_PARAMETERS_QUEUE = new ReferenceQueue<>();
+
+  /** The key is the names and values in order, the order is used when writing WKT. */
+  private static final Map<List<Object>, SharedParametersReference> SHARED_PARAMETERS = new ConcurrentHashMap<>();
+
+  /**
+   * Get an unmodifiable map equal to the parameters that is shared by all the coordinate systems
+   * with the same parameters in the same order (e.g. a UTM zone on different datums). The lookup
+   * doesn't lock, if two threads add equal parameters at the same time one of the maps is used.
+   *
+   * @param parameters The parameters.
+   * @return The shared parameters.
+   */
+  private static Map<ParameterName, Object> getSharedParameters(
+    final Map<ParameterName, Object> parameters) {
+    for (Reference<?> reference = SHARED_PARAMETERS_QUEUE
+      .poll(); reference != null; reference = SHARED_PARAMETERS_QUEUE.poll()) {
+      final SharedParametersReference clearedReference = (SharedParametersReference)reference;
+      SHARED_PARAMETERS.remove(clearedReference.key, clearedReference);
+    }
+
+    final Object[] namesAndValues = new Object[parameters.size() * 2];
+    int i = 0;
+    for (final Entry<ParameterName, Object> entry : parameters.entrySet()) {
+      namesAndValues[i++] = entry.getKey();
+      namesAndValues[i++] = entry.getValue();
+    }
+    final List<Object> key = Arrays.asList(namesAndValues);
+    while (true) {
+      final SharedParametersReference reference = SHARED_PARAMETERS.get(key);
+      if (reference != null) {
+        final Map<ParameterName, Object> sharedParameters = reference.get();
+        if (sharedParameters != null) {
+          return sharedParameters;
+        }
+      }
+      final Map<ParameterName, Object> sharedParameters = Collections.unmodifiableMap(parameters);
+      final SharedParametersReference newReference = new SharedParametersReference(
+        sharedParameters, key);
+      final boolean added;
+      if (reference == null) {
+        added = SHARED_PARAMETERS.putIfAbsent(key, newReference) == null;
+      } else {
+        added = SHARED_PARAMETERS.replace(key, reference, newReference);
+      }
+      if (added) {
+        return sharedParameters;
+      }
+    }
+  }
+
+  private volatile CoordinatesProjection coordinatesProjection;
 
   private final GeographicCoordinateSystem geographicCoordinateSystem;
 
   private final LinearUnit linearUnit;
 
-  private final Map<ParameterName, Object> parameters = new LinkedHashMap<>();
+  private final Map<ParameterName, Object> parameters;
 
   private final Map<ParameterName, ParameterValue> parameterValues;
 
@@ -47,6 +119,7 @@ public class ProjectedCoordinateSystem extends AbstractHorizontalCoordinateSyste
     } else {
       this.parameterValues = parameterValues;
     }
+    final Map<ParameterName, Object> parameters = new LinkedHashMap<>();
     for (final Entry<ParameterName, ParameterValue> entry : this.parameterValues.entrySet()) {
       final ParameterName parameterName = entry.getKey();
       final ParameterValue parameterValue = entry.getValue();
@@ -56,8 +129,9 @@ public class ProjectedCoordinateSystem extends AbstractHorizontalCoordinateSyste
       } else {
         value = parameterValue.getValue();
       }
-      this.parameters.put(parameterName, value);
+      parameters.put(parameterName, value);
     }
+    this.parameters = getSharedParameters(parameters);
     this.linearUnit = linearUnit;
   }
 
@@ -196,12 +270,21 @@ public class ProjectedCoordinateSystem extends AbstractHorizontalCoordinateSyste
     return this.coordinateOperationMethod;
   }
 
+  /**
+   * Get the projection, creating it on first use. If multiple threads create the projection at the
+   * same time only the first one is kept so all callers get the same instance.
+   */
   @SuppressWarnings("unchecked")
-  public synchronized <P extends CoordinatesProjection> P getCoordinatesProjection() {
-    if (this.coordinatesProjection == null) {
-      this.coordinatesProjection = this.coordinateOperationMethod.newCoordinatesProjection(this);
+  public <P extends CoordinatesProjection> P getCoordinatesProjection() {
+    CoordinatesProjection coordinatesProjection = this.coordinatesProjection;
+    if (coordinatesProjection == null) {
+      coordinatesProjection = this.coordinateOperationMethod.newCoordinatesProjection(this);
+      if (coordinatesProjection != null
+        && !COORDINATES_PROJECTION_UPDATER.compareAndSet(this, null, coordinatesProjection)) {
+        coordinatesProjection = this.coordinatesProjection;
+      }
     }
-    return (P)this.coordinatesProjection;
+    return (P)coordinatesProjection;
   }
 
   @Override
@@ -255,6 +338,13 @@ public class ProjectedCoordinateSystem extends AbstractHorizontalCoordinateSyste
     return (V)key.getValue(this.parameters);
   }
 
+  /**
+   * Get the value of each parameter. The map is unmodifiable and is shared with the other
+   * coordinate systems that have the same parameters, use {@link #getParameterValues()} or copy
+   * the map to change the parameters.
+   *
+   * @return The unmodifiable parameters.
+   */
   public Map<ParameterName, Object> getParameters() {
     return this.parameters;
   }
@@ -298,6 +388,12 @@ public class ProjectedCoordinateSystem extends AbstractHorizontalCoordinateSyste
     return result;
   }
 
+  @Override
+  protected boolean isCoordinatesOperationShared() {
+    return this.geographicCoordinateSystem == null
+      || this.geographicCoordinateSystem.isCoordinatesOperationShared();
+  }
+
   @Override
   public boolean isSame(final CoordinateSystem coordinateSystem) {
     if (coordinateSystem instanceof ProjectedCoordinateSystem) {
@@ -1,6 +1,8 @@
 package org.jeometry.coordinatesystem.model;
 
+import java.security.MessageDigest;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -10,6 +12,8 @@ import javax.measure.quantity.Length;
 import org.jeometry.coordinatesystem.model.datum.VerticalDatum;
 import org.jeometry.coordinatesystem.model.unit.LinearUnit;
 import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
+import org.jeometry.coordinatesystem.operation.gridshift.VerticalShiftOperation;
+import org.jeometry.coordinatesystem.util.Md5;
 
 public class VerticalCoordinateSystem extends AbstractCoordinateSystem {
 
@@ -27,6 +31,8 @@ public class VerticalCoordinateSystem extends AbstractCoordinateSystem {
 
   private final Map<ParameterName, ParameterValue> parameterValues;
 
+  private Map<CoordinateSystem, VerticalShiftOperation> verticalShiftOperationsByCoordinateSystem;
+
   public VerticalCoordinateSystem(final Authority authority, final String name,
     final VerticalDatum verticalDatum, final Map<ParameterName, ParameterValue> parameterValues,
     final LinearUnit linearUnit, final List<Axis> axis) {
@@ -59,10 +65,31 @@ public class VerticalCoordinateSystem extends AbstractCoordinateSystem {
     this.parameterValues = Collections.emptyMap();
   }
 
+  /**
+   * Register the shift from heights in this vertical coordinate system to heights in another
+   * vertical coordinate system or to ellipsoidal heights in a 3D geographic coordinate system.
+   * The shift is used by the operations to and from compound coordinate systems with this
+   * vertical coordinate system. The inverse of the shift is used for the reverse direction, so
+   * the shift must implement {@link VerticalShiftOperation#getInverseOperation()} if that
+   * direction is used, otherwise an error is logged and there is no operation in that direction.
+   * The operations already cached to or from this coordinate system are cleared.
+   *
+   * @param coordinateSystem The target coordinate system.
+   * @param operation The shift of heights in metres at longitude, latitude in degrees.
+   */
+  public synchronized void addVerticalShiftOperation(final CoordinateSystem coordinateSystem,
+    final VerticalShiftOperation operation) {
+    if (this.verticalShiftOperationsByCoordinateSystem == null) {
+      this.verticalShiftOperationsByCoordinateSystem = new HashMap<>();
+    }
+    this.verticalShiftOperationsByCoordinateSystem.put(coordinateSystem, operation);
+    clearCachedCoordinatesOperations();
+  }
+
   @Override
-  public GeographicCoordinateSystem clone() {
+  public VerticalCoordinateSystem clone() {
     try {
-      return (GeographicCoordinateSystem)super.clone();
+      return (VerticalCoordinateSystem)super.clone();
     } catch (final Exception e) {
       return null;
     }
@@ -111,11 +138,6 @@ public class VerticalCoordinateSystem extends AbstractCoordinateSystem {
     }
   }
 
-  @Override
-  public CoordinatesOperation getCoordinatesOperation(final CoordinateSystem coordinateSystem) {
-    return null;
-  }
-
   @Override
   public CoordinateSystemType getCoordinateSystemType() {
     return CoordinateSystemType.VERTICAL;
@@ -150,6 +172,15 @@ public class VerticalCoordinateSystem extends AbstractCoordinateSystem {
     return this.linearUnit.getUnit();
   }
 
+  public synchronized VerticalShiftOperation getVerticalShiftOperation(
+    final CoordinateSystem coordinateSystem) {
+    if (this.verticalShiftOperationsByCoordinateSystem == null) {
+      return null;
+    } else {
+      return this.verticalShiftOperationsByCoordinateSystem.get(coordinateSystem);
+    }
+  }
+
   @Override
   public int hashCode() {
     final int prime = 31;
@@ -160,6 +191,12 @@ public class VerticalCoordinateSystem extends AbstractCoordinateSystem {
     return result;
   }
 
+  @Override
+  protected synchronized boolean isCoordinatesOperationShared() {
+    return this.verticalShiftOperationsByCoordinateSystem == null
+      || this.verticalShiftOperationsByCoordinateSystem.isEmpty();
+  }
+
   @Override
   public boolean isSame(final CoordinateSystem coordinateSystem) {
     if (coordinateSystem instanceof VerticalCoordinateSystem) {
@@ -178,4 +215,32 @@ public class VerticalCoordinateSystem extends AbstractCoordinateSystem {
     return false;
   }
 
+  @Override
+  protected CoordinatesOperation newCoordinatesOperation(final CoordinateSystem coordinateSystem) {
+    if (coordinateSystem == null || this == coordinateSystem) {
+      return null;
+    } else {
+      return CompoundCoordinateSystem.newCompoundCoordinatesOperation(this, coordinateSystem);
+    }
+  }
+
+  public synchronized void removeVerticalShiftOperation(final CoordinateSystem coordinateSystem,
+    final VerticalShiftOperation operation) {
+    if (this.verticalShiftOperationsByCoordinateSystem != null) {
+      if (this.verticalShiftOperationsByCoordinateSystem.remove(coordinateSystem, operation)) {
+        clearCachedCoordinatesOperations();
+      }
+    }
+  }
+
+  @Override
+  public void updateDigest(final MessageDigest digest) {
+    if (this.verticalDatum != null) {
+      Md5.update(digest, this.verticalDatum.getName());
+    }
+    if (this.linearUnit != null) {
+      this.linearUnit.updateDigest(digest);
+    }
+  }
+
 }
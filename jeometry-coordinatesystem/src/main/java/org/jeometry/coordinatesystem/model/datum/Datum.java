@@ -63,7 +63,14 @@ public class Datum {
 
   @Override
   public int hashCode() {
-    return this.authority.hashCode();
+    if (this.authority != null) {
+      return this.authority.hashCode();
+    } else if (this.name != null) {
+      // ESRI datums have no authority
+      return this.name.hashCode();
+    } else {
+      return 1;
+    }
   }
 
   public boolean isDeprecated() {
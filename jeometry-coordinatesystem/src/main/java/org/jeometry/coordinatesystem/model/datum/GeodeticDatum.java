@@ -1,6 +1,8 @@
 package org.jeometry.coordinatesystem.model.datum;
 
 import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
 
 import org.jeometry.coordinatesystem.model.Area;
 import org.jeometry.coordinatesystem.model.Authority;
@@ -9,6 +11,11 @@ import org.jeometry.coordinatesystem.model.PrimeMeridian;
 import org.jeometry.coordinatesystem.model.ToWgs84;
 
 public class GeodeticDatum extends Datum {
+  private static final int WGS84_ID = 6326;
+
+  private static final List<String> WGS84_NAMES = Arrays.asList("dwgs1984", "wgs1984", "wgs84",
+    "worldgeodeticsystem1984");
+
   private PrimeMeridian primeMeridian;
 
   private final Ellipsoid ellipsoid;
@@ -37,10 +44,17 @@ public class GeodeticDatum extends Datum {
       return true;
     } else if (object instanceof GeodeticDatum) {
       final GeodeticDatum geodeticDatum = (GeodeticDatum)object;
-      if (this.ellipsoid.equals(geodeticDatum.ellipsoid)) {
-        return true;
-      } else {
+      if (!this.ellipsoid.equals(geodeticDatum.ellipsoid)) {
+        return false;
+      } else if (this.toWgs84 != null && geodeticDatum.toWgs84 != null
+        && !this.toWgs84.equals(geodeticDatum.toWgs84)) {
         return false;
+      } else if (isEpsg() && geodeticDatum.isEpsg()
+        && getAuthority().getId() != geodeticDatum.getAuthority().getId()) {
+        // Different datums can use the same ellipsoid
+        return false;
+      } else {
+        return true;
       }
     }
     return false;
@@ -98,6 +112,29 @@ public class GeodeticDatum extends Datum {
     return false;
   }
 
+  private boolean isEpsg() {
+    final Authority authority = getAuthority();
+    return authority != null && "EPSG".equals(authority.getName());
+  }
+
+  /**
+   * Check if the datum is the WGS 84 datum, using the EPSG id or the EPSG, ESRI or WKT name.
+   *
+   * @return True if the datum is WGS 84.
+   */
+  public boolean isWgs84() {
+    if (isEpsg()) {
+      return getAuthority().getId() == WGS84_ID;
+    } else {
+      final String name = getName();
+      if (name == null) {
+        return false;
+      } else {
+        return WGS84_NAMES.contains(name.toLowerCase().replaceAll("[^a-z0-9]", ""));
+      }
+    }
+  }
+
   public void updateDigest(final MessageDigest digest) {
     this.ellipsoid.updateDigest(digest);
   }
@@ -0,0 +1,69 @@
+package org.jeometry.coordinatesystem.model.systems;
+
+import org.jeometry.coordinatesystem.model.CoordinateSystem;
+import org.jeometry.coordinatesystem.model.GeographicCoordinateSystem;
+import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
+import org.jeometry.coordinatesystem.operation.CoordinatesOperationPoint;
+
+/**
+ * Load the EPSG tables and the coordinate systems of a few common coordinate operations and
+ * perform those operations so that the classes they use are loaded. Only the listed coordinate
+ * systems are read, the others are still read when they are first used.
+ *
+ * The main method is used as the training run for an AppCDS archive (see the appcds profile in
+ * the pom.xml). Applications can also call {@link #preload()} at startup to move the cost of the
+ * first lookup off the first request.
+ */
+public final class CoordinateSystemsPreload {
+
+  private static final int[][] OPERATIONS = {
+    {
+      4326, 3857
+    }, {
+      4326, 3005
+    }, {
+      4267, 4326
+    }, {
+      4269, 26910
+    }, {
+      4326, 5703
+    }
+  };
+
+  public static void main(final String[] args) {
+    final long startTime = System.nanoTime();
+    preload();
+    final long time = (System.nanoTime() - startTime) / 1000000;
+    System.out.println("Preloaded coordinate systems in " + time + " ms");
+  }
+
+  public static void preload() {
+    EpsgCoordinateSystems.initialize();
+    for (final int[] ids : OPERATIONS) {
+      final CoordinateSystem source = EpsgCoordinateSystems.getCoordinateSystem(ids[0]);
+      final CoordinateSystem target = EpsgCoordinateSystems.getCoordinateSystem(ids[1]);
+      if (source != null && target != null) {
+        final CoordinatesOperation operation = source.getCoordinatesOperation(target);
+        if (operation != null) {
+          final CoordinatesOperationPoint point = new CoordinatesOperationPoint(-123, 49, 0);
+          operation.perform(point);
+          final double[] coordinates = {
+            -123, 49, 0, -122, 50, 0
+          };
+          operation.perform(coordinates, 0, coordinates, 0, 2, 3);
+        }
+      }
+    }
+
+    final GeographicCoordinateSystem esriWgs84 = EsriCoordinateSystems
+      .getGeographicCoordinateSystem(4326);
+    if (esriWgs84 != null) {
+      EsriCoordinateSystems.getIdUsingDigest(esriWgs84);
+      EsriCoordinateSystems.readCoordinateSystem(esriWgs84.toEsriWktCs());
+    }
+    EsriCoordinateSystems.getProjectedCoordinateSystem(3005);
+  }
+
+  private CoordinateSystemsPreload() {
+  }
+}
@@ -5,6 +5,7 @@ import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -15,8 +16,15 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
 
 import org.jeometry.common.logging.Logs;
 import org.jeometry.coordinatesystem.model.Area;
@@ -98,68 +106,133 @@ public final class EpsgCoordinateSystems {
     }
   }
 
+  private static final String AREA_LAYOUT = "isddddb";
+
   private static final Map<Integer, Area> AREA_BY_ID = new HashMap<>();
 
+  private static EpsgRecordFile areaFile;
+
+  private static final Map<Integer, List<Axis>> AXIS_BY_COORDINATE_SYSTEM_ID = new HashMap<>();
+
   private static final Map<String, AxisName> AXIS_NAME_BY_NAME = new HashMap<>();
 
   private static final Map<Integer, AxisName> AXIS_NAMES = new HashMap<>();
 
-  private static final Map<Integer, CoordinateSystem> COORDINATE_SYSTEM_BY_ID = new HashMap<>();
+  private static final Map<Integer, CoordinateSystem> COORDINATE_SYSTEM_BY_ID = new ConcurrentHashMap<>();
 
-  private static final Map<String, CoordinateSystem> COORDINATE_SYSTEM_BY_NAME = new TreeMap<>();
+  /** The EPSG coordinate systems by name, replaced when all the coordinate systems are loaded. */
+  private static volatile Map<String, CoordinateSystem> coordinateSystemByName = Collections
+    .emptyMap();
 
   private static final Map<Integer, EpsgCoordinateSystemType> COORDINATE_SYSTEM_TYPE_BY_ID = new HashMap<>();
 
-  private static final Map<Integer, List<CoordinateSystem>> COORDINATE_SYSTEMS_BY_HASH_CODE = new HashMap<>();
+  /** The EPSG coordinate systems by hash code, replaced when all the coordinate systems are loaded. */
+  private static volatile Map<Integer, List<CoordinateSystem>> coordinateSystemsByHashCode = Collections
+    .emptyMap();
+
+  private static volatile Set<CoordinateSystem> coordinateSystems;
+
+  private static volatile boolean coordinateSystemsLoaded = false;
+
+  private static final String COORDINATE_REFERENCE_SYSTEM_LAYOUT = "isibiiiiiib";
+
+  private static EpsgRecordFile coordinateReferenceSystemFile;
+
+  private static final String COORD_OPERATION_LAYOUT = "iisbiisiidb";
+
+  private static EpsgRecordFile coordOperationFile;
+
+  private static final String COORD_OPERATION_PARAM_VALUE_LAYOUT = "iiidsi";
+
+  private static EpsgRecordFile coordOperationParamValueFile;
+
+  private static final Map<Integer, Datum> DATUM_BY_ID = new ConcurrentHashMap<>();
 
-  private static Set<CoordinateSystem> coordinateSystems;
+  private static final String DATUM_LAYOUT = "isbiiib";
 
-  private static final Map<Integer, Datum> DATUM_BY_ID = new HashMap<>();
+  private static EpsgRecordFile datumFile;
 
-  private static boolean initialized = false;
+  private static final Map<Integer, Ellipsoid> ELLIPSOID_BY_ID = new HashMap<>();
+
+  private static volatile boolean initialized = false;
+
+  private static boolean initializing = false;
+
+  private static final Map<Integer, CoordinateOperationMethod> METHOD_BY_ID = new HashMap<>();
 
   private static int nextSrid = 2000000;
 
-  private static final Map<Integer, CoordinateOperation> OPERATION_BY_ID = new HashMap<>();
+  private static final Map<Integer, CoordinateOperation> OPERATION_BY_ID = new ConcurrentHashMap<>();
+
+  private static final Map<Long, List<Integer>> OPERATION_IDS_BY_CRS_PAIR = new HashMap<>();
+
+  private static final Map<Integer, List<Integer>> OPERATION_STEP_IDS_BY_ID = new HashMap<>();
+
+  private static final Map<Integer, Set<Integer>> OPERATION_CRS_IDS_BY_CRS_ID = new HashMap<>();
 
   private static final Map<Integer, ParameterName> PARAM_NAME_BY_ID = new HashMap<>();
 
   private static final Map<Integer, PrimeMeridian> PRIME_MERIDIAN_BY_ID = new HashMap<>();
 
+  private static final Map<Long, List<CoordinateOperation>> RANKED_OPERATIONS_BY_CRS_PAIR = new ConcurrentHashMap<>();
+
+  private static final Map<Long, List<List<CoordinateOperation>>> RANKED_PATHS_BY_CRS_PAIR = new ConcurrentHashMap<>();
+
+  /** The coordinate systems that aren't in EPSG registered by {@link #getCoordinateSystem(CoordinateSystem)}. */
+  private static final Map<String, CoordinateSystem> REGISTERED_COORDINATE_SYSTEM_BY_NAME = new ConcurrentHashMap<>();
+
+  private static final Map<Integer, List<CoordinateSystem>> REGISTERED_COORDINATE_SYSTEMS_BY_HASH_CODE = new ConcurrentHashMap<>();
+
   private static final EpsgSystemOfUnits SYSTEM_OF_UNITS = new EpsgSystemOfUnits();
 
   private static final Map<Integer, UnitOfMeasure> UNIT_BY_ID = new HashMap<>();
 
   private static final Map<String, UnitOfMeasure> UNIT_BY_NAME = new TreeMap<>();
 
-  private static void addCoordinateSystem(final CoordinateSystem coordinateSystem) {
+  private static void addCoordinateSystem(final Map<String, CoordinateSystem> coordinateSystemByName,
+    final Map<Integer, List<CoordinateSystem>> coordinateSystemsByHashCode,
+    final CoordinateSystem coordinateSystem) {
     if (coordinateSystem != null) {
-      final Integer id = coordinateSystem.getCoordinateSystemId();
       final String name = coordinateSystem.getCoordinateSystemName();
-      COORDINATE_SYSTEM_BY_ID.put(id, coordinateSystem);
       final int hashCode = coordinateSystem.hashCode();
-      List<CoordinateSystem> coordinateSystems = COORDINATE_SYSTEMS_BY_HASH_CODE.get(hashCode);
+      final List<CoordinateSystem> coordinateSystems = coordinateSystemsByHashCode.get(hashCode);
       if (coordinateSystems == null) {
-        coordinateSystems = new ArrayList<>();
-        COORDINATE_SYSTEMS_BY_HASH_CODE.put(hashCode, coordinateSystems);
+        coordinateSystemsByHashCode.put(hashCode, List.of(coordinateSystem));
+      } else {
+        final List<CoordinateSystem> newCoordinateSystems = new ArrayList<>(coordinateSystems);
+        newCoordinateSystems.add(coordinateSystem);
+        coordinateSystemsByHashCode.put(hashCode, List.copyOf(newCoordinateSystems));
       }
-      coordinateSystems.add(coordinateSystem);
-      COORDINATE_SYSTEM_BY_NAME.put(name, coordinateSystem);
+      coordinateSystemByName.put(name, coordinateSystem);
     }
   }
 
-  public static void addCoordinateSystemAlias(final int id, final int targetId) {
-    final ProjectedCoordinateSystem worldMercator = (ProjectedCoordinateSystem)COORDINATE_SYSTEM_BY_ID
-      .get(targetId);
-    COORDINATE_SYSTEM_BY_ID.put(id, worldMercator);
+  public synchronized static void addCoordinateSystemAlias(final int id, final int targetId) {
+    final CoordinateSystem coordinateSystem = getCoordinateSystem(targetId);
+    if (coordinateSystem != null) {
+      COORDINATE_SYSTEM_BY_ID.put(id, coordinateSystem);
+    }
   }
 
   public static synchronized void clear() {
     initialized = false;
+    initializing = false;
     coordinateSystems = null;
-    COORDINATE_SYSTEMS_BY_HASH_CODE.clear();
+    coordinateSystemsLoaded = false;
+    coordinateSystemsByHashCode = Collections.emptyMap();
     COORDINATE_SYSTEM_BY_ID.clear();
-    COORDINATE_SYSTEM_BY_NAME.clear();
+    coordinateSystemByName = Collections.emptyMap();
+    REGISTERED_COORDINATE_SYSTEM_BY_NAME.clear();
+    REGISTERED_COORDINATE_SYSTEMS_BY_HASH_CODE.clear();
+    AREA_BY_ID.clear();
+    AXIS_BY_COORDINATE_SYSTEM_ID.clear();
+    DATUM_BY_ID.clear();
+    OPERATION_BY_ID.clear();
+    OPERATION_IDS_BY_CRS_PAIR.clear();
+    OPERATION_STEP_IDS_BY_ID.clear();
+    OPERATION_CRS_IDS_BY_CRS_ID.clear();
+    RANKED_OPERATIONS_BY_CRS_PAIR.clear();
+    RANKED_PATHS_BY_CRS_PAIR.clear();
   }
 
   public static AxisName getAxisName(final String name) {
@@ -175,6 +248,98 @@ public final class EpsgCoordinateSystems {
     }
   }
 
+  /**
+   * Compare the operations so the preferred operation is first. The operation with the best
+   * accuracy is preferred (unknown accuracy last) and then the lowest id. The variant is not used,
+   * EPSG numbers the variants in the order they were entered not in order of preference.
+   *
+   * @param operation1 The first operation.
+   * @param operation2 The second operation.
+   * @return The comparison result.
+   */
+  public static int compareCoordinateOperations(final CoordinateOperation operation1,
+    final CoordinateOperation operation2) {
+    double accuracy1 = operation1.getAccuracy();
+    if (!Double.isFinite(accuracy1)) {
+      accuracy1 = Double.MAX_VALUE;
+    }
+    double accuracy2 = operation2.getAccuracy();
+    if (!Double.isFinite(accuracy2)) {
+      accuracy2 = Double.MAX_VALUE;
+    }
+    final int accuracyCompare = Double.compare(accuracy1, accuracy2);
+    if (accuracyCompare != 0) {
+      return accuracyCompare;
+    }
+    return Integer.compare(operation1.getId(), operation2.getId());
+  }
+
+  /**
+   * Compare the paths by the sum of the accuracies of their operations (unknown accuracy last),
+   * then the number of operations and then the operation ids.
+   */
+  private static int compareCoordinateOperationPaths(final List<CoordinateOperation> path1,
+    final List<CoordinateOperation> path2) {
+    final int accuracyCompare = Double.compare(getAccuracy(path1), getAccuracy(path2));
+    if (accuracyCompare != 0) {
+      return accuracyCompare;
+    }
+    final int sizeCompare = Integer.compare(path1.size(), path2.size());
+    if (sizeCompare != 0) {
+      return sizeCompare;
+    }
+    for (int i = 0; i < path1.size(); i++) {
+      final int idCompare = Integer.compare(path1.get(i).getId(), path2.get(i).getId());
+      if (idCompare != 0) {
+        return idCompare;
+      }
+    }
+    return 0;
+  }
+
+  private static double getAccuracy(final List<CoordinateOperation> path) {
+    double accuracy = 0;
+    for (final CoordinateOperation operation : path) {
+      final double operationAccuracy = operation.getAccuracy();
+      if (!Double.isFinite(operationAccuracy)) {
+        return Double.MAX_VALUE;
+      }
+      accuracy += operationAccuracy;
+    }
+    return accuracy;
+  }
+
+  /**
+   * Get the preferred operation from the source to the target coordinate system or reversible
+   * operation from the target to the source coordinate system.
+   */
+  private static CoordinateOperation getPreferredCoordinateOperation(final int sourceCrsId,
+    final int targetCrsId) {
+    CoordinateOperation preferredOperation = null;
+    final List<CoordinateOperation> operations = getCoordinateOperations(sourceCrsId,
+      targetCrsId);
+    if (!operations.isEmpty()) {
+      preferredOperation = operations.get(0);
+    }
+    for (final CoordinateOperation operation : getCoordinateOperations(targetCrsId,
+      sourceCrsId)) {
+      if (isReversible(operation)) {
+        if (preferredOperation == null
+          || compareCoordinateOperations(operation, preferredOperation) < 0) {
+          preferredOperation = operation;
+        }
+        // The operations are ranked so the first reversible one is preferred
+        break;
+      }
+    }
+    return preferredOperation;
+  }
+
+  private static boolean isReversible(final CoordinateOperation operation) {
+    final CoordinateOperationMethod method = operation.getMethod();
+    return method != null && method.isReverse();
+  }
+
   private static <V> V getCode(final Map<Integer, V> valueById, final int id) {
     if (id == 0) {
       return null;
@@ -206,94 +371,212 @@ public final class EpsgCoordinateSystems {
     return getCoordinateSystem(compoundCoordinateSystem);
   }
 
+  /**
+   * Get the EPSG or registered coordinate system that matches the coordinate system (by id, name
+   * or definition). If there isn't a match the coordinate system is registered with a new id.
+   * Lookups don't lock, only registering a new coordinate system is synchronized.
+   *
+   * @param coordinateSystem The coordinate system.
+   * @return The matching coordinate system.
+   */
   @SuppressWarnings("unchecked")
-  public synchronized static <C extends CoordinateSystem> C getCoordinateSystem(
-    final C coordinateSystem) {
-    initialize();
+  public static <C extends CoordinateSystem> C getCoordinateSystem(final C coordinateSystem) {
+    loadCoordinateSystems();
     if (coordinateSystem == null) {
       return null;
     } else {
-      int srid = coordinateSystem.getCoordinateSystemId();
-      CoordinateSystem matchedCoordinateSystem = COORDINATE_SYSTEM_BY_ID.get(srid);
+      final CoordinateSystem matchedCoordinateSystem = getMatchingCoordinateSystem(
+        coordinateSystem);
       if (matchedCoordinateSystem == null) {
-        matchedCoordinateSystem = COORDINATE_SYSTEM_BY_NAME
-          .get(coordinateSystem.getCoordinateSystemName());
-        if (matchedCoordinateSystem == null) {
-          final int hashCode = coordinateSystem.hashCode();
-          int matchCoordinateSystemId = EsriCoordinateSystems.getIdUsingDigest(coordinateSystem);
-          if (matchCoordinateSystemId > 0) {
-            matchedCoordinateSystem = getCoordinateSystem(matchCoordinateSystemId);
-          } else {
-            final List<CoordinateSystem> coordinateSystems = COORDINATE_SYSTEMS_BY_HASH_CODE
-              .get(hashCode);
-            if (coordinateSystems != null) {
-              for (final CoordinateSystem coordinateSystem3 : coordinateSystems) {
-                if (coordinateSystem3.equals(coordinateSystem)) {
-                  final int srid3 = coordinateSystem3.getCoordinateSystemId();
-                  if (matchedCoordinateSystem == null) {
-                    matchedCoordinateSystem = coordinateSystem3;
-                    matchCoordinateSystemId = srid3;
-                  } else if (srid3 < matchCoordinateSystemId) {
-                    if (!coordinateSystem3.isDeprecated()
-                      || matchedCoordinateSystem.isDeprecated()) {
-                      matchedCoordinateSystem = coordinateSystem3;
-                      matchCoordinateSystemId = srid3;
-                    }
-                  }
-                }
+        return registerCoordinateSystem(coordinateSystem);
+      } else {
+        return (C)matchedCoordinateSystem;
+      }
+    }
+  }
+
+  /**
+   * Get the non-deprecated EPSG transformations from the source to the target coordinate system
+   * ranked using {@link #compareCoordinateOperations(CoordinateOperation, CoordinateOperation)}.
+   * The operations are indexed by the source and target when the registry is initialized and the
+   * ranked list is cached for each pair.
+   *
+   * @param sourceCrsId The source coordinate system id.
+   * @param targetCrsId The target coordinate system id.
+   * @return The transformations, preferred first.
+   */
+  public static List<CoordinateOperation> getCoordinateOperations(final int sourceCrsId,
+    final int targetCrsId) {
+    if (sourceCrsId > 0 && targetCrsId > 0) {
+      initialize();
+      final long key = getCrsPairKey(sourceCrsId, targetCrsId);
+      List<CoordinateOperation> operations = RANKED_OPERATIONS_BY_CRS_PAIR.get(key);
+      if (operations == null) {
+        // Not computeIfAbsent as reading the operations is synchronized
+        final List<Integer> operationIds = OPERATION_IDS_BY_CRS_PAIR.get(key);
+        if (operationIds == null) {
+          operations = Collections.emptyList();
+        } else {
+          final List<CoordinateOperation> rankedOperations = getCoordinateOperations(
+            operationIds);
+          rankedOperations.sort(EpsgCoordinateSystems::compareCoordinateOperations);
+          operations = Collections.unmodifiableList(rankedOperations);
+        }
+        final List<CoordinateOperation> existingOperations = RANKED_OPERATIONS_BY_CRS_PAIR
+          .putIfAbsent(key, operations);
+        if (existingOperations != null) {
+          operations = existingOperations;
+        }
+      }
+      return operations;
+    } else {
+      return Collections.emptyList();
+    }
+  }
+
+  /**
+   * Get the paths of EPSG transformations from the source to the target coordinate system. A path
+   * is either a single operation or the preferred operation from the source to an intermediate
+   * coordinate system followed by the preferred operation from that coordinate system to the
+   * target (e.g. ED50 to WGS 84 to NAD27). Paths with more than one intermediate coordinate system
+   * aren't searched.
+   *
+   * An operation in a path is either from {@link #getCoordinateOperations(int, int)} or an
+   * operation in the other direction whose method is {@link CoordinateOperationMethod#isReverse()}
+   * reversible. Those operations must be applied in reverse, they have a source coordinate system
+   * that isn't the previous coordinate system in the path. Use
+   * {@link #getCoordinateOperationSteps(int)} to get the steps of a concatenated operation.
+   *
+   * The paths are ranked by the sum of the accuracies of their operations (unknown accuracy last)
+   * and then the number of operations. The ranked list is cached for each pair. The EPSG tables
+   * don't include the area of the operations, so a regional operation may be ranked first.
+   *
+   * @param sourceCrsId The source coordinate system id.
+   * @param targetCrsId The target coordinate system id.
+   * @return The paths, preferred first.
+   */
+  public static List<List<CoordinateOperation>> getCoordinateOperationPaths(final int sourceCrsId,
+    final int targetCrsId) {
+    if (sourceCrsId > 0 && targetCrsId > 0 && sourceCrsId != targetCrsId) {
+      initialize();
+      final long key = getCrsPairKey(sourceCrsId, targetCrsId);
+      List<List<CoordinateOperation>> paths = RANKED_PATHS_BY_CRS_PAIR.get(key);
+      if (paths == null) {
+        final List<List<CoordinateOperation>> rankedPaths = new ArrayList<>();
+        for (final CoordinateOperation operation : getCoordinateOperations(sourceCrsId,
+          targetCrsId)) {
+          rankedPaths.add(Collections.singletonList(operation));
+        }
+        for (final CoordinateOperation operation : getCoordinateOperations(targetCrsId,
+          sourceCrsId)) {
+          if (isReversible(operation)) {
+            rankedPaths.add(Collections.singletonList(operation));
+          }
+        }
+        final Set<Integer> intermediateCrsIds = OPERATION_CRS_IDS_BY_CRS_ID.get(sourceCrsId);
+        if (intermediateCrsIds != null) {
+          for (final int intermediateCrsId : intermediateCrsIds) {
+            if (intermediateCrsId != sourceCrsId && intermediateCrsId != targetCrsId) {
+              final CoordinateOperation firstOperation = getPreferredCoordinateOperation(
+                sourceCrsId, intermediateCrsId);
+              final CoordinateOperation secondOperation = getPreferredCoordinateOperation(
+                intermediateCrsId, targetCrsId);
+              if (firstOperation != null && secondOperation != null) {
+                rankedPaths.add(List.of(firstOperation, secondOperation));
               }
             }
           }
+        }
+        rankedPaths.sort(EpsgCoordinateSystems::compareCoordinateOperationPaths);
+        paths = Collections.unmodifiableList(rankedPaths);
+        final List<List<CoordinateOperation>> existingPaths = RANKED_PATHS_BY_CRS_PAIR
+          .putIfAbsent(key, paths);
+        if (existingPaths != null) {
+          paths = existingPaths;
+        }
+      }
+      return paths;
+    } else {
+      return Collections.emptyList();
+    }
+  }
 
-          if (matchedCoordinateSystem == null) {
-            if (srid <= 0) {
-              srid = nextSrid++;
-            }
-            final String name = coordinateSystem.getCoordinateSystemName();
-            final List<Axis> axis = coordinateSystem.getAxis();
-            final Area area = coordinateSystem.getArea();
-            final Authority authority = coordinateSystem.getAuthority();
-            final boolean deprecated = coordinateSystem.isDeprecated();
-            if (coordinateSystem instanceof GeographicCoordinateSystem) {
-              final GeographicCoordinateSystem geographicCs = (GeographicCoordinateSystem)coordinateSystem;
-              final GeodeticDatum geodeticDatum = geographicCs.getGeodeticDatum();
-              final PrimeMeridian primeMeridian = geographicCs.getPrimeMeridian();
-              final CoordinateSystem sourceCoordinateSystem = geographicCs
-                .getSourceCoordinateSystem();
-              final CoordinateOperation coordinateOperation = geographicCs.getCoordinateOperation();
-              final GeographicCoordinateSystem newCs = new GeographicCoordinateSystem(srid, name,
-                geodeticDatum, primeMeridian, axis, area, sourceCoordinateSystem,
-                coordinateOperation, deprecated);
-              addCoordinateSystem(newCs);
-              return (C)newCs;
-            } else if (coordinateSystem instanceof ProjectedCoordinateSystem) {
-              final ProjectedCoordinateSystem projectedCs = (ProjectedCoordinateSystem)coordinateSystem;
-              GeographicCoordinateSystem geographicCs = projectedCs.getGeographicCoordinateSystem();
-              geographicCs = getCoordinateSystem(geographicCs);
-              final CoordinateOperationMethod coordinateOperationMethod = projectedCs
-                .getCoordinateOperationMethod();
-              final Map<ParameterName, ParameterValue> parameters = projectedCs
-                .getParameterValues();
-              final LinearUnit linearUnit = projectedCs.getLinearUnit();
-              final ProjectedCoordinateSystem newCs = new ProjectedCoordinateSystem(srid, name,
-                geographicCs, area, coordinateOperationMethod, parameters, linearUnit, axis,
-                authority, deprecated);
-              addCoordinateSystem(newCs);
-              return (C)newCs;
-            }
-            return coordinateSystem;
-          }
+  /**
+   * Get the operations performed in order by a concatenated operation.
+   *
+   * @param operationId The concatenated operation id.
+   * @return The operations or an empty list if it isn't a concatenated operation.
+   */
+  public static List<CoordinateOperation> getCoordinateOperationSteps(final int operationId) {
+    initialize();
+    final List<Integer> stepIds = OPERATION_STEP_IDS_BY_ID.get(operationId);
+    if (stepIds == null) {
+      return Collections.emptyList();
+    } else {
+      return getCoordinateOperations(stepIds);
+    }
+  }
+
+  private synchronized static List<CoordinateOperation> getCoordinateOperations(
+    final List<Integer> operationIds) {
+    final List<CoordinateOperation> operations = new ArrayList<>();
+    for (final int operationId : operationIds) {
+      final CoordinateOperation operation = getCoordinateOperation(operationId);
+      if (operation != null) {
+        operations.add(operation);
+      }
+    }
+    return operations;
+  }
+
+  private synchronized static Area getArea(final int id) {
+    if (id == 0) {
+      return null;
+    } else {
+      Area area = AREA_BY_ID.get(id);
+      if (area == null && areaFile != null) {
+        final ByteBuffer record = areaFile.getRecord(id);
+        if (record != null) {
+          area = readArea(record);
+          AREA_BY_ID.put(id, area);
         }
       }
-      return (C)matchedCoordinateSystem;
+      return area;
     }
   }
 
+  private synchronized static CoordinateOperation getCoordinateOperation(final int id) {
+    if (id == 0) {
+      return null;
+    } else {
+      CoordinateOperation operation = OPERATION_BY_ID.get(id);
+      if (operation == null && coordOperationFile != null) {
+        final ByteBuffer record = coordOperationFile.getRecord(id);
+        if (record != null) {
+          operation = readCoordinateOperation(record);
+          OPERATION_BY_ID.put(id, operation);
+        }
+      }
+      return operation;
+    }
+  }
+
+  /**
+   * Get the coordinate system, it is read from the EPSG registry the first time it is used.
+   *
+   * @param crsId The coordinate system id.
+   * @return The coordinate system or null if it doesn't exist.
+   */
   @SuppressWarnings("unchecked")
   public static <C extends CoordinateSystem> C getCoordinateSystem(final int crsId) {
     if (crsId > 0) {
       initialize();
-      return (C)COORDINATE_SYSTEM_BY_ID.get(crsId);
+      final CoordinateSystem coordinateSystem = COORDINATE_SYSTEM_BY_ID.get(crsId);
+      if (coordinateSystem == null && !coordinateSystemsLoaded) {
+        return (C)readCoordinateSystem(crsId);
+      } else {
+        return (C)coordinateSystem;
+      }
     } else {
       return null;
     }
@@ -301,12 +584,16 @@ public final class EpsgCoordinateSystems {
 
   @SuppressWarnings("unchecked")
   public static <C extends CoordinateSystem> C getCoordinateSystem(final String name) {
-    initialize();
-    return (C)COORDINATE_SYSTEM_BY_NAME.get(name);
+    loadCoordinateSystems();
+    CoordinateSystem coordinateSystem = coordinateSystemByName.get(name);
+    if (coordinateSystem == null) {
+      coordinateSystem = REGISTERED_COORDINATE_SYSTEM_BY_NAME.get(name);
+    }
+    return (C)coordinateSystem;
   }
 
   public static Set<CoordinateSystem> getCoordinateSystems() {
-    initialize();
+    loadCoordinateSystems();
     return coordinateSystems;
   }
 
@@ -332,8 +619,23 @@ public final class EpsgCoordinateSystems {
     return coordinateSystems;
   }
 
+  /**
+   * Get the EPSG and registered coordinate systems sorted by name.
+   */
+  private static Collection<CoordinateSystem> getCoordinateSystemsByName() {
+    loadCoordinateSystems();
+    if (REGISTERED_COORDINATE_SYSTEM_BY_NAME.isEmpty()) {
+      return coordinateSystemByName.values();
+    } else {
+      final Map<String, CoordinateSystem> coordinateSystemByName = new TreeMap<>(
+        EpsgCoordinateSystems.coordinateSystemByName);
+      coordinateSystemByName.putAll(REGISTERED_COORDINATE_SYSTEM_BY_NAME);
+      return coordinateSystemByName.values();
+    }
+  }
+
   public static Map<Integer, CoordinateSystem> getCoordinateSystemsById() {
-    initialize();
+    loadCoordinateSystems();
     return new TreeMap<>(COORDINATE_SYSTEM_BY_ID);
   }
 
@@ -363,13 +665,22 @@ public final class EpsgCoordinateSystems {
 
   @SuppressWarnings("unchecked")
   public static <D extends Datum> D getDatum(final int id) {
-    initialize();
-    return (D)DATUM_BY_ID.get(id);
+    if (id == 0) {
+      return null;
+    } else {
+      initialize();
+      final Datum datum = DATUM_BY_ID.get(id);
+      if (datum == null) {
+        return (D)readDatum(id);
+      } else {
+        return (D)datum;
+      }
+    }
   }
 
   public static List<GeographicCoordinateSystem> getGeographicCoordinateSystems() {
     final List<GeographicCoordinateSystem> coordinateSystems = new ArrayList<>();
-    for (final CoordinateSystem coordinateSystem : COORDINATE_SYSTEM_BY_NAME.values()) {
+    for (final CoordinateSystem coordinateSystem : getCoordinateSystemsByName()) {
       if (coordinateSystem instanceof GeographicCoordinateSystem) {
         final GeographicCoordinateSystem geographicCoordinateSystem = (GeographicCoordinateSystem)coordinateSystem;
         coordinateSystems.add(geographicCoordinateSystem);
@@ -389,7 +700,7 @@ public final class EpsgCoordinateSystems {
 
   public static List<HorizontalCoordinateSystem> getHorizontalCoordinateSystems() {
     final List<HorizontalCoordinateSystem> coordinateSystems = new ArrayList<>();
-    for (final CoordinateSystem coordinateSystem : COORDINATE_SYSTEM_BY_NAME.values()) {
+    for (final CoordinateSystem coordinateSystem : getCoordinateSystemsByName()) {
       if (coordinateSystem instanceof HorizontalCoordinateSystem) {
         final HorizontalCoordinateSystem projectedCoordinateSystem = (HorizontalCoordinateSystem)coordinateSystem;
         coordinateSystems.add(projectedCoordinateSystem);
@@ -404,9 +715,56 @@ public final class EpsgCoordinateSystems {
     return (U)UNIT_BY_NAME.get(name);
   }
 
+  private static CoordinateSystem getMatchingCoordinateSystem(
+    final CoordinateSystem coordinateSystem) {
+    final int srid = coordinateSystem.getCoordinateSystemId();
+    CoordinateSystem matchedCoordinateSystem = COORDINATE_SYSTEM_BY_ID.get(srid);
+    if (matchedCoordinateSystem == null) {
+      final String name = coordinateSystem.getCoordinateSystemName();
+      if (name != null) {
+        matchedCoordinateSystem = coordinateSystemByName.get(name);
+        if (matchedCoordinateSystem == null) {
+          matchedCoordinateSystem = REGISTERED_COORDINATE_SYSTEM_BY_NAME.get(name);
+        }
+      }
+      if (matchedCoordinateSystem == null) {
+        final int hashCode = coordinateSystem.hashCode();
+        int matchCoordinateSystemId = EsriCoordinateSystems.getIdUsingDigest(coordinateSystem);
+        if (matchCoordinateSystemId > 0) {
+          matchedCoordinateSystem = getCoordinateSystem(matchCoordinateSystemId);
+        } else {
+          for (final Map<Integer, List<CoordinateSystem>> coordinateSystemsByHashCode : Arrays
+            .asList(EpsgCoordinateSystems.coordinateSystemsByHashCode,
+              REGISTERED_COORDINATE_SYSTEMS_BY_HASH_CODE)) {
+            final List<CoordinateSystem> coordinateSystems = coordinateSystemsByHashCode
+              .get(hashCode);
+            if (coordinateSystems != null) {
+              for (final CoordinateSystem coordinateSystem3 : coordinateSystems) {
+                if (coordinateSystem3.equals(coordinateSystem)) {
+                  final int srid3 = coordinateSystem3.getCoordinateSystemId();
+                  if (matchedCoordinateSystem == null) {
+                    matchedCoordinateSystem = coordinateSystem3;
+                    matchCoordinateSystemId = srid3;
+                  } else if (srid3 < matchCoordinateSystemId) {
+                    if (!coordinateSystem3.isDeprecated()
+                      || matchedCoordinateSystem.isDeprecated()) {
+                      matchedCoordinateSystem = coordinateSystem3;
+                      matchCoordinateSystemId = srid3;
+                    }
+                  }
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+    return matchedCoordinateSystem;
+  }
+
   public static List<ProjectedCoordinateSystem> getProjectedCoordinateSystems() {
     final List<ProjectedCoordinateSystem> coordinateSystems = new ArrayList<>();
-    for (final CoordinateSystem coordinateSystem : COORDINATE_SYSTEM_BY_NAME.values()) {
+    for (final CoordinateSystem coordinateSystem : getCoordinateSystemsByName()) {
       if (coordinateSystem instanceof ProjectedCoordinateSystem) {
         final ProjectedCoordinateSystem projectedCoordinateSystem = (ProjectedCoordinateSystem)coordinateSystem;
         coordinateSystems.add(projectedCoordinateSystem);
@@ -432,7 +790,7 @@ public final class EpsgCoordinateSystems {
 
   public static List<VerticalCoordinateSystem> getVerticalCoordinateSystems() {
     final List<VerticalCoordinateSystem> coordinateSystems = new ArrayList<>();
-    for (final CoordinateSystem coordinateSystem : COORDINATE_SYSTEM_BY_NAME.values()) {
+    for (final CoordinateSystem coordinateSystem : getCoordinateSystemsByName()) {
       if (coordinateSystem instanceof VerticalCoordinateSystem) {
         final VerticalCoordinateSystem projectedCoordinateSystem = (VerticalCoordinateSystem)coordinateSystem;
         coordinateSystems.add(projectedCoordinateSystem);
@@ -441,69 +799,126 @@ public final class EpsgCoordinateSystems {
     return coordinateSystems;
   }
 
-  public synchronized static void initialize() {
+  /**
+   * Load the EPSG tables. The tables are loaded in parallel, each table only waits for the tables
+   * it references (e.g. the ellipsoids wait for the units).
+   */
+  public static void initialize() {
     if (!initialized) {
-      initialized = true;
+      initializeSynchronized();
+    }
+  }
+
+  private synchronized static void initializeSynchronized() {
+    // initializing stops the aliases added during initialization initializing again
+    if (!initialized && !initializing) {
+      initializing = true;
+      final long startTime = System.nanoTime();
+      // Not the common pool, its workers may be blocked waiting for this class's lock
+      final ExecutorService executor = newInitializeExecutor();
       try {
-        loadUnitOfMeasure();
-        loadCoordinateAxisNames();
-        final Map<Integer, List<Axis>> axisMap = loadCoordinateAxis();
-        loadArea();
-        loadPrimeMeridians();
-        loadDatum();
-        loadCoordOperationParam();
-        final Map<Integer, List<ParameterName>> paramOrderByMethodId = new HashMap<>();
-        final Map<Integer, List<Byte>> paramReversalByMethodId = new HashMap<>();
-        loadCoordOperationParamUsage(paramOrderByMethodId, paramReversalByMethodId);
-        final Map<Integer, CoordinateOperationMethod> methodById = loadCoordOperationMethod(
-          paramOrderByMethodId, paramReversalByMethodId);
-        final Map<Integer, Map<ParameterName, ParameterValue>> operationParameters = new HashMap<>();
-        loadCoordOperationParamValue(methodById, operationParameters, paramReversalByMethodId);
-        loadCoordOperation(methodById, operationParameters, paramReversalByMethodId);
-        loadCoordinateSystem();
-        loadCoordinateReferenceSystem(axisMap);
+        final CompletableFuture<Void> units = CompletableFuture
+          .runAsync(EpsgCoordinateSystems::loadUnitOfMeasure, executor);
+        final CompletableFuture<Void> axisNames = CompletableFuture
+          .runAsync(EpsgCoordinateSystems::loadCoordinateAxisNames, executor);
+        final CompletableFuture<Void> axes = units.runAfterBothAsync(axisNames,
+          EpsgCoordinateSystems::loadCoordinateAxis, executor);
+        final CompletableFuture<Void> primeMeridians = units
+          .thenRunAsync(EpsgCoordinateSystems::loadPrimeMeridians, executor);
+        final CompletableFuture<Void> ellipsoids = units
+          .thenRunAsync(EpsgCoordinateSystems::loadEllipsoid, executor);
+        // ParameterNames uses the units
+        final CompletableFuture<Void> methods = units.thenRunAsync(() -> {
+          loadCoordOperationParam();
+          final Map<Integer, List<ParameterName>> paramOrderByMethodId = new HashMap<>();
+          final Map<Integer, List<Byte>> paramReversalByMethodId = new HashMap<>();
+          loadCoordOperationParamUsage(paramOrderByMethodId, paramReversalByMethodId);
+          loadCoordOperationMethod(paramOrderByMethodId, paramReversalByMethodId);
+        }, executor);
+        final CompletableFuture<Void> coordinateSystemTypes = CompletableFuture
+          .runAsync(EpsgCoordinateSystems::loadCoordinateSystem, executor);
+
+        // The large tables are indexed and the records are read when they are first used
+        final CompletableFuture<Void> areas = CompletableFuture
+          .runAsync(() -> areaFile = EpsgRecordFile.read("area", AREA_LAYOUT), executor);
+        final CompletableFuture<Void> datums = CompletableFuture
+          .runAsync(() -> datumFile = EpsgRecordFile.read("datum", DATUM_LAYOUT), executor);
+        final CompletableFuture<Void> parameterValues = CompletableFuture
+          .runAsync(() -> coordOperationParamValueFile = EpsgRecordFile
+            .read("coordOperationParamValue", COORD_OPERATION_PARAM_VALUE_LAYOUT), executor);
+        final CompletableFuture<Void> operations = CompletableFuture.runAsync(() -> {
+          coordOperationFile = EpsgRecordFile.read("coordOperation", COORD_OPERATION_LAYOUT);
+          indexCoordOperation();
+        }, executor);
+        final CompletableFuture<Void> operationPaths = CompletableFuture
+          .runAsync(EpsgCoordinateSystems::loadCoordOperationPath, executor);
+        final CompletableFuture<Void> coordinateReferenceSystems = CompletableFuture
+          .runAsync(() -> coordinateReferenceSystemFile = EpsgRecordFile
+            .read("coordinateReferenceSystem", COORDINATE_REFERENCE_SYSTEM_LAYOUT), executor);
+
+        CompletableFuture
+          .allOf(axes, primeMeridians, ellipsoids, methods, coordinateSystemTypes, areas, datums,
+            parameterValues, operations, operationPaths, coordinateReferenceSystems)
+          .join();
 
         addCoordinateSystemAlias(42102, 3005);
         addCoordinateSystemAlias(900913, 3857);
-        coordinateSystems = Collections
-          .unmodifiableSet(new LinkedHashSet<>(COORDINATE_SYSTEM_BY_ID.values()));
       } catch (final Throwable t) {
         t.printStackTrace();
+      } finally {
+        executor.shutdown();
+        initializing = false;
+        initialized = true;
+      }
+      if (Logs.isDebugEnabled(EpsgCoordinateSystems.class)) {
+        final long time = (System.nanoTime() - startTime) / 1000000;
+        Logs.debug(EpsgCoordinateSystems.class, "Initialized EPSG in " + time + " ms");
       }
     }
   }
 
-  private static void loadArea() {
-    try (
-      DataInputStream reader = newDataInputStream("area")) {
-      if (reader != null) {
-        while (true) {
-          final int code = reader.readInt();
-          final String name = readStringUtf8ByteCount(reader);
-          double minX = reader.readDouble();
-          final double minY = reader.readDouble();
-          final double maxX = reader.readDouble();
-          final double maxY = reader.readDouble();
-          final boolean deprecated = readBoolean(reader);
-          final Authority authority = new EpsgAuthority(code);
-
-          if (minX > maxX) {
-            if (minX > 0) {
-              minX -= 360;
-            }
-          }
-          final Area area = new Area(name, minX, minY, maxX, maxY, authority, deprecated);
-          AREA_BY_ID.put(code, area);
+  private static void indexCoordOperation() {
+    final Map<Long, List<Integer>> snapshotOperationIds = EpsgRegistrySnapshot
+      .getOperationIdsByCrsPair(coordOperationFile);
+    if (snapshotOperationIds != null) {
+      for (final Entry<Long, List<Integer>> entry : snapshotOperationIds.entrySet()) {
+        final long key = entry.getKey();
+        final int sourceCrsCode = (int)(key >> 32);
+        final int targetCrsCode = (int)key;
+        OPERATION_IDS_BY_CRS_PAIR.put(key, entry.getValue());
+        OPERATION_CRS_IDS_BY_CRS_ID.computeIfAbsent(sourceCrsCode, k -> new LinkedHashSet<>())
+          .add(targetCrsCode);
+        OPERATION_CRS_IDS_BY_CRS_ID.computeIfAbsent(targetCrsCode, k -> new LinkedHashSet<>())
+          .add(sourceCrsCode);
+      }
+    } else if (coordOperationFile != null) {
+      for (final int offset : coordOperationFile.getOffsets()) {
+        final ByteBuffer record = coordOperationFile.getRecordAt(offset);
+        final int id = record.getInt();
+        record.getInt();
+        EpsgRecordFile.skipString(record);
+        record.get();
+        final int sourceCrsCode = record.getInt();
+        final int targetCrsCode = record.getInt();
+        EpsgRecordFile.skipString(record);
+        record.getInt();
+        record.getInt();
+        record.getDouble();
+        final boolean deprecated = EpsgRecordFile.readBoolean(record);
+        if (!deprecated && sourceCrsCode > 0 && targetCrsCode > 0) {
+          OPERATION_IDS_BY_CRS_PAIR
+            .computeIfAbsent(getCrsPairKey(sourceCrsCode, targetCrsCode), k -> new ArrayList<>())
+            .add(id);
+          OPERATION_CRS_IDS_BY_CRS_ID.computeIfAbsent(sourceCrsCode, k -> new LinkedHashSet<>())
+            .add(targetCrsCode);
+          OPERATION_CRS_IDS_BY_CRS_ID.computeIfAbsent(targetCrsCode, k -> new LinkedHashSet<>())
+            .add(sourceCrsCode);
         }
       }
-    } catch (final EOFException e) {
-    } catch (final IOException e) {
-      log("area", e);
     }
   }
 
-  private static Map<Integer, List<Axis>> loadCoordinateAxis() {
-    final Map<Integer, List<Axis>> axisesByCoordinateSystemId = new HashMap<>();
+  private static void loadCoordinateAxis() {
     try (
       DataInputStream reader = newDataInputStream("coordinateAxis")) {
       if (reader != null) {
@@ -516,10 +931,10 @@ public final class EpsgCoordinateSystems {
 
           final Axis axis = new Axis(axisName, orientation, Character.toString(abbreviation),
             unitOfMeasure);
-          List<Axis> axises = axisesByCoordinateSystemId.get(coordinateSystemId);
+          List<Axis> axises = AXIS_BY_COORDINATE_SYSTEM_ID.get(coordinateSystemId);
           if (axises == null) {
             axises = new ArrayList<>();
-            axisesByCoordinateSystemId.put(coordinateSystemId, axises);
+            AXIS_BY_COORDINATE_SYSTEM_ID.put(coordinateSystemId, axises);
           }
           axises.add(axis);
         }
@@ -528,7 +943,10 @@ public final class EpsgCoordinateSystems {
     } catch (final IOException e) {
       log("coordinateAxis", e);
     }
-    return axisesByCoordinateSystemId;
+    // Coordinate systems with the same coordinate system type share the immutable list
+    for (final Entry<Integer, List<Axis>> entry : AXIS_BY_COORDINATE_SYSTEM_ID.entrySet()) {
+      entry.setValue(List.copyOf(entry.getValue()));
+    }
   }
 
   private static void loadCoordinateAxisNames() {
@@ -550,71 +968,40 @@ public final class EpsgCoordinateSystems {
     }
   }
 
-  private static void loadCoordinateReferenceSystem(final Map<Integer, List<Axis>> axisMap) {
-    try (
-      DataInputStream reader = newDataInputStream("coordinateReferenceSystem")) {
-      if (reader != null) {
-        while (true) {
-          final int id = reader.readInt();
-          final String name = readStringUtf8ByteCount(reader);
-          final Area area = readCode(reader, AREA_BY_ID);
-          final int type = reader.readByte();
-          final EpsgCoordinateSystemType coordinateSystemType = readCode(reader,
-            COORDINATE_SYSTEM_TYPE_BY_ID);
-          final Datum datum = readCode(reader, DATUM_BY_ID);
-          final CoordinateSystem sourceCoordinateSystem = readCode(reader, COORDINATE_SYSTEM_BY_ID);
-
-          final CoordinateOperation operation = readCode(reader, OPERATION_BY_ID);
+  /**
+   * Read all the coordinate systems so they can be found by name or matched by definition.
+   */
+  private static void loadCoordinateSystems() {
+    if (!coordinateSystemsLoaded) {
+      loadCoordinateSystemsSynchronized();
+    }
+  }
 
-          final HorizontalCoordinateSystem horizontalCoordinateSystem = (HorizontalCoordinateSystem)readCode(
-            reader, COORDINATE_SYSTEM_BY_ID);
-          final VerticalCoordinateSystem verticalCoordinateSystem = (VerticalCoordinateSystem)readCode(
-            reader, COORDINATE_SYSTEM_BY_ID);
-          final boolean deprecated = readBoolean(reader);
-          final List<Axis> axis;
-          if (coordinateSystemType == null) {
-            axis = null;
-          } else {
-            axis = axisMap.get(coordinateSystemType.getId());
-          }
-          CoordinateSystem coordinateSystem = null;
-          if (type == 0) {
-            // geocentric
-            coordinateSystem = newCoordinateSystemGeocentric(id, name, datum, axis, area,
-              deprecated);
-          } else if (type == 1) {
-            // geographic 3D
-            coordinateSystem = new GeographicCoordinateSystem(id, name, (GeodeticDatum)datum, axis,
-              area, sourceCoordinateSystem, operation, deprecated);
-          } else if (type == 2) {
-            // geographic 2D
-            coordinateSystem = new GeographicCoordinateSystem(id, name, (GeodeticDatum)datum, axis,
-              area, sourceCoordinateSystem, operation, deprecated);
-          } else if (type == 3) {
-            // projected
-            coordinateSystem = newCoordinateSystemProjected(id, name, area, sourceCoordinateSystem,
-              operation, axis, deprecated);
-          } else if (type == 4) {
-            // engineering
-            coordinateSystem = new EngineeringCoordinateSystem(id, name, (EngineeringDatum)datum,
-              axis, area, deprecated);
-          } else if (type == 5) {
-            // vertical
-            coordinateSystem = new VerticalCoordinateSystem(id, name, (VerticalDatum)datum, axis,
-              area, deprecated);
-          } else if (type == 6) {
-            coordinateSystem = new CompoundCoordinateSystem(id, name, horizontalCoordinateSystem,
-              verticalCoordinateSystem, area, deprecated);
-          } else {
-            coordinateSystem = null;
+  private synchronized static void loadCoordinateSystemsSynchronized() {
+    initialize();
+    if (!coordinateSystemsLoaded) {
+      final List<CoordinateSystem> coordinateSystemList = new ArrayList<>();
+      if (coordinateReferenceSystemFile != null) {
+        for (final int offset : coordinateReferenceSystemFile.getOffsets()) {
+          final int id = coordinateReferenceSystemFile.getRecordAt(offset).getInt();
+          final CoordinateSystem coordinateSystem = getCoordinateSystem(id);
+          if (coordinateSystem != null) {
+            coordinateSystemList.add(coordinateSystem);
           }
-
-          addCoordinateSystem(coordinateSystem);
         }
       }
-    } catch (final EOFException e) {
-    } catch (final IOException e) {
-      log("coordinateReferenceSystem", e);
+      final Map<String, CoordinateSystem> coordinateSystemByName = new TreeMap<>();
+      final Map<Integer, List<CoordinateSystem>> coordinateSystemsByHashCode = new HashMap<>();
+      for (final CoordinateSystem coordinateSystem : coordinateSystemList) {
+        addCoordinateSystem(coordinateSystemByName, coordinateSystemsByHashCode, coordinateSystem);
+      }
+      EpsgCoordinateSystems.coordinateSystemByName = Collections
+        .unmodifiableMap(coordinateSystemByName);
+      EpsgCoordinateSystems.coordinateSystemsByHashCode = Collections
+        .unmodifiableMap(coordinateSystemsByHashCode);
+      coordinateSystems = Collections
+        .unmodifiableSet(new LinkedHashSet<>(COORDINATE_SYSTEM_BY_ID.values()));
+      coordinateSystemsLoaded = true;
     }
   }
 
@@ -638,45 +1025,9 @@ public final class EpsgCoordinateSystems {
     }
   }
 
-  private static void loadCoordOperation(final Map<Integer, CoordinateOperationMethod> methodById,
-    final Map<Integer, Map<ParameterName, ParameterValue>> operationParameters,
-    final Map<Integer, List<Byte>> paramReversal) {
-    try (
-      DataInputStream reader = newDataInputStream("coordOperation")) {
-      if (reader != null) {
-        while (true) {
-          final int id = reader.readInt();
-          final CoordinateOperationMethod method = readCode(reader, methodById);
-          final String name = readStringUtf8ByteCount(reader);
-          final byte type = reader.readByte();
-          final int sourceCrsCode = reader.readInt();
-          final int targetCrsCode = reader.readInt();
-          final String transformationVersion = readStringUtf8ByteCount(reader);
-          final int variant = reader.readInt();
-          final Area area = readCode(reader, AREA_BY_ID);
-          final double accuracy = reader.readDouble();
-          final boolean deprecated = readBoolean(reader);
-
-          final Map<ParameterName, ParameterValue> parameters = operationParameters.getOrDefault(id,
-            Collections.emptyMap());
-          final CoordinateOperation coordinateOperation = new CoordinateOperation(id, method, name,
-            type, sourceCrsCode, targetCrsCode, transformationVersion, variant, area, accuracy,
-            parameters, deprecated);
-          OPERATION_BY_ID.put(id, coordinateOperation);
-
-        }
-      }
-    } catch (final EOFException e) {
-    } catch (final IOException e) {
-      log("coordOperation", e);
-    }
-  }
-
-  private static Map<Integer, CoordinateOperationMethod> loadCoordOperationMethod(
+  private static void loadCoordOperationMethod(
     final Map<Integer, List<ParameterName>> paramOrderByMethodId,
     final Map<Integer, List<Byte>> paramReversalByMethodId) {
-    final Map<Integer, CoordinateOperationMethod> methodById = new HashMap<>();
-
     try (
       DataInputStream reader = newDataInputStream("coordOperationMethod")) {
       if (reader != null) {
@@ -692,14 +1043,35 @@ public final class EpsgCoordinateSystems {
             Collections.emptyList());
           final CoordinateOperationMethod method = new CoordinateOperationMethod(id, name, reverse,
             deprecated, parameterNames, parameterReversal);
-          methodById.put(id, method);
+          METHOD_BY_ID.put(id, method);
         }
       }
     } catch (final EOFException e) {
     } catch (final IOException e) {
       log("coordOperationMethod", e);
     }
-    return methodById;
+  }
+
+  private static void loadCoordOperationPath() {
+    final Map<Integer, Map<Integer, Integer>> stepIdsById = new HashMap<>();
+    try (
+      DataInputStream reader = newDataInputStream("coordOperationPath")) {
+      if (reader != null) {
+        while (true) {
+          final int id = reader.readInt();
+          final int stepId = reader.readInt();
+          final int stepIndex = reader.readInt();
+          stepIdsById.computeIfAbsent(id, k -> new TreeMap<>()).put(stepIndex, stepId);
+        }
+      }
+    } catch (final EOFException e) {
+    } catch (final IOException e) {
+      log("coordOperationPath", e);
+    }
+    for (final Entry<Integer, Map<Integer, Integer>> entry : stepIdsById.entrySet()) {
+      final List<Integer> stepIds = new ArrayList<>(entry.getValue().values());
+      OPERATION_STEP_IDS_BY_ID.put(entry.getKey(), stepIds);
+    }
   }
 
   private static void loadCoordOperationParam() {
@@ -756,94 +1128,7 @@ public final class EpsgCoordinateSystems {
     }
   }
 
-  private static void loadCoordOperationParamValue(
-    final Map<Integer, CoordinateOperationMethod> methodById,
-    final Map<Integer, Map<ParameterName, ParameterValue>> operationParameters,
-    final Map<Integer, List<Byte>> paramReversal) {
-    try (
-      DataInputStream reader = newDataInputStream("coordOperationParamValue")) {
-      if (reader != null) {
-        while (true) {
-          final int operationId = reader.readInt();
-          final CoordinateOperationMethod method = readCode(reader, methodById);
-          final ParameterName parameterName = readCode(reader, PARAM_NAME_BY_ID);
-          final double value = reader.readDouble();
-          final String fileRef = readStringUtf8ByteCount(reader);
-          final UnitOfMeasure unit = readCode(reader, UNIT_BY_ID);
-          final ParameterValue parameterValue;
-          if (Double.isFinite(value)) {
-            if (fileRef != null) {
-              throw new IllegalArgumentException(
-                "Cannot have a value and fileRef for coordOperationParamValue=" + operationId + " "
-                  + parameterName);
-            } else {
-              parameterValue = new ParameterValueNumber(unit, value);
-            }
-          } else {
-            if (fileRef != null) {
-              parameterValue = new ParameterValueString(fileRef);
-            } else {
-              parameterValue = null;
-            }
-          }
-          Map<ParameterName, ParameterValue> parameterValues = operationParameters.get(operationId);
-          if (parameterValues == null) {
-            parameterValues = new LinkedHashMap<>();
-            final List<ParameterName> parameterOrder = method.getParameterNames();
-            for (final ParameterName orderParameterName : parameterOrder) {
-              parameterValues.put(orderParameterName, null);
-            }
-            operationParameters.put(operationId, parameterValues);
-          }
-          method.setParameter(parameterValues, parameterName, parameterValue);
-        }
-      }
-    } catch (final EOFException e) {
-    } catch (final IOException e) {
-      log("coordOperationParamValue", e);
-    }
-  }
-
-  private static void loadDatum() {
-    final Map<Integer, Ellipsoid> ellipsoids = loadEllipsoid();
-
-    try (
-      DataInputStream reader = newDataInputStream("datum")) {
-      if (reader != null) {
-        while (true) {
-
-          final int id = reader.readInt();
-          final String name = readStringUtf8ByteCount(reader);
-          final int datumType = reader.readByte();
-          final Ellipsoid ellipsoid = readCode(reader, ellipsoids);
-          final PrimeMeridian primeMeridian = readCode(reader, PRIME_MERIDIAN_BY_ID);
-          final Area area = readCode(reader, AREA_BY_ID);
-
-          final boolean deprecated = readBoolean(reader);
-          final EpsgAuthority authority = new EpsgAuthority(id);
-
-          Datum datum;
-          if (datumType == 0) {
-            datum = new GeodeticDatum(authority, name, area, deprecated, ellipsoid, primeMeridian);
-          } else if (datumType == 1) {
-            datum = new VerticalDatum(authority, name, area, deprecated);
-          } else if (datumType == 2) {
-            datum = new EngineeringDatum(authority, name, area, deprecated);
-          } else {
-            throw new IllegalArgumentException("Unknown datumType=" + datumType);
-          }
-          DATUM_BY_ID.put(id, datum);
-
-        }
-      }
-    } catch (final EOFException e) {
-    } catch (final IOException e) {
-      log("datum", e);
-    }
-  }
-
-  private static Map<Integer, Ellipsoid> loadEllipsoid() {
-    final Map<Integer, Ellipsoid> ellipsoids = new HashMap<>();
+  private static void loadEllipsoid() {
     try (
       DataInputStream reader = newDataInputStream("ellipsoid")) {
       if (reader != null) {
@@ -861,14 +1146,13 @@ public final class EpsgCoordinateSystems {
           final EpsgAuthority authority = new EpsgAuthority(id);
           final Ellipsoid ellipsoid = new Ellipsoid(name, semiMajorAxis, semiMinorAxis,
             inverseFlattening, authority, deprecated);
-          ellipsoids.put(id, ellipsoid);
+          ELLIPSOID_BY_ID.put(id, ellipsoid);
         }
       }
     } catch (final EOFException e) {
     } catch (final IOException e) {
       log("ellipsoid", e);
     }
-    return ellipsoids;
   }
 
   private static void loadPrimeMeridians() {
@@ -1013,6 +1297,46 @@ public final class EpsgCoordinateSystems {
     }
   }
 
+  static Map<Long, List<Integer>> getOperationIdsByCrsPair() {
+    return Collections.unmodifiableMap(OPERATION_IDS_BY_CRS_PAIR);
+  }
+
+  /**
+   * Get the record files read by {@link #initialize()}, used to create the
+   * {@link EpsgRegistrySnapshot}.
+   *
+   * @return The record files.
+   */
+  static List<EpsgRecordFile> getRecordFiles() {
+    final List<EpsgRecordFile> recordFiles = new ArrayList<>();
+    for (final EpsgRecordFile recordFile : Arrays.asList(areaFile, coordinateReferenceSystemFile,
+      coordOperationFile, coordOperationParamValueFile, datumFile)) {
+      if (recordFile != null) {
+        recordFiles.add(recordFile);
+      }
+    }
+    return recordFiles;
+  }
+
+  private static long getCrsPairKey(final int sourceCrsId, final int targetCrsId) {
+    return (long)sourceCrsId << 32 | targetCrsId & 0xffffffffL;
+  }
+
+  /**
+   * Create the daemon threads used to load the tables in {@link #initialize()}. The executor is
+   * shut down when the tables are loaded.
+   */
+  private static ExecutorService newInitializeExecutor() {
+    final int threadCount = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+    final AtomicInteger threadIndex = new AtomicInteger();
+    return Executors.newFixedThreadPool(threadCount, runnable -> {
+      final Thread thread = new Thread(runnable,
+        "EpsgCoordinateSystems-initialize-" + threadIndex.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
   private static DataInputStream newDataInputStream(final String fileName) {
     final String name = "/org/jeometry/coordinatesystem/epsg/" + fileName + ".bin";
     final InputStream in = EpsgCoordinateSystems.class.getResourceAsStream(name);
@@ -1025,6 +1349,24 @@ public final class EpsgCoordinateSystems {
     }
   }
 
+  private static Area readArea(final ByteBuffer record) {
+    final int code = record.getInt();
+    final String name = EpsgRecordFile.readString(record);
+    double minX = record.getDouble();
+    final double minY = record.getDouble();
+    final double maxX = record.getDouble();
+    final double maxY = record.getDouble();
+    final boolean deprecated = EpsgRecordFile.readBoolean(record);
+    final Authority authority = new EpsgAuthority(code);
+
+    if (minX > maxX) {
+      if (minX > 0) {
+        minX -= 360;
+      }
+    }
+    return new Area(name, minX, minY, maxX, maxY, authority, deprecated);
+  }
+
   private static boolean readBoolean(final DataInputStream reader) throws IOException {
     return reader.readByte() == (byte)1;
   }
@@ -1035,6 +1377,244 @@ public final class EpsgCoordinateSystems {
     return getCode(valueById, id);
   }
 
+  private static <V> V readCode(final ByteBuffer record, final IntFunction<V> getter) {
+    final int id = record.getInt();
+    if (id == 0) {
+      return null;
+    } else {
+      final V value = getter.apply(id);
+      if (value == null) {
+        throw new IllegalArgumentException("Invalid code for id=" + id);
+      }
+      return value;
+    }
+  }
+
+  private static <V> V readCode(final ByteBuffer record, final Map<Integer, V> valueById) {
+    final int id = record.getInt();
+    return getCode(valueById, id);
+  }
+
+  private static CoordinateOperation readCoordinateOperation(final ByteBuffer record) {
+    final int id = record.getInt();
+    final CoordinateOperationMethod method = readCode(record, METHOD_BY_ID);
+    final String name = EpsgRecordFile.readString(record);
+    final byte type = record.get();
+    final int sourceCrsCode = record.getInt();
+    final int targetCrsCode = record.getInt();
+    final String transformationVersion = EpsgRecordFile.readString(record);
+    final int variant = record.getInt();
+    final Area area = readCode(record, EpsgCoordinateSystems::getArea);
+    final double accuracy = record.getDouble();
+    final boolean deprecated = EpsgRecordFile.readBoolean(record);
+
+    final Map<ParameterName, ParameterValue> parameters = readParameterValues(id);
+    return new CoordinateOperation(id, method, name, type, sourceCrsCode, targetCrsCode,
+      transformationVersion, variant, area, accuracy, parameters, deprecated);
+  }
+
+  private synchronized static CoordinateSystem readCoordinateSystem(final int crsId) {
+    CoordinateSystem coordinateSystem = COORDINATE_SYSTEM_BY_ID.get(crsId);
+    if (coordinateSystem == null && coordinateReferenceSystemFile != null) {
+      final ByteBuffer record = coordinateReferenceSystemFile.getRecord(crsId);
+      if (record != null) {
+        try {
+          coordinateSystem = readCoordinateSystem(record);
+        } catch (final RuntimeException e) {
+          Logs.error(EpsgCoordinateSystems.class, "Unable to read coordinate system " + crsId, e);
+        }
+        if (coordinateSystem != null) {
+          COORDINATE_SYSTEM_BY_ID.put(crsId, coordinateSystem);
+        }
+      }
+    }
+    return coordinateSystem;
+  }
+
+  private static CoordinateSystem readCoordinateSystem(final ByteBuffer record) {
+    final int id = record.getInt();
+    final String name = EpsgRecordFile.readString(record);
+    final Area area = readCode(record, EpsgCoordinateSystems::getArea);
+    final int type = record.get();
+    final EpsgCoordinateSystemType coordinateSystemType = readCode(record,
+      COORDINATE_SYSTEM_TYPE_BY_ID);
+    final Datum datum = readCode(record, EpsgCoordinateSystems::getDatum);
+    final CoordinateSystem sourceCoordinateSystem = readCode(record,
+      EpsgCoordinateSystems::getCoordinateSystem);
+
+    final CoordinateOperation operation = readCode(record,
+      EpsgCoordinateSystems::getCoordinateOperation);
+
+    final HorizontalCoordinateSystem horizontalCoordinateSystem = (HorizontalCoordinateSystem)readCode(
+      record, EpsgCoordinateSystems::getCoordinateSystem);
+    final VerticalCoordinateSystem verticalCoordinateSystem = (VerticalCoordinateSystem)readCode(
+      record, EpsgCoordinateSystems::getCoordinateSystem);
+    final boolean deprecated = EpsgRecordFile.readBoolean(record);
+    final List<Axis> axis;
+    if (coordinateSystemType == null) {
+      axis = null;
+    } else {
+      axis = AXIS_BY_COORDINATE_SYSTEM_ID.get(coordinateSystemType.getId());
+    }
+    if (type == 0) {
+      // geocentric
+      return newCoordinateSystemGeocentric(id, name, datum, axis, area, deprecated);
+    } else if (type == 1) {
+      // geographic 3D
+      return new GeographicCoordinateSystem(id, name, (GeodeticDatum)datum, axis, area,
+        sourceCoordinateSystem, operation, deprecated);
+    } else if (type == 2) {
+      // geographic 2D
+      return new GeographicCoordinateSystem(id, name, (GeodeticDatum)datum, axis, area,
+        sourceCoordinateSystem, operation, deprecated);
+    } else if (type == 3) {
+      // projected
+      return newCoordinateSystemProjected(id, name, area, sourceCoordinateSystem, operation, axis,
+        deprecated);
+    } else if (type == 4) {
+      // engineering
+      return new EngineeringCoordinateSystem(id, name, (EngineeringDatum)datum, axis, area,
+        deprecated);
+    } else if (type == 5) {
+      // vertical
+      return new VerticalCoordinateSystem(id, name, (VerticalDatum)datum, axis, area,
+        deprecated);
+    } else if (type == 6) {
+      return new CompoundCoordinateSystem(id, name, horizontalCoordinateSystem,
+        verticalCoordinateSystem, area, deprecated);
+    } else {
+      return null;
+    }
+  }
+
+  private synchronized static Datum readDatum(final int id) {
+    Datum datum = DATUM_BY_ID.get(id);
+    if (datum == null && datumFile != null) {
+      final ByteBuffer record = datumFile.getRecord(id);
+      if (record != null) {
+        datum = readDatum(record);
+        DATUM_BY_ID.put(id, datum);
+      }
+    }
+    return datum;
+  }
+
+  private static Datum readDatum(final ByteBuffer record) {
+    final int id = record.getInt();
+    final String name = EpsgRecordFile.readString(record);
+    final int datumType = record.get();
+    final Ellipsoid ellipsoid = readCode(record, ELLIPSOID_BY_ID);
+    final PrimeMeridian primeMeridian = readCode(record, PRIME_MERIDIAN_BY_ID);
+    final Area area = readCode(record, EpsgCoordinateSystems::getArea);
+
+    final boolean deprecated = EpsgRecordFile.readBoolean(record);
+    final EpsgAuthority authority = new EpsgAuthority(id);
+
+    if (datumType == 0) {
+      return new GeodeticDatum(authority, name, area, deprecated, ellipsoid, primeMeridian);
+    } else if (datumType == 1) {
+      return new VerticalDatum(authority, name, area, deprecated);
+    } else if (datumType == 2) {
+      return new EngineeringDatum(authority, name, area, deprecated);
+    } else {
+      throw new IllegalArgumentException("Unknown datumType=" + datumType);
+    }
+  }
+
+  private static Map<ParameterName, ParameterValue> readParameterValues(final int operationId) {
+    if (coordOperationParamValueFile == null) {
+      return Collections.emptyMap();
+    }
+    Map<ParameterName, ParameterValue> parameterValues = null;
+    for (final int offset : coordOperationParamValueFile.getOffsets(operationId)) {
+      final ByteBuffer record = coordOperationParamValueFile.getRecordAt(offset);
+      record.getInt();
+      final CoordinateOperationMethod method = readCode(record, METHOD_BY_ID);
+      final ParameterName parameterName = readCode(record, PARAM_NAME_BY_ID);
+      final double value = record.getDouble();
+      final String fileRef = EpsgRecordFile.readString(record);
+      final UnitOfMeasure unit = readCode(record, UNIT_BY_ID);
+      final ParameterValue parameterValue;
+      if (Double.isFinite(value)) {
+        if (fileRef != null) {
+          throw new IllegalArgumentException("Cannot have a value and fileRef for coordOperationParamValue="
+            + operationId + " " + parameterName);
+        } else {
+          parameterValue = new ParameterValueNumber(unit, value);
+        }
+      } else {
+        if (fileRef != null) {
+          parameterValue = new ParameterValueString(fileRef);
+        } else {
+          parameterValue = null;
+        }
+      }
+      if (parameterValues == null) {
+        parameterValues = new LinkedHashMap<>();
+        final List<ParameterName> parameterOrder = method.getParameterNames();
+        for (final ParameterName orderParameterName : parameterOrder) {
+          parameterValues.put(orderParameterName, null);
+        }
+      }
+      method.setParameter(parameterValues, parameterName, parameterValue);
+    }
+    if (parameterValues == null) {
+      return Collections.emptyMap();
+    } else {
+      return parameterValues;
+    }
+  }
+
+  /**
+   * Register a coordinate system that doesn't match an existing coordinate system. The match is
+   * checked again while synchronized so concurrent requests for the same coordinate system
+   * register it once.
+   */
+  @SuppressWarnings("unchecked")
+  private synchronized static <C extends CoordinateSystem> C registerCoordinateSystem(
+    final C coordinateSystem) {
+    final CoordinateSystem matchedCoordinateSystem = getMatchingCoordinateSystem(
+      coordinateSystem);
+    if (matchedCoordinateSystem != null) {
+      return (C)matchedCoordinateSystem;
+    }
+    int srid = coordinateSystem.getCoordinateSystemId();
+    if (srid <= 0) {
+      srid = nextSrid++;
+    }
+    final String name = coordinateSystem.getCoordinateSystemName();
+    final List<Axis> axis = coordinateSystem.getAxis();
+    final Area area = coordinateSystem.getArea();
+    final Authority authority = coordinateSystem.getAuthority();
+    final boolean deprecated = coordinateSystem.isDeprecated();
+    CoordinateSystem newCs;
+    if (coordinateSystem instanceof GeographicCoordinateSystem) {
+      final GeographicCoordinateSystem geographicCs = (GeographicCoordinateSystem)coordinateSystem;
+      final GeodeticDatum geodeticDatum = geographicCs.getGeodeticDatum();
+      final PrimeMeridian primeMeridian = geographicCs.getPrimeMeridian();
+      final CoordinateSystem sourceCoordinateSystem = geographicCs.getSourceCoordinateSystem();
+      final CoordinateOperation coordinateOperation = geographicCs.getCoordinateOperation();
+      newCs = new GeographicCoordinateSystem(srid, name, geodeticDatum, primeMeridian, axis, area,
+        sourceCoordinateSystem, coordinateOperation, deprecated);
+    } else if (coordinateSystem instanceof ProjectedCoordinateSystem) {
+      final ProjectedCoordinateSystem projectedCs = (ProjectedCoordinateSystem)coordinateSystem;
+      GeographicCoordinateSystem geographicCs = projectedCs.getGeographicCoordinateSystem();
+      geographicCs = getCoordinateSystem(geographicCs);
+      final CoordinateOperationMethod coordinateOperationMethod = projectedCs
+        .getCoordinateOperationMethod();
+      final Map<ParameterName, ParameterValue> parameters = projectedCs.getParameterValues();
+      final LinearUnit linearUnit = projectedCs.getLinearUnit();
+      newCs = new ProjectedCoordinateSystem(srid, name, geographicCs, area,
+        coordinateOperationMethod, parameters, linearUnit, axis, authority, deprecated);
+    } else {
+      return coordinateSystem;
+    }
+    COORDINATE_SYSTEM_BY_ID.put(srid, newCs);
+    addCoordinateSystem(REGISTERED_COORDINATE_SYSTEM_BY_NAME,
+      REGISTERED_COORDINATE_SYSTEMS_BY_HASH_CODE, newCs);
+    return (C)newCs;
+  }
+
   private static String readStringUtf8ByteCount(final DataInputStream reader) throws IOException {
     final int byteCount = reader.readInt();
     if (byteCount < 0) {
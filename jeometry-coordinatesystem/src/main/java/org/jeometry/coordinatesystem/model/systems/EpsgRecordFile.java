@@ -0,0 +1,259 @@
+package org.jeometry.coordinatesystem.model.systems;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import org.jeometry.common.logging.Logs;
+
+/**
+ * An EPSG or ESRI binary resource read once into a byte array with an index from the record id
+ * (the first int of each record) to the offset of the record. Records are read from the bytes on
+ * demand so only the records that are used are converted to objects.
+ *
+ * The layout has a character for each field of a record (i=int, b=byte, d=double, s=UTF-8 string
+ * prefixed by the int byte count, p=byte count of parameters followed by the name and value
+ * strings of each parameter) so the records can be indexed without reading their values.
+ *
+ * If the {@link EpsgRegistrySnapshot} has the index for a file with the same checksum the
+ * records aren't read to create the index.
+ */
+final class EpsgRecordFile {
+
+  private static final int[] EMPTY = new int[0];
+
+  static EpsgRecordFile read(final String fileName, final String layout) {
+    return readResource("/org/jeometry/coordinatesystem/epsg/" + fileName + ".bin", layout);
+  }
+
+  static EpsgRecordFile readResource(final String name, final String layout) {
+    try (
+      InputStream in = EpsgRecordFile.class.getResourceAsStream(name)) {
+      if (in == null) {
+        Logs.error(EpsgRecordFile.class, "Missing resource: " + name);
+        return null;
+      } else {
+        final byte[] bytes = in.readAllBytes();
+        final CRC32 crc = new CRC32();
+        crc.update(bytes);
+        final long checksum = crc.getValue();
+        final EpsgRecordFile snapshotFile = EpsgRegistrySnapshot.newRecordFile(name, bytes,
+          checksum);
+        if (snapshotFile == null) {
+          return new EpsgRecordFile(name, bytes, checksum, layout);
+        } else {
+          return snapshotFile;
+        }
+      }
+    } catch (final IOException e) {
+      Logs.error(EpsgRecordFile.class, "Unable to read resource: " + name, e);
+      return null;
+    }
+  }
+
+  static boolean readBoolean(final ByteBuffer record) {
+    return record.get() == (byte)1;
+  }
+
+  static String readString(final ByteBuffer record) {
+    final int byteCount = record.getInt();
+    if (byteCount < 0) {
+      return null;
+    } else if (byteCount == 0) {
+      return "";
+    } else {
+      final byte[] bytes = new byte[byteCount];
+      record.get(bytes);
+      int i = 0;
+      for (; i < bytes.length; i++) {
+        final byte character = bytes[i];
+        if (character == 0) {
+          return new String(bytes, 0, i, StandardCharsets.UTF_8);
+        }
+      }
+      return new String(bytes, 0, i, StandardCharsets.UTF_8);
+    }
+  }
+
+  static void skipString(final ByteBuffer record) {
+    final int byteCount = record.getInt();
+    if (byteCount > 0) {
+      record.position(record.position() + byteCount);
+    }
+  }
+
+  private final ByteBuffer buffer;
+
+  private final long checksum;
+
+  private final String name;
+
+  /** The id in the high 32 bits and the offset in the low 32 bits sorted by id then offset. */
+  private final long[] index;
+
+  private final int[] offsets;
+
+  EpsgRecordFile(final String name, final byte[] bytes, final long checksum, final int[] offsets,
+    final long[] index) {
+    this.name = name;
+    this.buffer = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    this.checksum = checksum;
+    this.offsets = offsets;
+    this.index = index;
+  }
+
+  private EpsgRecordFile(final String name, final byte[] bytes, final long checksum,
+    final String layout) {
+    this.name = name;
+    this.buffer = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    this.checksum = checksum;
+    final ByteBuffer buffer = this.buffer.duplicate();
+    int[] offsets = new int[1024];
+    int count = 0;
+    try {
+      while (buffer.hasRemaining()) {
+        final int offset = buffer.position();
+        for (int i = 0; i < layout.length(); i++) {
+          final char fieldType = layout.charAt(i);
+          if (fieldType == 'i') {
+            buffer.getInt();
+          } else if (fieldType == 'b') {
+            buffer.get();
+          } else if (fieldType == 'd') {
+            buffer.getDouble();
+          } else if (fieldType == 's') {
+            skipString(buffer);
+          } else if (fieldType == 'p') {
+            final byte parameterCount = buffer.get();
+            for (int j = 0; j < parameterCount; j++) {
+              skipString(buffer);
+              skipString(buffer);
+            }
+          } else {
+            throw new IllegalArgumentException("Invalid field type " + fieldType + " in " + layout);
+          }
+        }
+        if (count == offsets.length) {
+          offsets = Arrays.copyOf(offsets, count * 2);
+        }
+        offsets[count++] = offset;
+      }
+    } catch (final BufferUnderflowException | IllegalArgumentException e) {
+      Logs.error(this, "Truncated record in " + name + " at offset " + buffer.position());
+    }
+    this.offsets = Arrays.copyOf(offsets, count);
+    this.index = new long[count];
+    for (int i = 0; i < count; i++) {
+      final int offset = offsets[i];
+      final int id = this.buffer.getInt(offset);
+      this.index[i] = (long)id << 32 | offset;
+    }
+    Arrays.sort(this.index);
+  }
+
+  int getByteCount() {
+    return this.buffer.capacity();
+  }
+
+  /**
+   * Get the CRC32 checksum of the file.
+   *
+   * @return The checksum.
+   */
+  long getChecksum() {
+    return this.checksum;
+  }
+
+  /**
+   * Get the index of the id in the high 32 bits and the offset in the low 32 bits sorted by id
+   * then offset.
+   *
+   * @return The index.
+   */
+  long[] getIdIndex() {
+    return this.index;
+  }
+
+  private int getIndex(final int id) {
+    int low = 0;
+    int high = this.index.length - 1;
+    while (low <= high) {
+      final int middle = low + high >>> 1;
+      final int middleId = (int)(this.index[middle] >> 32);
+      if (middleId < id) {
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    if (low < this.index.length && (int)(this.index[low] >> 32) == id) {
+      return low;
+    } else {
+      return -1;
+    }
+  }
+
+  /**
+   * Get the offsets of all the records in the order they are in the file.
+   *
+   * @return The offsets.
+   */
+  int[] getOffsets() {
+    return this.offsets;
+  }
+
+  /**
+   * Get the offsets of the records with the id in the order they are in the file.
+   *
+   * @param id The record id.
+   * @return The offsets.
+   */
+  int[] getOffsets(final int id) {
+    final int startIndex = getIndex(id);
+    if (startIndex == -1) {
+      return EMPTY;
+    } else {
+      int endIndex = startIndex + 1;
+      while (endIndex < this.index.length && (int)(this.index[endIndex] >> 32) == id) {
+        endIndex++;
+      }
+      final int[] offsets = new int[endIndex - startIndex];
+      for (int i = 0; i < offsets.length; i++) {
+        offsets[i] = (int)this.index[startIndex + i];
+      }
+      return offsets;
+    }
+  }
+
+  /**
+   * Get the first record with the id.
+   *
+   * @param id The record id.
+   * @return The record positioned at the start of the record or null if there isn't a record.
+   */
+  ByteBuffer getRecord(final int id) {
+    final int index = getIndex(id);
+    if (index == -1) {
+      return null;
+    } else {
+      return getRecordAt((int)this.index[index]);
+    }
+  }
+
+  ByteBuffer getRecordAt(final int offset) {
+    return this.buffer.duplicate().position(offset);
+  }
+
+  int getRecordCount() {
+    return this.offsets.length;
+  }
+
+  @Override
+  public String toString() {
+    return this.name;
+  }
+}
@@ -0,0 +1,240 @@
+package org.jeometry.coordinatesystem.model.systems;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.jeometry.common.logging.Logs;
+
+/**
+ * A snapshot of the indexes {@link EpsgCoordinateSystems#initialize()} builds from the EPSG
+ * tables, created when the project is built (see the epsg-snapshot execution in the pom.xml) and
+ * read with one bulk read. For each {@link EpsgRecordFile} it has the CRC32 checksum of the .bin
+ * file, the record offsets and the id index, and it has the operation ids for each source and
+ * target coordinate system pair. A record file only uses the snapshot if the checksum and length
+ * of the .bin file match, otherwise (or if the snapshot is missing) the file is indexed by
+ * reading all its records.
+ *
+ * Set the {@link #PROPERTY} system property to false to not use the snapshot.
+ *
+ * <pre>
+ * int version
+ * int fileCount
+ * fileCount * (string name, long checksum, int byteCount, int recordCount,
+ *   int[recordCount] offsets, long[recordCount] index)
+ * int pairCount
+ * pairCount * (long crsPairKey, int operationCount, int[operationCount] operationIds)
+ * </pre>
+ */
+final class EpsgRegistrySnapshot {
+
+  private static final class RecordFileIndex {
+    private final long checksum;
+
+    private final int byteCount;
+
+    private final int[] offsets;
+
+    private final long[] index;
+
+    private RecordFileIndex(final long checksum, final int byteCount, final int[] offsets,
+      final long[] index) {
+      this.checksum = checksum;
+      this.byteCount = byteCount;
+      this.offsets = offsets;
+      this.index = index;
+    }
+  }
+
+  /** Lazily read the first time a record file is read. */
+  private static final class Holder {
+    private static final EpsgRegistrySnapshot INSTANCE = read();
+  }
+
+  public static final String PROPERTY = "org.jeometry.coordinatesystem.epsgSnapshot";
+
+  static final String RESOURCE = "/org/jeometry/coordinatesystem/epsg/registry.bin";
+
+  private static final int VERSION = 1;
+
+  private static final EpsgRegistrySnapshot EMPTY = new EpsgRegistrySnapshot(
+    Collections.emptyMap(), Collections.emptyMap());
+
+  private static EpsgRegistrySnapshot get() {
+    if ("false".equalsIgnoreCase(System.getProperty(PROPERTY))) {
+      return EMPTY;
+    } else {
+      return Holder.INSTANCE;
+    }
+  }
+
+  /**
+   * Get the operation ids for each source and target coordinate system pair if the coordOperation
+   * file is the one the snapshot was created from.
+   *
+   * @param coordOperationFile The coordOperation file.
+   * @return The operation ids or null if the snapshot can't be used.
+   */
+  static Map<Long, List<Integer>> getOperationIdsByCrsPair(
+    final EpsgRecordFile coordOperationFile) {
+    final EpsgRegistrySnapshot snapshot = get();
+    if (snapshot.isCurrent(coordOperationFile)) {
+      return snapshot.operationIdsByCrsPair;
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * Create the snapshot from the .bin files in the class path.
+   *
+   * Arguments: file
+   */
+  public static void main(final String[] args) throws IOException {
+    System.setProperty(PROPERTY, "false");
+    EpsgCoordinateSystems.initialize();
+    final Path file = Paths.get(args[0]);
+    Files.createDirectories(file.getParent());
+    write(file, EpsgCoordinateSystems.getRecordFiles(),
+      EpsgCoordinateSystems.getOperationIdsByCrsPair());
+  }
+
+  /**
+   * Create the record file using the offsets and index in the snapshot.
+   *
+   * @return The record file or null if the snapshot doesn't have a matching index.
+   */
+  static EpsgRecordFile newRecordFile(final String name, final byte[] bytes,
+    final long checksum) {
+    final RecordFileIndex index = get().indexByName.get(name);
+    if (index == null) {
+      return null;
+    } else if (index.checksum != checksum || index.byteCount != bytes.length) {
+      Logs.debug(EpsgRegistrySnapshot.class, "Snapshot doesn't match " + name);
+      return null;
+    } else {
+      return new EpsgRecordFile(name, bytes, checksum, index.offsets, index.index);
+    }
+  }
+
+  private static EpsgRegistrySnapshot read() {
+    try (
+      InputStream in = EpsgRegistrySnapshot.class.getResourceAsStream(RESOURCE)) {
+      if (in == null) {
+        Logs.debug(EpsgRegistrySnapshot.class, "Missing resource: " + RESOURCE);
+        return EMPTY;
+      } else {
+        return read(ByteBuffer.wrap(in.readAllBytes()));
+      }
+    } catch (final IOException | RuntimeException e) {
+      Logs.error(EpsgRegistrySnapshot.class, "Unable to read resource: " + RESOURCE, e);
+      return EMPTY;
+    }
+  }
+
+  private static EpsgRegistrySnapshot read(final ByteBuffer buffer) {
+    final int version = buffer.getInt();
+    if (version != VERSION) {
+      Logs.debug(EpsgRegistrySnapshot.class, RESOURCE + " version " + version + " != " + VERSION);
+      return EMPTY;
+    }
+    final Map<String, RecordFileIndex> indexByName = new HashMap<>();
+    final int fileCount = buffer.getInt();
+    for (int i = 0; i < fileCount; i++) {
+      final String name = EpsgRecordFile.readString(buffer);
+      final long checksum = buffer.getLong();
+      final int byteCount = buffer.getInt();
+      final int recordCount = buffer.getInt();
+      final int[] offsets = new int[recordCount];
+      buffer.asIntBuffer().get(offsets);
+      buffer.position(buffer.position() + recordCount * Integer.BYTES);
+      final long[] index = new long[recordCount];
+      buffer.asLongBuffer().get(index);
+      buffer.position(buffer.position() + recordCount * Long.BYTES);
+      indexByName.put(name, new RecordFileIndex(checksum, byteCount, offsets, index));
+    }
+
+    final Map<Long, List<Integer>> operationIdsByCrsPair = new HashMap<>();
+    final int pairCount = buffer.getInt();
+    for (int i = 0; i < pairCount; i++) {
+      final long key = buffer.getLong();
+      final int operationCount = buffer.getInt();
+      final List<Integer> operationIds = new ArrayList<>(operationCount);
+      for (int j = 0; j < operationCount; j++) {
+        operationIds.add(buffer.getInt());
+      }
+      operationIdsByCrsPair.put(key, operationIds);
+    }
+    return new EpsgRegistrySnapshot(indexByName, operationIdsByCrsPair);
+  }
+
+  private static void write(final Path file, final List<EpsgRecordFile> recordFiles,
+    final Map<Long, List<Integer>> operationIdsByCrsPair) throws IOException {
+    try (
+      DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(file)))) {
+      out.writeInt(VERSION);
+      out.writeInt(recordFiles.size());
+      for (final EpsgRecordFile recordFile : recordFiles) {
+        final byte[] name = recordFile.toString().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(name.length);
+        out.write(name);
+        out.writeLong(recordFile.getChecksum());
+        out.writeInt(recordFile.getByteCount());
+        final int[] offsets = recordFile.getOffsets();
+        out.writeInt(offsets.length);
+        for (final int offset : offsets) {
+          out.writeInt(offset);
+        }
+        for (final long indexEntry : recordFile.getIdIndex()) {
+          out.writeLong(indexEntry);
+        }
+      }
+
+      // Sorted so the snapshot is the same for the same tables
+      final Map<Long, List<Integer>> sortedOperationIds = new TreeMap<>(operationIdsByCrsPair);
+      out.writeInt(sortedOperationIds.size());
+      for (final Entry<Long, List<Integer>> entry : sortedOperationIds.entrySet()) {
+        out.writeLong(entry.getKey());
+        final List<Integer> operationIds = entry.getValue();
+        out.writeInt(operationIds.size());
+        for (final int operationId : operationIds) {
+          out.writeInt(operationId);
+        }
+      }
+    }
+  }
+
+  private final Map<String, RecordFileIndex> indexByName;
+
+  private final Map<Long, List<Integer>> operationIdsByCrsPair;
+
+  private EpsgRegistrySnapshot(final Map<String, RecordFileIndex> indexByName,
+    final Map<Long, List<Integer>> operationIdsByCrsPair) {
+    this.indexByName = indexByName;
+    this.operationIdsByCrsPair = operationIdsByCrsPair;
+  }
+
+  private boolean isCurrent(final EpsgRecordFile recordFile) {
+    if (recordFile == null) {
+      return false;
+    } else {
+      final RecordFileIndex index = this.indexByName.get(recordFile.toString());
+      return index != null && index.checksum == recordFile.getChecksum()
+        && index.byteCount == recordFile.getByteCount();
+    }
+  }
+}
@@ -1,21 +1,13 @@
 package org.jeometry.coordinatesystem.model.systems;
 
-import java.io.BufferedInputStream;
-import java.io.DataInputStream;
-import java.io.EOFException;
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.jeometry.common.logging.Logs;
 import org.jeometry.coordinatesystem.io.WktCsParser;
 import org.jeometry.coordinatesystem.model.Authority;
 import org.jeometry.coordinatesystem.model.BaseAuthority;
@@ -34,30 +26,39 @@ import org.jeometry.coordinatesystem.model.datum.GeodeticDatum;
 import org.jeometry.coordinatesystem.model.datum.VerticalDatum;
 import org.jeometry.coordinatesystem.model.unit.AngularUnit;
 import org.jeometry.coordinatesystem.model.unit.LinearUnit;
-import org.jeometry.coordinatesystem.util.ByteArray;
-import org.slf4j.LoggerFactory;
 
 public class EsriCoordinateSystems {
-  private static Map<Integer, CoordinateSystem> COORDINATE_SYSTEM_BY_ID = new HashMap<>();
+  private static Map<Integer, CoordinateSystem> COORDINATE_SYSTEM_BY_ID = new ConcurrentHashMap<>();
 
-  private static Map<ByteArray, List<Integer>> COORDINATE_SYSTEM_IDS_BY_DIGEST = new HashMap<>();
+  private static final Map<CoordinateSystemType, EsriDigestTable> DIGEST_TABLE_BY_TYPE = new ConcurrentHashMap<>();
 
-  private static final Map<String, AngularUnit> ANGULAR_UNITS_BY_NAME = new TreeMap<>();
+  private static final Map<String, AngularUnit> ANGULAR_UNITS_BY_NAME = new ConcurrentHashMap<>();
 
-  private static final Map<String, LinearUnit> LINEAR_UNITS_BY_NAME = new TreeMap<>();
+  private static final Map<String, LinearUnit> LINEAR_UNITS_BY_NAME = new ConcurrentHashMap<>();
 
-  private static Map<ParameterName, ParameterValue> convertParameters(
-    final Map<String, String> parameters) {
-    final Map<ParameterName, ParameterValue> parameterValues = new LinkedHashMap<>();
-    for (final Entry<String, String> parameter : parameters.entrySet()) {
-      final String name = parameter.getKey();
+  private static final Map<String, EpsgRecordFile> RECORD_FILE_BY_NAME = new ConcurrentHashMap<>();
 
-      final String value = parameter.getValue();
-      final ParameterName parameterName = new SingleParameterName(name);
-      final ParameterValue parameterValue = new ParameterValueBigDecimal(value);
-      parameterValues.put(parameterName, parameterValue);
+  private static final String GEOGRAPHIC_LAYOUT = "isssddsdsd";
+
+  private static final String PROJECTED_LAYOUT = "isispsd";
+
+  private static final String VERTICAL_LAYOUT = "isspsd";
+
+  /**
+   * Add the coordinate system to the cache. If another thread added the same coordinate system
+   * first then that one is returned so there is only one instance for each id.
+   */
+  @SuppressWarnings("unchecked")
+  private static <C extends CoordinateSystem> C addCoordinateSystem(final int id,
+    final C coordinateSystem) {
+    final CoordinateSystem existingCoordinateSystem = COORDINATE_SYSTEM_BY_ID.putIfAbsent(id,
+      coordinateSystem);
+    if (existingCoordinateSystem != null
+      && existingCoordinateSystem.getClass() == coordinateSystem.getClass()) {
+      return (C)existingCoordinateSystem;
+    } else {
+      return coordinateSystem;
     }
-    return parameterValues;
   }
 
   @SuppressWarnings("unchecked")
@@ -80,102 +81,60 @@ public class EsriCoordinateSystems {
   }
 
   private static List<Integer> getCoordinateSystemIdsByDigest(
-    final CoordinateSystem coordinateSystem, final ByteArray digest) {
-    List<Integer> ids = COORDINATE_SYSTEM_IDS_BY_DIGEST.get(digest);
-    if (ids == null) {
-      final byte[] bytes = new byte[16];
-      final ByteArray newDigest = new ByteArray(bytes);
-      final CoordinateSystemType type = coordinateSystem.getCoordinateSystemType();
-      if (type.isCompound()) {
-        return Collections.emptyList();
-      } else {
-        try (
-          DataInputStream reader = newDataInputStream(type + ".digest")) {
-          if (reader != null) {
-            while (true) {
-              reader.read(bytes);
-              final short count = reader.readShort();
-              if (digest.equals(newDigest)) {
-                ids = new ArrayList<>();
-                for (int i = 0; i < count; i++) {
-                  final int csId = reader.readInt();
-                  ids.add(csId);
-                }
-                COORDINATE_SYSTEM_IDS_BY_DIGEST.put(digest, ids);
-                return ids;
-              } else {
-                for (int i = 0; i < count; i++) {
-                  reader.readInt();
-                }
-              }
-            }
-          }
-        } catch (final EOFException e) {
-        } catch (final IOException e) {
-          log("ellipsoid", e);
-        }
-      }
+    final CoordinateSystem coordinateSystem, final byte[] digest) {
+    final CoordinateSystemType type = coordinateSystem.getCoordinateSystemType();
+    if (type.isCompound()) {
+      return Collections.emptyList();
     } else {
-      return ids;
+      final EsriDigestTable digestTable = DIGEST_TABLE_BY_TYPE.computeIfAbsent(type,
+        digestType -> EsriDigestTable
+          .read("/org/jeometry/coordinatesystem/esri/" + digestType + ".digest"));
+      return digestTable.getIds(digest);
     }
-    return Collections.emptyList();
   }
 
   public static GeographicCoordinateSystem getGeographicCoordinateSystem(final int id) {
-    GeographicCoordinateSystem coordinateSystem = (GeographicCoordinateSystem)COORDINATE_SYSTEM_BY_ID
-      .get(id);
-    if (coordinateSystem == null) {
-      try (
-        final DataInputStream reader = newDataInputStream("Geographic.cs")) {
-        if (reader != null) {
-          while (true) {
-            final int coordinateSystemId = reader.readInt();
-            final String csName = readStringUtf8ByteCount(reader);
-            final String datumName = readStringUtf8ByteCount(reader);
-            final String spheroidName = readStringUtf8ByteCount(reader);
-            final double semiMajorAxis = reader.readDouble();
-            final double inverseFlattening = reader.readDouble();
-            final String primeMeridianName = readStringUtf8ByteCount(reader);
-            final double longitude = reader.readDouble();
-            final String angularUnitName = readStringUtf8ByteCount(reader);
-            final double conversionFactor = reader.readDouble();
+    final CoordinateSystem cachedCoordinateSystem = COORDINATE_SYSTEM_BY_ID.get(id);
+    if (cachedCoordinateSystem instanceof GeographicCoordinateSystem) {
+      return (GeographicCoordinateSystem)cachedCoordinateSystem;
+    } else {
+      final ByteBuffer record = getRecord("Geographic.cs", GEOGRAPHIC_LAYOUT, id);
+      if (record == null) {
+        return null;
+      } else {
+        final int coordinateSystemId = record.getInt();
+        final String csName = EpsgRecordFile.readString(record);
+        final String datumName = EpsgRecordFile.readString(record);
+        final String spheroidName = EpsgRecordFile.readString(record);
+        final double semiMajorAxis = record.getDouble();
+        final double inverseFlattening = record.getDouble();
+        final String primeMeridianName = EpsgRecordFile.readString(record);
+        final double longitude = record.getDouble();
+        final String angularUnitName = EpsgRecordFile.readString(record);
+        final double conversionFactor = record.getDouble();
 
-            if (id == coordinateSystemId) {
-              final Ellipsoid ellipsoid = new Ellipsoid(spheroidName, semiMajorAxis,
-                inverseFlattening, null);
-              final PrimeMeridian primeMeridian = new PrimeMeridian(primeMeridianName, longitude,
-                null);
-              final GeodeticDatum geodeticDatum = new GeodeticDatum(null, datumName, null, false,
-                ellipsoid, primeMeridian);
+        final Ellipsoid ellipsoid = new Ellipsoid(spheroidName, semiMajorAxis, inverseFlattening,
+          null);
+        final PrimeMeridian primeMeridian = new PrimeMeridian(primeMeridianName, longitude, null);
+        final GeodeticDatum geodeticDatum = new GeodeticDatum(null, datumName, null, false,
+          ellipsoid, primeMeridian);
 
-              AngularUnit angularUnit = ANGULAR_UNITS_BY_NAME.get(angularUnitName);
-              if (angularUnit == null) {
-                angularUnit = new AngularUnit(angularUnitName, conversionFactor, null);
-                ANGULAR_UNITS_BY_NAME.put(angularUnitName, angularUnit);
-              }
+        final AngularUnit angularUnit = ANGULAR_UNITS_BY_NAME.computeIfAbsent(angularUnitName,
+          name -> new AngularUnit(name, conversionFactor, null));
 
-              final Authority authority = new BaseAuthority("ESRI", coordinateSystemId);
-              coordinateSystem = new GeographicCoordinateSystem(coordinateSystemId, csName,
-                geodeticDatum, primeMeridian, angularUnit, null, authority);
-              COORDINATE_SYSTEM_BY_ID.put(id, coordinateSystem);
-              return coordinateSystem;
-            }
-          }
-        }
-      } catch (final EOFException e) {
-      } catch (final IOException e) {
-        log("ellipsoid", e);
-        return null;
+        final Authority authority = new BaseAuthority("ESRI", coordinateSystemId);
+        final GeographicCoordinateSystem coordinateSystem = new GeographicCoordinateSystem(
+          coordinateSystemId, csName, geodeticDatum, primeMeridian, angularUnit, null, authority);
+        return addCoordinateSystem(id, coordinateSystem);
       }
     }
-    return coordinateSystem;
   }
 
   public static int getIdUsingDigest(final CoordinateSystem coordinateSystem) {
     if (coordinateSystem == null) {
       return 0;
     } else {
-      final ByteArray digest = new ByteArray(coordinateSystem.md5Digest());
+      final byte[] digest = coordinateSystem.md5Digest();
       final List<Integer> ids = getCoordinateSystemIdsByDigest(coordinateSystem, digest);
       if (ids.isEmpty()) {
         return 0;
@@ -206,110 +165,75 @@ public class EsriCoordinateSystems {
   }
 
   public static ProjectedCoordinateSystem getProjectedCoordinateSystem(final int id) {
-    ProjectedCoordinateSystem coordinateSystem = (ProjectedCoordinateSystem)COORDINATE_SYSTEM_BY_ID
-      .get(id);
-    if (coordinateSystem == null) {
-      try (
-        final DataInputStream reader = newDataInputStream("Projected.cs")) {
-        if (reader != null) {
-          while (true) {
-            final int coordinateSystemId = reader.readInt();
-            final String csName = readStringUtf8ByteCount(reader);
-
-            final int geographicCoordinateSystemId = reader.readInt();
-            final String projectionName = readStringUtf8ByteCount(reader);
-            final Map<String, String> parameters = readParameters(reader);
-            final String unitName = readStringUtf8ByteCount(reader);
-            final double conversionFactor = reader.readDouble();
-
-            if (id == coordinateSystemId) {
-              LinearUnit linearUnit = LINEAR_UNITS_BY_NAME.get(unitName);
-              if (linearUnit == null) {
-                linearUnit = new LinearUnit(unitName, conversionFactor);
-                LINEAR_UNITS_BY_NAME.put(unitName, linearUnit);
-              }
-              final Authority authority = new BaseAuthority("ESRI", coordinateSystemId);
-              final GeographicCoordinateSystem geographicCoordinateSystem = getGeographicCoordinateSystem(
-                geographicCoordinateSystemId);
-              final Map<ParameterName, ParameterValue> parameterValues = convertParameters(
-                parameters);
-              coordinateSystem = new ProjectedCoordinateSystem(coordinateSystemId, csName,
-                geographicCoordinateSystem, projectionName, parameterValues, linearUnit, authority);
-              COORDINATE_SYSTEM_BY_ID.put(id, coordinateSystem);
-              return coordinateSystem;
-            }
-          }
-        }
-      } catch (final EOFException e) {
-      } catch (final IOException e) {
-        log("ellipsoid", e);
+    final CoordinateSystem cachedCoordinateSystem = COORDINATE_SYSTEM_BY_ID.get(id);
+    if (cachedCoordinateSystem instanceof ProjectedCoordinateSystem) {
+      return (ProjectedCoordinateSystem)cachedCoordinateSystem;
+    } else {
+      final ByteBuffer record = getRecord("Projected.cs", PROJECTED_LAYOUT, id);
+      if (record == null) {
         return null;
-      }
-    }
-    return coordinateSystem;
-  }
-
-  public static VerticalCoordinateSystem getVerticalCoordinateSystem(final int id) {
-    VerticalCoordinateSystem coordinateSystem = (VerticalCoordinateSystem)COORDINATE_SYSTEM_BY_ID
-      .get(id);
-    if (coordinateSystem == null) {
-      try (
-        final DataInputStream reader = newDataInputStream("Vertical.css")) {
-        if (reader != null) {
-          while (true) {
-            final int coordinateSystemId = reader.readInt();
-            final String csName = readStringUtf8ByteCount(reader);
-            final String datumName = readStringUtf8ByteCount(reader);
-            final Map<String, String> parameters = readParameters(reader);
-            final String linearUnitName = readStringUtf8ByteCount(reader);
-            final double conversionFactor = reader.readDouble();
-
-            if (id == coordinateSystemId) {
-              final VerticalDatum verticalDatum = new VerticalDatum(null, datumName, 0);
-
-              LinearUnit linearUnit = LINEAR_UNITS_BY_NAME.get(linearUnitName);
-              if (linearUnit == null) {
-                linearUnit = new LinearUnit(linearUnitName, conversionFactor, null);
-                LINEAR_UNITS_BY_NAME.put(linearUnitName, linearUnit);
-              }
-
-              final Authority authority = new BaseAuthority("ESRI", coordinateSystemId);
-              final Map<ParameterName, ParameterValue> parameterValues = convertParameters(
-                parameters);
+      } else {
+        final int coordinateSystemId = record.getInt();
+        final String csName = EpsgRecordFile.readString(record);
+        final int geographicCoordinateSystemId = record.getInt();
+        final String projectionName = EpsgRecordFile.readString(record);
+        final Map<ParameterName, ParameterValue> parameterValues = readParameters(record);
+        final String unitName = EpsgRecordFile.readString(record);
+        final double conversionFactor = record.getDouble();
 
-              coordinateSystem = new VerticalCoordinateSystem(authority, csName, verticalDatum,
-                parameterValues, linearUnit, Collections.emptyList());
-              COORDINATE_SYSTEM_BY_ID.put(id, coordinateSystem);
-              return coordinateSystem;
-            }
-          }
-        }
-      } catch (final EOFException e) {
-      } catch (final IOException e) {
-        if (!e.getMessage().contains("closed")) {
-          log("VerticalCoordinateSystem", e);
-        }
-        return null;
+        final LinearUnit linearUnit = LINEAR_UNITS_BY_NAME.computeIfAbsent(unitName,
+          name -> new LinearUnit(name, conversionFactor));
+        final Authority authority = new BaseAuthority("ESRI", coordinateSystemId);
+        final GeographicCoordinateSystem geographicCoordinateSystem = getGeographicCoordinateSystem(
+          geographicCoordinateSystemId);
+        final ProjectedCoordinateSystem coordinateSystem = new ProjectedCoordinateSystem(
+          coordinateSystemId, csName, geographicCoordinateSystem, projectionName, parameterValues,
+          linearUnit, authority);
+        return addCoordinateSystem(id, coordinateSystem);
       }
     }
-    return coordinateSystem;
   }
 
-  private static void log(final String message, final IOException e) {
-    if (!e.getMessage().equals("Stream closed")) {
-      LoggerFactory.getLogger(EsriCoordinateSystems.class).error(message, e);
+  /**
+   * Get the record with the id from the ESRI resource. The resource is read and indexed by id on
+   * the first call so unknown ids are found to be missing without reading the resource again.
+   */
+  private static ByteBuffer getRecord(final String fileName, final String layout, final int id) {
+    final EpsgRecordFile recordFile = RECORD_FILE_BY_NAME.computeIfAbsent(fileName,
+      name -> EpsgRecordFile.readResource("/org/jeometry/coordinatesystem/esri/" + name, layout));
+    if (recordFile == null) {
+      return null;
+    } else {
+      return recordFile.getRecord(id);
     }
   }
 
-  private static DataInputStream newDataInputStream(final String fileName) {
-    final String name = "/org/jeometry/coordinatesystem/esri/" + fileName;
-    final InputStream in = EpsgCoordinateSystems.class.getResourceAsStream(name);
-    if (in == null) {
-      Logs.error(EsriCoordinateSystems.class, "Missing resource: " + name);
-      return null;
+  public static VerticalCoordinateSystem getVerticalCoordinateSystem(final int id) {
+    final CoordinateSystem cachedCoordinateSystem = COORDINATE_SYSTEM_BY_ID.get(id);
+    if (cachedCoordinateSystem instanceof VerticalCoordinateSystem) {
+      return (VerticalCoordinateSystem)cachedCoordinateSystem;
     } else {
-      final BufferedInputStream bufferedIn = new BufferedInputStream(in);
-      return new DataInputStream(bufferedIn);
+      final ByteBuffer record = getRecord("Vertical.cs", VERTICAL_LAYOUT, id);
+      if (record == null) {
+        return null;
+      } else {
+        final int coordinateSystemId = record.getInt();
+        final String csName = EpsgRecordFile.readString(record);
+        final String datumName = EpsgRecordFile.readString(record);
+        final Map<ParameterName, ParameterValue> parameterValues = readParameters(record);
+        final String linearUnitName = EpsgRecordFile.readString(record);
+        final double conversionFactor = record.getDouble();
+
+        final VerticalDatum verticalDatum = new VerticalDatum(null, datumName, 0);
+
+        final LinearUnit linearUnit = LINEAR_UNITS_BY_NAME.computeIfAbsent(linearUnitName,
+          name -> new LinearUnit(name, conversionFactor, null));
+
+        final Authority authority = new BaseAuthority("ESRI", coordinateSystemId);
+        final VerticalCoordinateSystem coordinateSystem = new VerticalCoordinateSystem(authority,
+          csName, verticalDatum, parameterValues, linearUnit, Collections.emptyList());
+        return addCoordinateSystem(id, coordinateSystem);
+      }
     }
   }
 
@@ -352,36 +276,17 @@ public class EsriCoordinateSystems {
     }
   }
 
-  private static Map<String, String> readParameters(final DataInputStream reader)
-    throws IOException {
-    final byte parameterCount = reader.readByte();
-    final Map<String, String> parameters = new LinkedHashMap<>();
+  private static Map<ParameterName, ParameterValue> readParameters(final ByteBuffer record) {
+    final byte parameterCount = record.get();
+    final Map<ParameterName, ParameterValue> parameterValues = new LinkedHashMap<>();
     for (int i = 0; i < parameterCount; i++) {
-      final String name = readStringUtf8ByteCount(reader);
-      final String value = readStringUtf8ByteCount(reader);
-      parameters.put(name, value);
-    }
-    return parameters;
-  }
-
-  private static String readStringUtf8ByteCount(final DataInputStream reader) throws IOException {
-    final int byteCount = reader.readInt();
-    if (byteCount < 0) {
-      return null;
-    } else if (byteCount == 0) {
-      return "";
-    } else {
-      final byte[] bytes = new byte[byteCount];
-      reader.read(bytes);
-      int i = 0;
-      for (; i < bytes.length; i++) {
-        final byte character = bytes[i];
-        if (character == 0) {
-          return new String(bytes, 0, i, StandardCharsets.UTF_8);
-        }
-      }
-      return new String(bytes, 0, i, StandardCharsets.UTF_8);
+      final String name = EpsgRecordFile.readString(record);
+      final String value = EpsgRecordFile.readString(record);
+      final ParameterName parameterName = new SingleParameterName(name);
+      final ParameterValue parameterValue = new ParameterValueBigDecimal(value);
+      parameterValues.put(parameterName, parameterValue);
     }
+    return parameterValues;
   }
 
 }
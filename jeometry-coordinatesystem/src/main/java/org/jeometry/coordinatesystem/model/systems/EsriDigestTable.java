@@ -0,0 +1,142 @@
+package org.jeometry.coordinatesystem.model.systems;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jeometry.common.logging.Logs;
+
+/**
+ * An ESRI digest resource read once into a byte array with an open addressing hash table from
+ * the digest to the offset of the record. Each record is the 16 byte MD5 digest of a coordinate
+ * system followed by the short count and the int ids of the coordinate systems with that digest.
+ *
+ * The digests are MD5 hashes so the first int of the digest is used as the hash code. The table
+ * is at most half full so digests that aren't in the resource are found to be missing after
+ * checking one or two slots.
+ */
+final class EsriDigestTable {
+
+  private static final int DIGEST_LENGTH = 16;
+
+  private static final EsriDigestTable EMPTY = new EsriDigestTable("", new byte[0]);
+
+  static EsriDigestTable read(final String name) {
+    try (
+      InputStream in = EsriDigestTable.class.getResourceAsStream(name)) {
+      if (in == null) {
+        Logs.error(EsriDigestTable.class, "Missing resource: " + name);
+        return EMPTY;
+      } else {
+        return new EsriDigestTable(name, in.readAllBytes());
+      }
+    } catch (final IOException e) {
+      Logs.error(EsriDigestTable.class, "Unable to read resource: " + name, e);
+      return EMPTY;
+    }
+  }
+
+  private final ByteBuffer buffer;
+
+  private final String name;
+
+  /** The offset of the record plus one for each slot, 0 for an empty slot. */
+  private final int[] slots;
+
+  private EsriDigestTable(final String name, final byte[] bytes) {
+    this.name = name;
+    this.buffer = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    final ByteBuffer buffer = this.buffer.duplicate();
+    int[] offsets = new int[1024];
+    int count = 0;
+    try {
+      while (buffer.hasRemaining()) {
+        final int offset = buffer.position();
+        buffer.position(offset + DIGEST_LENGTH);
+        final short idCount = buffer.getShort();
+        buffer.position(buffer.position() + idCount * 4);
+        if (buffer.position() > buffer.limit()) {
+          throw new BufferUnderflowException();
+        }
+        if (count == offsets.length) {
+          offsets = Arrays.copyOf(offsets, count * 2);
+        }
+        offsets[count++] = offset;
+      }
+    } catch (final BufferUnderflowException | IllegalArgumentException e) {
+      Logs.error(this, "Truncated record in " + name + " at offset " + buffer.position());
+    }
+
+    int capacity = 2;
+    while (capacity < count * 2) {
+      capacity <<= 1;
+    }
+    this.slots = new int[capacity];
+    for (int i = 0; i < count; i++) {
+      final int offset = offsets[i];
+      final int slot = getSlot(this.buffer, offset);
+      // The first record for a digest is used, same as reading the resource sequentially
+      if (this.slots[slot] == 0) {
+        this.slots[slot] = offset + 1;
+      }
+    }
+  }
+
+  /**
+   * Get the ids of the coordinate systems with the digest.
+   *
+   * @param digest The MD5 digest of the coordinate system.
+   * @return The coordinate system ids or an empty list if the digest isn't in the resource.
+   */
+  List<Integer> getIds(final byte[] digest) {
+    if (digest.length == DIGEST_LENGTH) {
+      final int slot = getSlot(ByteBuffer.wrap(digest), 0);
+      final int offset = this.slots[slot] - 1;
+      if (offset >= 0) {
+        final int idCount = this.buffer.getShort(offset + DIGEST_LENGTH);
+        final Integer[] ids = new Integer[idCount];
+        for (int i = 0; i < idCount; i++) {
+          ids[i] = this.buffer.getInt(offset + DIGEST_LENGTH + 2 + i * 4);
+        }
+        return List.of(ids);
+      }
+    }
+    return Collections.emptyList();
+  }
+
+  /**
+   * Get the slot for the digest starting at the offset in the buffer. This is the slot that
+   * contains the digest's record or the empty slot where it would be added.
+   */
+  private int getSlot(final ByteBuffer digestBuffer, final int digestOffset) {
+    final int mask = this.slots.length - 1;
+    int slot = digestBuffer.getInt(digestOffset) & mask;
+    while (true) {
+      final int offset = this.slots[slot] - 1;
+      if (offset < 0 || isDigestEqual(offset, digestBuffer, digestOffset)) {
+        return slot;
+      } else {
+        slot = slot + 1 & mask;
+      }
+    }
+  }
+
+  private boolean isDigestEqual(final int offset, final ByteBuffer digestBuffer,
+    final int digestOffset) {
+    for (int i = 0; i < DIGEST_LENGTH; i += 8) {
+      if (this.buffer.getLong(offset + i) != digestBuffer.getLong(digestOffset + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return this.name;
+  }
+}
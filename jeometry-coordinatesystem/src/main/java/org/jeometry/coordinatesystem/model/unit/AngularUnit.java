@@ -11,6 +11,7 @@ import javax.measure.quantity.Angle;
 import org.jeometry.coordinatesystem.model.Authority;
 import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
 import org.jeometry.coordinatesystem.operation.CoordinatesOperationPoint;
+import org.jeometry.coordinatesystem.operation.ScaleOffsetOperation;
 import org.jeometry.coordinatesystem.util.Md5;
 
 import tech.units.indriya.AbstractUnit;
@@ -96,30 +97,26 @@ public class AngularUnit implements UnitOfMeasure {
       } else if (targetAngularUnit instanceof Degree) {
         addToDegreesOperation(operations);
       } else {
-        operations.add(point -> {
-          final double x = toRadians(point.x);
-          point.x = targetAngularUnit.fromRadians(x);
-          final double y = toRadians(point.y);
-          point.y = targetAngularUnit.fromRadians(y);
-        });
+        final double radians = toRadians(1.0);
+        operations.add(ScaleOffsetOperation.scale(targetAngularUnit.fromRadians(radians)));
       }
     }
   }
 
   public void addFromDegreesOperation(final List<CoordinatesOperation> operations) {
-    operations.add(this::fromDegrees);
+    operations.add(ScaleOffsetOperation.scale(fromDegrees(1.0)));
   }
 
   public void addFromRadiansOperation(final List<CoordinatesOperation> operations) {
-    operations.add(this::fromRadians);
+    operations.add(ScaleOffsetOperation.scale(fromRadians(1.0)));
   }
 
   public void addToDegreesOperation(final List<CoordinatesOperation> operations) {
-    operations.add(this::toDegrees);
+    operations.add(ScaleOffsetOperation.scale(toDegrees(1.0)));
   }
 
   public void addToRadiansOperation(final List<CoordinatesOperation> operations) {
-    operations.add(this::toRadians);
+    operations.add(ScaleOffsetOperation.scale(toRadians(1.0)));
   }
 
   @Override
@@ -2,8 +2,10 @@ package org.jeometry.coordinatesystem.model.unit;
 
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
+import java.util.List;
 
 import org.jeometry.coordinatesystem.model.Authority;
+import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
 
 public class DegreeSexagesimalDMS extends AngularUnit {
 
@@ -16,6 +18,11 @@ public class DegreeSexagesimalDMS extends AngularUnit {
     super(name, baseUnit, conversionFactor, authority, deprecated);
   }
 
+  @Override
+  public void addToDegreesOperation(final List<CoordinatesOperation> operations) {
+    operations.add(this::toDegrees);
+  }
+
   @Override
   public double toDegrees(final double value) {
     final String string = getFormat().format(value);
@@ -11,6 +11,7 @@ import javax.measure.quantity.Length;
 import org.jeometry.coordinatesystem.model.Authority;
 import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
 import org.jeometry.coordinatesystem.operation.CoordinatesOperationPoint;
+import org.jeometry.coordinatesystem.operation.ScaleOffsetOperation;
 import org.jeometry.coordinatesystem.util.Md5;
 
 import tech.units.indriya.AbstractUnit;
@@ -61,9 +62,9 @@ public class LinearUnit implements UnitOfMeasure {
 
   private Unit<Length> unit;
 
-  public CoordinatesOperation fromMetresOperation = this::fromMetres;
+  public CoordinatesOperation fromMetresOperation;
 
-  public CoordinatesOperation toMetresOperation = this::toMetres;
+  public CoordinatesOperation toMetresOperation;
 
   public LinearUnit(final String name, final double conversionFactor) {
     this(name, null, conversionFactor, null, false);
@@ -94,6 +95,8 @@ public class LinearUnit implements UnitOfMeasure {
         this.unit = baseUnit.getUnit();
       }
     }
+    this.fromMetresOperation = ScaleOffsetOperation.scale(fromMetres(1.0));
+    this.toMetresOperation = ScaleOffsetOperation.scale(toMetres(1.0));
   }
 
   public void addFromMetresOperation(final List<CoordinatesOperation> operations) {
@@ -5,6 +5,7 @@ import java.util.List;
 import org.jeometry.coordinatesystem.model.Authority;
 import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
 import org.jeometry.coordinatesystem.operation.CoordinatesOperationPoint;
+import org.jeometry.coordinatesystem.operation.ScaleOffsetOperation;
 
 public class Radian extends AngularUnit {
   private static Radian instance;
@@ -19,6 +20,11 @@ public class Radian extends AngularUnit {
     instance = this;
   }
 
+  @Override
+  public void addFromDegreesOperation(final List<CoordinatesOperation> operations) {
+    operations.add(ScaleOffsetOperation.scale(Math.toRadians(1.0)));
+  }
+
   @Override
   public void addFromRadiansOperation(final List<CoordinatesOperation> operations) {
   }
@@ -5,6 +5,78 @@ import java.util.Arrays;
 import java.util.List;
 
 public class ChainedCoordinatesOperation implements CoordinatesOperation {
+  /**
+   * Optimize the list of operations. Adjacent {@link ScaleOffsetOperation}s (including linear
+   * {@link UnitConverstionOperation}s) are combined into a single operation, identity operations
+   * are removed and the remaining scale operations are folded into the operation before or after
+   * them using {@link ScaledCoordinatesOperation}.
+   *
+   * @param operations The operations.
+   * @return The optimized operations.
+   */
+  public static List<CoordinatesOperation> optimize(final List<CoordinatesOperation> operations) {
+    final List<CoordinatesOperation> combinedOperations = new ArrayList<>();
+    ScaleOffsetOperation scaleOperation = null;
+    for (CoordinatesOperation operation : operations) {
+      if (operation instanceof UnitConverstionOperation) {
+        final ScaleOffsetOperation unitScaleOperation = ((UnitConverstionOperation<?>)operation)
+          .toScaleOffsetOperation();
+        if (unitScaleOperation != null) {
+          operation = unitScaleOperation;
+        }
+      }
+      if (operation instanceof ScaleOffsetOperation) {
+        final ScaleOffsetOperation nextScaleOperation = (ScaleOffsetOperation)operation;
+        if (scaleOperation == null) {
+          scaleOperation = nextScaleOperation;
+        } else {
+          scaleOperation = scaleOperation.then(nextScaleOperation);
+        }
+      } else if (operation != null && operation != NoOpOperation.INSTANCE) {
+        if (scaleOperation != null && !scaleOperation.isIdentity()) {
+          combinedOperations.add(scaleOperation);
+        }
+        scaleOperation = null;
+        combinedOperations.add(operation);
+      }
+    }
+    if (scaleOperation != null && !scaleOperation.isIdentity()) {
+      combinedOperations.add(scaleOperation);
+    }
+
+    final List<CoordinatesOperation> optimizedOperations = new ArrayList<>();
+    final int operationCount = combinedOperations.size();
+    for (int i = 0; i < operationCount; i++) {
+      final CoordinatesOperation operation = combinedOperations.get(i);
+      if (operation instanceof ScaleOffsetOperation) {
+        if (operationCount == 1) {
+          optimizedOperations.add(operation);
+        }
+      } else {
+        ScaleOffsetOperation before = null;
+        if (i == 1) {
+          final CoordinatesOperation previousOperation = combinedOperations.get(0);
+          if (previousOperation instanceof ScaleOffsetOperation) {
+            before = (ScaleOffsetOperation)previousOperation;
+          }
+        }
+        ScaleOffsetOperation after = null;
+        if (i + 1 < operationCount) {
+          final CoordinatesOperation nextOperation = combinedOperations.get(i + 1);
+          if (nextOperation instanceof ScaleOffsetOperation) {
+            after = (ScaleOffsetOperation)nextOperation;
+          }
+        }
+        if (before == null && after == null) {
+          optimizedOperations.add(operation);
+        } else {
+          optimizedOperations.add(new ScaledCoordinatesOperation(before, operation, after));
+        }
+      }
+    }
+    return optimizedOperations;
+  }
+
   private final List<CoordinatesOperation> operations;
 
   public ChainedCoordinatesOperation(final CoordinatesOperation... operations) {
@@ -19,6 +91,29 @@ public class ChainedCoordinatesOperation implements CoordinatesOperation {
     this.operations.add(operation);
   }
 
+  /**
+   * Perform each operation over all the points before starting the next operation. The first
+   * operation writes from the source to the target, the remaining operations are performed in
+   * place on the target.
+   */
+  @Override
+  public void perform(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    final List<CoordinatesOperation> operations = this.operations;
+    final int operationCount = operations.size();
+    if (operationCount == 0) {
+      NoOpOperation.INSTANCE.perform(source, sourceOffset, target, targetOffset, pointCount,
+        axisCount);
+    } else {
+      final CoordinatesOperation firstOperation = operations.get(0);
+      firstOperation.perform(source, sourceOffset, target, targetOffset, pointCount, axisCount);
+      for (int i = 1; i < operationCount; i++) {
+        final CoordinatesOperation operation = operations.get(i);
+        operation.perform(target, targetOffset, target, targetOffset, pointCount, axisCount);
+      }
+    }
+  }
+
   @Override
   public void perform(final CoordinatesOperationPoint point) {
     for (final CoordinatesOperation operation : this.operations) {
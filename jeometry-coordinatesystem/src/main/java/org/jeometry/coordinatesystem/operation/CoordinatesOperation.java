@@ -1,8 +1,126 @@
 package org.jeometry.coordinatesystem.operation;
 
+import java.nio.DoubleBuffer;
+
 import org.jeometry.common.function.BiConsumerDouble;
 
 public interface CoordinatesOperation {
+  /** The maximum number of points copied from a {@link DoubleBuffer} to the heap at a time. */
+  int BUFFER_CHUNK_POINT_COUNT = 1024;
+
+  /**
+   * Perform the operation on the interleaved coordinates in place.
+   *
+   * @param coordinates The coordinates (x,y[,z[,m]])*.
+   * @param offset The index of the first coordinate of the first point.
+   * @param pointCount The number of points.
+   * @param axisCount The number of coordinates per point.
+   */
+  default void perform(final double[] coordinates, final int offset, final int pointCount,
+    final int axisCount) {
+    perform(coordinates, offset, coordinates, offset, pointCount, axisCount);
+  }
+
+  /**
+   * Perform the operation on the interleaved source coordinates writing the results to the
+   * target coordinates. The source and target can be the same array if the offsets are the same,
+   * otherwise the ranges must not overlap. Only the x,y (and z, m if axisCount allows) ordinates
+   * are carried from one point to the next step of an operation.
+   *
+   * @param source The source coordinates (x,y[,z[,m]])*.
+   * @param sourceOffset The index of the first coordinate of the first source point.
+   * @param target The target coordinates (x,y[,z[,m]])*.
+   * @param targetOffset The index of the first coordinate of the first target point.
+   * @param pointCount The number of points.
+   * @param axisCount The number of coordinates per point.
+   */
+  default void perform(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    final CoordinatesOperationPoint point = new CoordinatesOperationPoint();
+    int sourceIndex = sourceOffset;
+    int targetIndex = targetOffset;
+    for (int i = 0; i < pointCount; i++) {
+      point.resetPoint(source, sourceIndex, axisCount);
+      perform(point);
+      point.copyCoordinatesTo(target, targetIndex, axisCount);
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
+  /**
+   * Perform the operation on the points in a {@link DoubleBuffer}. Points are copied in chunks
+   * of at most {@link #BUFFER_CHUNK_POINT_COUNT} points to a scratch array and processed with
+   * {@link #perform(double[], int, double[], int, int, int)}, so direct and memory-mapped buffers
+   * in any byte order can be processed without copying the whole buffer to the heap.
+   *
+   * Each point starts stride doubles after the previous point; only the first axisCount
+   * ordinates of each point are read and written. The source and target can be the same buffer
+   * if the offsets and strides are the same.
+   *
+   * @param source The source coordinates.
+   * @param sourceOffset The index of the first coordinate of the first source point.
+   * @param sourceStride The number of doubles between the start of each source point.
+   * @param target The target coordinates.
+   * @param targetOffset The index of the first coordinate of the first target point.
+   * @param targetStride The number of doubles between the start of each target point.
+   * @param pointCount The number of points.
+   * @param axisCount The number of coordinates per point.
+   */
+  default void perform(final DoubleBuffer source, final int sourceOffset, final int sourceStride,
+    final DoubleBuffer target, final int targetOffset, final int targetStride, final int pointCount,
+    final int axisCount) {
+    final int chunkPointCount = Math.min(pointCount, BUFFER_CHUNK_POINT_COUNT);
+    final double[] coordinates = new double[chunkPointCount * axisCount];
+    perform(source, sourceOffset, sourceStride, target, targetOffset, targetStride, pointCount,
+      axisCount, coordinates);
+  }
+
+  /**
+   * Perform the operation on the points in a {@link DoubleBuffer} using the coordinates array as
+   * the scratch array. Each chunk is coordinates.length / axisCount points. See
+   * {@link #perform(DoubleBuffer, int, int, DoubleBuffer, int, int, int, int)}.
+   *
+   * @param coordinates The scratch array, must have space for at least one point.
+   */
+  default void perform(final DoubleBuffer source, final int sourceOffset, final int sourceStride,
+    final DoubleBuffer target, final int targetOffset, final int targetStride, final int pointCount,
+    final int axisCount, final double[] coordinates) {
+    final int chunkPointCount = coordinates.length / axisCount;
+    int sourceIndex = sourceOffset;
+    int targetIndex = targetOffset;
+    for (int pointIndex = 0; pointIndex < pointCount; pointIndex += chunkPointCount) {
+      final int count = Math.min(chunkPointCount, pointCount - pointIndex);
+      if (sourceStride == axisCount) {
+        source.get(sourceIndex, coordinates, 0, count * axisCount);
+        sourceIndex += count * axisCount;
+      } else {
+        for (int i = 0; i < count; i++) {
+          source.get(sourceIndex, coordinates, i * axisCount, axisCount);
+          sourceIndex += sourceStride;
+        }
+      }
+      perform(coordinates, 0, coordinates, 0, count, axisCount);
+      if (targetStride == axisCount) {
+        target.put(targetIndex, coordinates, 0, count * axisCount);
+        targetIndex += count * axisCount;
+      } else {
+        for (int i = 0; i < count; i++) {
+          target.put(targetIndex, coordinates, i * axisCount, axisCount);
+          targetIndex += targetStride;
+        }
+      }
+    }
+  }
+
+  /**
+   * Perform the operation in place on the interleaved coordinates in a {@link DoubleBuffer}. See
+   * {@link #perform(DoubleBuffer, int, int, DoubleBuffer, int, int, int, int)}.
+   */
+  default void perform(final DoubleBuffer coordinates, final int offset, final int pointCount,
+    final int axisCount) {
+    perform(coordinates, offset, axisCount, coordinates, offset, axisCount, pointCount, axisCount);
+  }
 
   void perform(CoordinatesOperationPoint point);
 
@@ -95,6 +95,28 @@ public class CoordinatesOperationPoint {
     return false;
   }
 
+  /**
+   * Set the point from the coordinates, setting any ordinates not in axisCount to NaN.
+   *
+   * @param coordinates The coordinates.
+   * @param offset The index of the x coordinate.
+   * @param axisCount The number of coordinates for the point.
+   */
+  public void resetPoint(final double[] coordinates, final int offset, final int axisCount) {
+    this.x = coordinates[offset];
+    this.y = coordinates[offset + 1];
+    if (axisCount > 2) {
+      this.z = coordinates[offset + 2];
+    } else {
+      this.z = Double.NaN;
+    }
+    if (axisCount > 3) {
+      this.m = coordinates[offset + 3];
+    } else {
+      this.m = Double.NaN;
+    }
+  }
+
   public void resetPoint(final double x, final double y, final double z) {
     this.x = x;
     this.y = y;
@@ -11,6 +11,14 @@ public class NoOpOperation implements CoordinatesOperation {
   public void perform(final CoordinatesOperationPoint point) {
   }
 
+  @Override
+  public void perform(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    if (source != target || sourceOffset != targetOffset) {
+      System.arraycopy(source, sourceOffset, target, targetOffset, pointCount * axisCount);
+    }
+  }
+
   @Override
   public String toString() {
     return "noOp";
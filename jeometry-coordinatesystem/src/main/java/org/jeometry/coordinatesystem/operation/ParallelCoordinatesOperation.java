@@ -0,0 +1,193 @@
+package org.jeometry.coordinatesystem.operation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jeometry.common.util.Cancellable;
+
+/**
+ * Perform an operation on large coordinate arrays by splitting them into chunks of at most
+ * chunkSize points and running the chunks on a {@link ForkJoinPool}. Each chunk uses the batch
+ * {@link CoordinatesOperation#perform(double[], int, double[], int, int, int)} method so each
+ * worker has its own scratch state. The wrapped operation must be safe to call from multiple
+ * threads at the same time.
+ *
+ * The {@link Cancellable} is checked before each chunk is started; once it is cancelled the
+ * remaining chunks are skipped. The perform methods return true only if a chunk was skipped, a
+ * cancel after the last chunk has started doesn't change the result.
+ */
+public class ParallelCoordinatesOperation implements CoordinatesOperation {
+
+  private class ChunkTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final Cancellable cancellable;
+
+    private final AtomicBoolean skipped;
+
+    private final double[] source;
+
+    private final int sourceOffset;
+
+    private final double[] target;
+
+    private final int targetOffset;
+
+    private final int pointCount;
+
+    private final int axisCount;
+
+    private ChunkTask(final Cancellable cancellable, final AtomicBoolean skipped,
+      final double[] source, final int sourceOffset, final double[] target, final int targetOffset,
+      final int pointCount, final int axisCount) {
+      this.cancellable = cancellable;
+      this.skipped = skipped;
+      this.source = source;
+      this.sourceOffset = sourceOffset;
+      this.target = target;
+      this.targetOffset = targetOffset;
+      this.pointCount = pointCount;
+      this.axisCount = axisCount;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.cancellable.isCancelled()) {
+        this.skipped.set(true);
+      } else if (this.pointCount <= ParallelCoordinatesOperation.this.chunkSize) {
+        ParallelCoordinatesOperation.this.operation.perform(this.source, this.sourceOffset,
+          this.target, this.targetOffset, this.pointCount, this.axisCount);
+      } else {
+        final int leftCount = this.pointCount / 2;
+        final int rightCount = this.pointCount - leftCount;
+        final int ordinateCount = leftCount * this.axisCount;
+        final ChunkTask left = new ChunkTask(this.cancellable, this.skipped, this.source,
+          this.sourceOffset, this.target, this.targetOffset, leftCount, this.axisCount);
+        final ChunkTask right = new ChunkTask(this.cancellable, this.skipped, this.source,
+          this.sourceOffset + ordinateCount, this.target, this.targetOffset + ordinateCount,
+          rightCount, this.axisCount);
+        invokeAll(left, right);
+      }
+    }
+  }
+
+  public static final int DEFAULT_CHUNK_SIZE = 16384;
+
+  private final CoordinatesOperation operation;
+
+  private final int chunkSize;
+
+  private final ForkJoinPool pool;
+
+  public ParallelCoordinatesOperation(final CoordinatesOperation operation) {
+    this(operation, DEFAULT_CHUNK_SIZE);
+  }
+
+  public ParallelCoordinatesOperation(final CoordinatesOperation operation, final int chunkSize) {
+    this(operation, chunkSize, ForkJoinPool.commonPool());
+  }
+
+  public ParallelCoordinatesOperation(final CoordinatesOperation operation, final int chunkSize,
+    final ForkJoinPool pool) {
+    if (operation == null) {
+      throw new IllegalArgumentException("operation must not be null");
+    }
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("chunkSize=" + chunkSize + " must be > 0");
+    }
+    this.operation = operation;
+    this.chunkSize = chunkSize;
+    this.pool = pool;
+  }
+
+  public int getChunkSize() {
+    return this.chunkSize;
+  }
+
+  public CoordinatesOperation getOperation() {
+    return this.operation;
+  }
+
+  public ForkJoinPool getPool() {
+    return this.pool;
+  }
+
+  /**
+   * Perform the operation in place on each of the coordinate arrays.
+   *
+   * @param cancellable The cancellable checked between chunks.
+   * @param coordinatesList The list of interleaved coordinate arrays.
+   * @param axisCount The number of coordinates per point.
+   * @return True if the operation was cancelled before all the chunks were performed, false
+   *         otherwise.
+   * @throws IllegalArgumentException If the length of an array is not a multiple of axisCount.
+   */
+  public boolean perform(final Cancellable cancellable, final List<double[]> coordinatesList,
+    final int axisCount) {
+    for (final double[] coordinates : coordinatesList) {
+      if (coordinates.length % axisCount != 0) {
+        throw new IllegalArgumentException("coordinates.length=" + coordinates.length
+          + " must be a multiple of axisCount=" + axisCount);
+      }
+    }
+    final AtomicBoolean skipped = new AtomicBoolean();
+    final List<ChunkTask> tasks = new ArrayList<>();
+    for (final double[] coordinates : coordinatesList) {
+      final int pointCount = coordinates.length / axisCount;
+      if (pointCount > 0) {
+        tasks.add(new ChunkTask(cancellable, skipped, coordinates, 0, coordinates, 0, pointCount,
+          axisCount));
+      }
+    }
+    if (!tasks.isEmpty()) {
+      this.pool.invoke(new RecursiveAction() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void compute() {
+          ForkJoinTask.invokeAll(tasks);
+        }
+      });
+    }
+    return skipped.get();
+  }
+
+  /**
+   * Perform the operation on the interleaved coordinates. See
+   * {@link CoordinatesOperation#perform(double[], int, double[], int, int, int)}.
+   *
+   * @return True if the operation was cancelled before all the chunks were performed, false
+   *         otherwise.
+   */
+  public boolean perform(final Cancellable cancellable, final double[] source,
+    final int sourceOffset, final double[] target, final int targetOffset, final int pointCount,
+    final int axisCount) {
+    final AtomicBoolean skipped = new AtomicBoolean();
+    if (pointCount > 0) {
+      final ChunkTask task = new ChunkTask(cancellable, skipped, source, sourceOffset, target,
+        targetOffset, pointCount, axisCount);
+      this.pool.invoke(task);
+    }
+    return skipped.get();
+  }
+
+  @Override
+  public void perform(final CoordinatesOperationPoint point) {
+    this.operation.perform(point);
+  }
+
+  @Override
+  public void perform(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    perform(Cancellable.FALSE, source, sourceOffset, target, targetOffset, pointCount, axisCount);
+  }
+
+  @Override
+  public String toString() {
+    return "parallel " + this.operation;
+  }
+}
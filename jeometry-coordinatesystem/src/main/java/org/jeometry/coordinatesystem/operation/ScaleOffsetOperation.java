@@ -0,0 +1,111 @@
+package org.jeometry.coordinatesystem.operation;
+
+import org.jeometry.common.number.Doubles;
+
+/**
+ * Linear operation on the x,y ordinates (x' = x * scaleX + offsetX, y' = y * scaleY + offsetY).
+ * Adjacent scale offset operations in a chain can be combined into a single operation using
+ * {@link #then(ScaleOffsetOperation)}.
+ */
+public class ScaleOffsetOperation implements CoordinatesOperation {
+
+  private static final double IDENTITY_TOLERANCE = 1e-14;
+
+  public static ScaleOffsetOperation scale(final double scale) {
+    return new ScaleOffsetOperation(scale, 0, scale, 0);
+  }
+
+  private final double scaleX;
+
+  private final double offsetX;
+
+  private final double scaleY;
+
+  private final double offsetY;
+
+  public ScaleOffsetOperation(final double scaleX, final double offsetX, final double scaleY,
+    final double offsetY) {
+    this.scaleX = scaleX;
+    this.offsetX = offsetX;
+    this.scaleY = scaleY;
+    this.offsetY = offsetY;
+  }
+
+  public double getOffsetX() {
+    return this.offsetX;
+  }
+
+  public double getOffsetY() {
+    return this.offsetY;
+  }
+
+  public double getScaleX() {
+    return this.scaleX;
+  }
+
+  public double getScaleY() {
+    return this.scaleY;
+  }
+
+  /**
+   * Check if the operation doesn't change the coordinates (within rounding error).
+   *
+   * @return True if the operation is an identity operation.
+   */
+  public boolean isIdentity() {
+    return Math.abs(this.scaleX - 1) < IDENTITY_TOLERANCE
+      && Math.abs(this.scaleY - 1) < IDENTITY_TOLERANCE
+      && Math.abs(this.offsetX) < IDENTITY_TOLERANCE
+      && Math.abs(this.offsetY) < IDENTITY_TOLERANCE;
+  }
+
+  @Override
+  public void perform(final CoordinatesOperationPoint point) {
+    point.x = point.x * this.scaleX + this.offsetX;
+    point.y = point.y * this.scaleY + this.offsetY;
+  }
+
+  @Override
+  public void perform(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    final double scaleX = this.scaleX;
+    final double offsetX = this.offsetX;
+    final double scaleY = this.scaleY;
+    final double offsetY = this.offsetY;
+    final boolean copy = source != target || sourceOffset != targetOffset;
+    int sourceIndex = sourceOffset;
+    int targetIndex = targetOffset;
+    for (int i = 0; i < pointCount; i++) {
+      target[targetIndex] = source[sourceIndex] * scaleX + offsetX;
+      target[targetIndex + 1] = source[sourceIndex + 1] * scaleY + offsetY;
+      if (copy) {
+        for (int axisIndex = 2; axisIndex < axisCount; axisIndex++) {
+          target[targetIndex + axisIndex] = source[sourceIndex + axisIndex];
+        }
+      }
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
+  /**
+   * Create a new operation that is the same as performing this operation followed by the next
+   * operation.
+   *
+   * @param next The operation to perform after this operation.
+   * @return The combined operation.
+   */
+  public ScaleOffsetOperation then(final ScaleOffsetOperation next) {
+    final double scaleX = this.scaleX * next.scaleX;
+    final double offsetX = this.offsetX * next.scaleX + next.offsetX;
+    final double scaleY = this.scaleY * next.scaleY;
+    final double offsetY = this.offsetY * next.scaleY + next.offsetY;
+    return new ScaleOffsetOperation(scaleX, offsetX, scaleY, offsetY);
+  }
+
+  @Override
+  public String toString() {
+    return "scale(" + Doubles.toString(this.scaleX) + " " + Doubles.toString(this.offsetX) + ", "
+      + Doubles.toString(this.scaleY) + " " + Doubles.toString(this.offsetY) + ")";
+  }
+}
@@ -0,0 +1,77 @@
+package org.jeometry.coordinatesystem.operation;
+
+/**
+ * An operation with the scale offset operations immediately before and after it in a chain
+ * folded into a single step. Either the before or after scale can be null.
+ */
+public class ScaledCoordinatesOperation implements CoordinatesOperation {
+
+  private final ScaleOffsetOperation before;
+
+  private final CoordinatesOperation operation;
+
+  private final ScaleOffsetOperation after;
+
+  public ScaledCoordinatesOperation(final ScaleOffsetOperation before,
+    final CoordinatesOperation operation, final ScaleOffsetOperation after) {
+    this.before = before;
+    this.operation = operation;
+    this.after = after;
+  }
+
+  public ScaleOffsetOperation getAfter() {
+    return this.after;
+  }
+
+  public ScaleOffsetOperation getBefore() {
+    return this.before;
+  }
+
+  public CoordinatesOperation getOperation() {
+    return this.operation;
+  }
+
+  @Override
+  public void perform(final CoordinatesOperationPoint point) {
+    final ScaleOffsetOperation before = this.before;
+    if (before != null) {
+      point.x = point.x * before.getScaleX() + before.getOffsetX();
+      point.y = point.y * before.getScaleY() + before.getOffsetY();
+    }
+    this.operation.perform(point);
+    final ScaleOffsetOperation after = this.after;
+    if (after != null) {
+      point.x = point.x * after.getScaleX() + after.getOffsetX();
+      point.y = point.y * after.getScaleY() + after.getOffsetY();
+    }
+  }
+
+  @Override
+  public void perform(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    if (this.before == null) {
+      this.operation.perform(source, sourceOffset, target, targetOffset, pointCount, axisCount);
+    } else {
+      this.before.perform(source, sourceOffset, target, targetOffset, pointCount, axisCount);
+      this.operation.perform(target, targetOffset, target, targetOffset, pointCount, axisCount);
+    }
+    if (this.after != null) {
+      this.after.perform(target, targetOffset, target, targetOffset, pointCount, axisCount);
+    }
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder string = new StringBuilder();
+    if (this.before != null) {
+      string.append(this.before);
+      string.append(" -> ");
+    }
+    string.append(this.operation);
+    if (this.after != null) {
+      string.append(" -> ");
+      string.append(this.after);
+    }
+    return string.toString();
+  }
+}
@@ -25,6 +25,29 @@ public class UnitConverstionOperation<Q extends Quantity<Q>> implements Coordina
     this.converter = sourceUnit.getConverterTo(targetUnit);
   }
 
+  @Override
+  public void perform(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    final UnitConverter converter = this.converter;
+    final boolean convertZ = this.axisCount > 2 && axisCount > 2;
+    int sourceIndex = sourceOffset;
+    int targetIndex = targetOffset;
+    for (int i = 0; i < pointCount; i++) {
+      target[targetIndex] = converter.convert(source[sourceIndex]);
+      target[targetIndex + 1] = converter.convert(source[sourceIndex + 1]);
+      for (int axisIndex = 2; axisIndex < axisCount; axisIndex++) {
+        final double value = source[sourceIndex + axisIndex];
+        if (axisIndex == 2 && convertZ) {
+          target[targetIndex + axisIndex] = converter.convert(value);
+        } else {
+          target[targetIndex + axisIndex] = value;
+        }
+      }
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
   @Override
   public void perform(final CoordinatesOperationPoint point) {
     final UnitConverter converter = this.converter;
@@ -35,6 +58,22 @@ public class UnitConverstionOperation<Q extends Quantity<Q>> implements Coordina
     }
   }
 
+  /**
+   * Get the equivalent {@link ScaleOffsetOperation} if the converter is linear and only the x,y
+   * ordinates are converted.
+   *
+   * @return The scale operation or null if this operation can't be represented as one.
+   */
+  public ScaleOffsetOperation toScaleOffsetOperation() {
+    if (this.axisCount <= 2 && this.converter.isLinear()) {
+      final double offset = this.converter.convert(0.0);
+      final double scale = this.converter.convert(1.0) - offset;
+      return new ScaleOffsetOperation(scale, offset, scale, offset);
+    } else {
+      return null;
+    }
+  }
+
   @Override
   public String toString() {
     return this.sourceUnit + "->" + this.targetUnit;
@@ -0,0 +1,103 @@
+package org.jeometry.coordinatesystem.operation;
+
+import org.jeometry.common.number.Doubles;
+import org.jeometry.coordinatesystem.model.unit.LinearUnit;
+
+/**
+ * Linear operation on the z ordinate (z' = z * scale + offset), the x,y ordinates are not changed.
+ * Used to convert heights between vertical units. Adjacent operations can be combined into a
+ * single operation using {@link #then(VerticalScaleOffsetOperation)}.
+ */
+public class VerticalScaleOffsetOperation implements CoordinatesOperation {
+
+  private static final double IDENTITY_TOLERANCE = 1e-14;
+
+  public static VerticalScaleOffsetOperation fromMetres(final LinearUnit unit) {
+    if (unit == null) {
+      return new VerticalScaleOffsetOperation(1, 0);
+    } else {
+      return new VerticalScaleOffsetOperation(1 / unit.toMetres(1), 0);
+    }
+  }
+
+  public static VerticalScaleOffsetOperation toMetres(final LinearUnit unit) {
+    if (unit == null) {
+      return new VerticalScaleOffsetOperation(1, 0);
+    } else {
+      return new VerticalScaleOffsetOperation(unit.toMetres(1), 0);
+    }
+  }
+
+  private final double scale;
+
+  private final double offset;
+
+  public VerticalScaleOffsetOperation(final double scale, final double offset) {
+    this.scale = scale;
+    this.offset = offset;
+  }
+
+  public double getOffset() {
+    return this.offset;
+  }
+
+  public double getScale() {
+    return this.scale;
+  }
+
+  /**
+   * Check if the operation doesn't change the coordinates (within rounding error).
+   *
+   * @return True if the operation is an identity operation.
+   */
+  public boolean isIdentity() {
+    return Math.abs(this.scale - 1) < IDENTITY_TOLERANCE
+      && Math.abs(this.offset) < IDENTITY_TOLERANCE;
+  }
+
+  @Override
+  public void perform(final CoordinatesOperationPoint point) {
+    point.z = point.z * this.scale + this.offset;
+  }
+
+  @Override
+  public void perform(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    final double scale = this.scale;
+    final double offset = this.offset;
+    final boolean copy = source != target || sourceOffset != targetOffset;
+    int sourceIndex = sourceOffset;
+    int targetIndex = targetOffset;
+    for (int i = 0; i < pointCount; i++) {
+      if (copy) {
+        for (int axisIndex = 0; axisIndex < axisCount; axisIndex++) {
+          target[targetIndex + axisIndex] = source[sourceIndex + axisIndex];
+        }
+      }
+      if (axisCount > 2) {
+        target[targetIndex + 2] = source[sourceIndex + 2] * scale + offset;
+      }
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
+  /**
+   * Create a new operation that is the same as performing this operation followed by the next
+   * operation.
+   *
+   * @param next The operation to perform after this operation.
+   * @return The combined operation.
+   */
+  public VerticalScaleOffsetOperation then(final VerticalScaleOffsetOperation next) {
+    final double scale = this.scale * next.scale;
+    final double offset = this.offset * next.scale + next.offset;
+    return new VerticalScaleOffsetOperation(scale, offset);
+  }
+
+  @Override
+  public String toString() {
+    return "verticalScale(" + Doubles.toString(this.scale) + " " + Doubles.toString(this.offset)
+      + ")";
+  }
+}
@@ -0,0 +1,163 @@
+package org.jeometry.coordinatesystem.operation.datum;
+
+import org.jeometry.common.number.Doubles;
+import org.jeometry.coordinatesystem.model.Ellipsoid;
+import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
+import org.jeometry.coordinatesystem.operation.CoordinatesOperationPoint;
+
+/**
+ * Fast approximate geocentric translation datum shift (EPSG 9605) applied directly to the
+ * geographic coordinates (longitude, latitude in degrees and ellipsoidal height in metres)
+ * without converting to and from geocentric coordinates.
+ *
+ * The abridged formulae ignore the height and the second order terms. Compared to the
+ * {@link HelmertTransformationOperation} with the same translations the horizontal error is less
+ * than 0.6 m for translations up to 300 m and heights up to 1000 m (0.15 to 0.5 m for the NAD27,
+ * ED50 and OSGB36 translations) and grows with the height (up to 0.95 m at 5000 m). It is around
+ * 5 times faster so can be used where that error is acceptable (e.g. rendering).
+ * Rotations and scale can't be represented, use
+ * {@link HelmertTransformationOperation#getAbridgedMolodenskyOperation()} to create the
+ * operation from a 3 parameter transformation.
+ */
+public class AbridgedMolodenskyOperation implements CoordinatesOperation {
+
+  private final Ellipsoid sourceEllipsoid;
+
+  private final Ellipsoid targetEllipsoid;
+
+  private final double dx;
+
+  private final double dy;
+
+  private final double dz;
+
+  private final boolean transformHeight;
+
+  public AbridgedMolodenskyOperation(final Ellipsoid sourceEllipsoid,
+    final Ellipsoid targetEllipsoid, final double dx, final double dy, final double dz) {
+    this(sourceEllipsoid, targetEllipsoid, dx, dy, dz, false);
+  }
+
+  public AbridgedMolodenskyOperation(final Ellipsoid sourceEllipsoid,
+    final Ellipsoid targetEllipsoid, final double dx, final double dy, final double dz,
+    final boolean transformHeight) {
+    this.sourceEllipsoid = sourceEllipsoid;
+    this.targetEllipsoid = targetEllipsoid;
+    this.dx = dx;
+    this.dy = dy;
+    this.dz = dz;
+    this.transformHeight = transformHeight;
+  }
+
+  public double getDx() {
+    return this.dx;
+  }
+
+  public double getDy() {
+    return this.dy;
+  }
+
+  public double getDz() {
+    return this.dz;
+  }
+
+  /**
+   * Get the operation that reverses this datum shift (within the accuracy of the formulae).
+   *
+   * @return The inverse operation.
+   */
+  public AbridgedMolodenskyOperation getInverseOperation() {
+    return new AbridgedMolodenskyOperation(this.targetEllipsoid, this.sourceEllipsoid, -this.dx,
+      -this.dy, -this.dz, this.transformHeight);
+  }
+
+  public Ellipsoid getSourceEllipsoid() {
+    return this.sourceEllipsoid;
+  }
+
+  public Ellipsoid getTargetEllipsoid() {
+    return this.targetEllipsoid;
+  }
+
+  public boolean isTransformHeight() {
+    return this.transformHeight;
+  }
+
+  @Override
+  public void perform(final CoordinatesOperationPoint point) {
+    final double[] coordinates = {
+      point.x, point.y, point.z
+    };
+    perform(coordinates, 0, coordinates, 0, 1, 3);
+    point.x = coordinates[0];
+    point.y = coordinates[1];
+    point.z = coordinates[2];
+  }
+
+  @Override
+  public void perform(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    final double a = this.sourceEllipsoid.getSemiMajorAxis();
+    final double f = this.sourceEllipsoid.getFlattening();
+    final double es = this.sourceEllipsoid.getEccentricitySquared();
+    final double da = this.targetEllipsoid.getSemiMajorAxis() - a;
+    final double df = this.targetEllipsoid.getFlattening() - f;
+    final double adfPlusFda = a * df + f * da;
+    final double dx = this.dx;
+    final double dy = this.dy;
+    final double dz = this.dz;
+    final boolean transformHeight = this.transformHeight;
+    final boolean copy = source != target || sourceOffset != targetOffset;
+    int sourceIndex = sourceOffset;
+    int targetIndex = targetOffset;
+    for (int i = 0; i < pointCount; i++) {
+      final double λ = Math.toRadians(source[sourceIndex]);
+      final double φ = Math.toRadians(source[sourceIndex + 1]);
+      final double sinφ = Math.sin(φ);
+      final double cosφ = Math.cos(φ);
+      final double sinλ = Math.sin(λ);
+      final double cosλ = Math.cos(λ);
+      final double w = 1 - es * sinφ * sinφ;
+      final double sqrtW = Math.sqrt(w);
+      // Radii of curvature in the prime vertical and meridian
+      final double ν = a / sqrtW;
+      final double ρ = a * (1 - es) / (w * sqrtW);
+
+      final double dφ = (-dx * sinφ * cosλ - dy * sinφ * sinλ + dz * cosφ
+        + adfPlusFda * 2 * sinφ * cosφ) / ρ;
+      final double dλ = (-dx * sinλ + dy * cosλ) / (ν * cosφ);
+
+      double λ2 = λ + dλ;
+      if (λ2 > Math.PI) {
+        λ2 -= 2 * Math.PI;
+      } else if (λ2 < -Math.PI) {
+        λ2 += 2 * Math.PI;
+      }
+      target[targetIndex] = Math.toDegrees(λ2);
+      target[targetIndex + 1] = Math.toDegrees(φ + dφ);
+      if (axisCount > 2) {
+        final double z = source[sourceIndex + 2];
+        if (transformHeight && Double.isFinite(z)) {
+          final double dh = dx * cosφ * cosλ + dy * cosφ * sinλ + dz * sinφ
+            + adfPlusFda * sinφ * sinφ - da;
+          target[targetIndex + 2] = z + dh;
+        } else {
+          target[targetIndex + 2] = z;
+        }
+        if (copy) {
+          for (int axisIndex = 3; axisIndex < axisCount; axisIndex++) {
+            target[targetIndex + axisIndex] = source[sourceIndex + axisIndex];
+          }
+        }
+      }
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "abridgedMolodensky(" + Doubles.toString(this.dx) + " " + Doubles.toString(this.dy)
+      + " " + Doubles.toString(this.dz) + ")";
+  }
+}
@@ -0,0 +1,480 @@
+package org.jeometry.coordinatesystem.operation.datum;
+
+import java.util.Map;
+
+import org.jeometry.common.number.Doubles;
+import org.jeometry.coordinatesystem.model.Authority;
+import org.jeometry.coordinatesystem.model.CoordinateOperation;
+import org.jeometry.coordinatesystem.model.Ellipsoid;
+import org.jeometry.coordinatesystem.model.ParameterName;
+import org.jeometry.coordinatesystem.model.ParameterNames;
+import org.jeometry.coordinatesystem.model.ParameterValue;
+import org.jeometry.coordinatesystem.model.ParameterValueNumber;
+import org.jeometry.coordinatesystem.model.ToWgs84;
+import org.jeometry.coordinatesystem.model.unit.ScaleUnit;
+import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
+import org.jeometry.coordinatesystem.operation.CoordinatesOperationPoint;
+
+/**
+ * Datum transformation using a 3 or 7 parameter Helmert transformation. The geographic
+ * coordinates (longitude, latitude in degrees and ellipsoidal height in metres) are converted to
+ * geocentric coordinates on the source ellipsoid, transformed and converted back to geographic
+ * coordinates on the target ellipsoid in a single step.
+ *
+ * The transformation is stored as the affine transformation X' = M * X + T so that
+ * transformations can be exactly inverted and combined (e.g. source to WGS84 to target) into a
+ * single operation.
+ */
+public class HelmertTransformationOperation implements CoordinatesOperation {
+
+  private static final int METHOD_COORDINATE_FRAME = 9607;
+
+  private static final int METHOD_COORDINATE_FRAME_GEOCENTRIC = 1032;
+
+  private static final int METHOD_GEOCENTRIC_TRANSLATIONS = 9603;
+
+  private static final int METHOD_GEOCENTRIC_TRANSLATIONS_GEOCENTRIC = 1031;
+
+  private static final int METHOD_POSITION_VECTOR = 9606;
+
+  private static final int METHOD_POSITION_VECTOR_GEOCENTRIC = 1033;
+
+  private static final double IDENTITY_TOLERANCE = 1e-12;
+
+  private static final double ARC_SECONDS_TO_RADIANS = Math.PI / (180 * 3600);
+
+  /**
+   * Create a coordinate frame rotation transformation (EPSG 9607), the rotations have the
+   * opposite sign to the position vector transformation.
+   *
+   * @param sourceEllipsoid The source ellipsoid.
+   * @param targetEllipsoid The target ellipsoid.
+   * @param dx The x axis translation in metres.
+   * @param dy The y axis translation in metres.
+   * @param dz The z axis translation in metres.
+   * @param rx The x axis rotation in arc-seconds.
+   * @param ry The y axis rotation in arc-seconds.
+   * @param rz The z axis rotation in arc-seconds.
+   * @param ppm The scale difference in parts per million.
+   * @return The transformation.
+   */
+  public static HelmertTransformationOperation coordinateFrame(final Ellipsoid sourceEllipsoid,
+    final Ellipsoid targetEllipsoid, final double dx, final double dy, final double dz,
+    final double rx, final double ry, final double rz, final double ppm) {
+    return positionVector(sourceEllipsoid, targetEllipsoid, dx, dy, dz, -rx, -ry, -rz, ppm);
+  }
+
+  /**
+   * Create a geocentric translations transformation (EPSG 9603).
+   *
+   * @param sourceEllipsoid The source ellipsoid.
+   * @param targetEllipsoid The target ellipsoid.
+   * @param dx The x axis translation in metres.
+   * @param dy The y axis translation in metres.
+   * @param dz The z axis translation in metres.
+   * @return The transformation.
+   */
+  public static HelmertTransformationOperation geocentricTranslations(
+    final Ellipsoid sourceEllipsoid, final Ellipsoid targetEllipsoid, final double dx,
+    final double dy, final double dz) {
+    return positionVector(sourceEllipsoid, targetEllipsoid, dx, dy, dz, 0, 0, 0, 0);
+  }
+
+  private static double getParameter(final Map<ParameterName, ParameterValue> parameterValues,
+    final ParameterName parameterName) {
+    final ParameterValue parameterValue = parameterValues.get(parameterName);
+    if (parameterValue instanceof ParameterValueNumber) {
+      return ((ParameterValueNumber)parameterValue).doubleValue();
+    } else {
+      return 0;
+    }
+  }
+
+  private static double getRotation(final Map<ParameterName, ParameterValue> parameterValues,
+    final ParameterName parameterName) {
+    // Normalized angle values are in degrees
+    return getParameter(parameterValues, parameterName) * 3600;
+  }
+
+  private static double getScaleDifference(
+    final Map<ParameterName, ParameterValue> parameterValues) {
+    final ParameterValue parameterValue = parameterValues.get(ParameterNames.SCALE_DIFFERENCE);
+    if (parameterValue instanceof ParameterValueNumber) {
+      final ParameterValueNumber number = (ParameterValueNumber)parameterValue;
+      if (number.getUnit() instanceof ScaleUnit) {
+        return number.getUnit().toBase(number.getUnitValue()) * 1e6;
+      } else {
+        return number.doubleValue();
+      }
+    } else {
+      return 0;
+    }
+  }
+
+  /**
+   * Create the transformation for an EPSG geocentric translations, position vector or coordinate
+   * frame rotation operation.
+   *
+   * @param coordinateOperation The EPSG coordinate operation.
+   * @param sourceEllipsoid The ellipsoid of the operation's source coordinate system.
+   * @param targetEllipsoid The ellipsoid of the operation's target coordinate system.
+   * @return The transformation or null if the operation's method is not supported.
+   */
+  public static HelmertTransformationOperation newOperation(
+    final CoordinateOperation coordinateOperation, final Ellipsoid sourceEllipsoid,
+    final Ellipsoid targetEllipsoid) {
+    if (coordinateOperation == null || coordinateOperation.getMethod() == null) {
+      return null;
+    }
+    final Authority authority = coordinateOperation.getMethod().getAuthority();
+    if (authority == null) {
+      return null;
+    }
+    final Map<ParameterName, ParameterValue> parameterValues = coordinateOperation
+      .getParameterValues();
+    final double dx = getParameter(parameterValues, ParameterNames.X_AXIS_TRANSLATION);
+    final double dy = getParameter(parameterValues, ParameterNames.Y_AXIS_TRANSLATION);
+    final double dz = getParameter(parameterValues, ParameterNames.Z_AXIS_TRANSLATION);
+    final double rx = getRotation(parameterValues, ParameterNames.X_AXIS_ROTATION);
+    final double ry = getRotation(parameterValues, ParameterNames.Y_AXIS_ROTATION);
+    final double rz = getRotation(parameterValues, ParameterNames.Z_AXIS_ROTATION);
+    final double ppm = getScaleDifference(parameterValues);
+    switch (authority.getId()) {
+      case METHOD_GEOCENTRIC_TRANSLATIONS:
+      case METHOD_GEOCENTRIC_TRANSLATIONS_GEOCENTRIC:
+        return geocentricTranslations(sourceEllipsoid, targetEllipsoid, dx, dy, dz);
+      case METHOD_POSITION_VECTOR:
+      case METHOD_POSITION_VECTOR_GEOCENTRIC:
+        return positionVector(sourceEllipsoid, targetEllipsoid, dx, dy, dz, rx, ry, rz, ppm);
+      case METHOD_COORDINATE_FRAME:
+      case METHOD_COORDINATE_FRAME_GEOCENTRIC:
+        return coordinateFrame(sourceEllipsoid, targetEllipsoid, dx, dy, dz, rx, ry, rz, ppm);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Create a position vector transformation (EPSG 9606).
+   *
+   * @param sourceEllipsoid The source ellipsoid.
+   * @param targetEllipsoid The target ellipsoid.
+   * @param dx The x axis translation in metres.
+   * @param dy The y axis translation in metres.
+   * @param dz The z axis translation in metres.
+   * @param rx The x axis rotation in arc-seconds.
+   * @param ry The y axis rotation in arc-seconds.
+   * @param rz The z axis rotation in arc-seconds.
+   * @param ppm The scale difference in parts per million.
+   * @return The transformation.
+   */
+  public static HelmertTransformationOperation positionVector(final Ellipsoid sourceEllipsoid,
+    final Ellipsoid targetEllipsoid, final double dx, final double dy, final double dz,
+    final double rx, final double ry, final double rz, final double ppm) {
+    final double scale = 1 + ppm * 1e-6;
+    final double rxRadians = rx * ARC_SECONDS_TO_RADIANS;
+    final double ryRadians = ry * ARC_SECONDS_TO_RADIANS;
+    final double rzRadians = rz * ARC_SECONDS_TO_RADIANS;
+    final double[] matrix = {
+      scale, -rzRadians * scale, ryRadians * scale, dx, //
+      rzRadians * scale, scale, -rxRadians * scale, dy, //
+      -ryRadians * scale, rxRadians * scale, scale, dz
+    };
+    return new HelmertTransformationOperation(sourceEllipsoid, targetEllipsoid, matrix);
+  }
+
+  /**
+   * Create the transformation from a WKT TOWGS84 (position vector) to the WGS84 ellipsoid.
+   *
+   * @param toWgs84 The TOWGS84 parameters.
+   * @param sourceEllipsoid The source ellipsoid.
+   * @param wgs84Ellipsoid The WGS84 ellipsoid.
+   * @return The transformation.
+   */
+  public static HelmertTransformationOperation toWgs84(final ToWgs84 toWgs84,
+    final Ellipsoid sourceEllipsoid, final Ellipsoid wgs84Ellipsoid) {
+    return positionVector(sourceEllipsoid, wgs84Ellipsoid, toWgs84.getDx(), toWgs84.getDy(),
+      toWgs84.getDz(), toWgs84.getEx(), toWgs84.getEy(), toWgs84.getEz(), toWgs84.getPpm());
+  }
+
+  private final Ellipsoid sourceEllipsoid;
+
+  private final Ellipsoid targetEllipsoid;
+
+  /** Row major 3x4 matrix [m00 m01 m02 tx, m10 m11 m12 ty, m20 m21 m22 tz]. */
+  private final double[] matrix;
+
+  private final boolean transformHeight;
+
+  private HelmertTransformationOperation(final Ellipsoid sourceEllipsoid,
+    final Ellipsoid targetEllipsoid, final double[] matrix) {
+    this(sourceEllipsoid, targetEllipsoid, matrix, false);
+  }
+
+  private HelmertTransformationOperation(final Ellipsoid sourceEllipsoid,
+    final Ellipsoid targetEllipsoid, final double[] matrix, final boolean transformHeight) {
+    this.sourceEllipsoid = sourceEllipsoid;
+    this.targetEllipsoid = targetEllipsoid;
+    this.matrix = matrix;
+    this.transformHeight = transformHeight;
+  }
+
+  /**
+   * Get the fast approximate {@link AbridgedMolodenskyOperation} for this transformation.
+   *
+   * @return The operation or null if the transformation has rotations or a scale difference.
+   */
+  public AbridgedMolodenskyOperation getAbridgedMolodenskyOperation() {
+    if (isTranslation()) {
+      final double[] m = this.matrix;
+      return new AbridgedMolodenskyOperation(this.sourceEllipsoid, this.targetEllipsoid, m[3],
+        m[7], m[11], this.transformHeight);
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * Get the transformation that reverses this transformation.
+   *
+   * @return The inverse transformation.
+   */
+  public HelmertTransformationOperation getInverseOperation() {
+    final double[] m = this.matrix;
+    final double a = m[0];
+    final double b = m[1];
+    final double c = m[2];
+    final double d = m[4];
+    final double e = m[5];
+    final double f = m[6];
+    final double g = m[8];
+    final double h = m[9];
+    final double i = m[10];
+    final double determinant = a * (e * i - f * h) - b * (d * i - f * g) + c * (d * h - e * g);
+    final double i00 = (e * i - f * h) / determinant;
+    final double i01 = (c * h - b * i) / determinant;
+    final double i02 = (b * f - c * e) / determinant;
+    final double i10 = (f * g - d * i) / determinant;
+    final double i11 = (a * i - c * g) / determinant;
+    final double i12 = (c * d - a * f) / determinant;
+    final double i20 = (d * h - e * g) / determinant;
+    final double i21 = (b * g - a * h) / determinant;
+    final double i22 = (a * e - b * d) / determinant;
+    final double tx = m[3];
+    final double ty = m[7];
+    final double tz = m[11];
+    final double[] inverse = {
+      i00, i01, i02, -(i00 * tx + i01 * ty + i02 * tz), //
+      i10, i11, i12, -(i10 * tx + i11 * ty + i12 * tz), //
+      i20, i21, i22, -(i20 * tx + i21 * ty + i22 * tz)
+    };
+    return new HelmertTransformationOperation(this.targetEllipsoid, this.sourceEllipsoid, inverse,
+      this.transformHeight);
+  }
+
+  public Ellipsoid getSourceEllipsoid() {
+    return this.sourceEllipsoid;
+  }
+
+  public Ellipsoid getTargetEllipsoid() {
+    return this.targetEllipsoid;
+  }
+
+  /**
+   * Check if the transformation doesn't change the coordinates (within rounding error). The
+   * change of ellipsoid is ignored.
+   *
+   * @return True if the geocentric transformation is an identity transformation.
+   */
+  public boolean isIdentity() {
+    if (isTranslation()) {
+      final double[] m = this.matrix;
+      for (int i = 0; i < 3; i++) {
+        if (Math.abs(m[i * 4 + 3]) > IDENTITY_TOLERANCE) {
+          return false;
+        }
+      }
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * Check if the transformation only has translations (no rotations or scale difference).
+   *
+   * @return True if the transformation is a geocentric translation.
+   */
+  public boolean isTranslation() {
+    final double[] m = this.matrix;
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 3; j++) {
+        final double expected = i == j ? 1 : 0;
+        if (Math.abs(m[i * 4 + j] - expected) > IDENTITY_TOLERANCE) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  public boolean isTransformHeight() {
+    return this.transformHeight;
+  }
+
+  @Override
+  public void perform(final CoordinatesOperationPoint point) {
+    final double[] coordinates = {
+      point.x, point.y, point.z
+    };
+    perform(coordinates, 0, coordinates, 0, 1, 3);
+    point.x = coordinates[0];
+    point.y = coordinates[1];
+    point.z = coordinates[2];
+  }
+
+  @Override
+  public void perform(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    final double sourceA = this.sourceEllipsoid.getSemiMajorAxis();
+    final double sourceEs = this.sourceEllipsoid.getEccentricitySquared();
+    final double targetA = this.targetEllipsoid.getSemiMajorAxis();
+    final double targetB = this.targetEllipsoid.getSemiMinorAxis();
+    final double targetEs = this.targetEllipsoid.getEccentricitySquared();
+    final double targetEps = targetEs / (1 - targetEs);
+    final double[] m = this.matrix;
+    final double m00 = m[0];
+    final double m01 = m[1];
+    final double m02 = m[2];
+    final double tx = m[3];
+    final double m10 = m[4];
+    final double m11 = m[5];
+    final double m12 = m[6];
+    final double ty = m[7];
+    final double m20 = m[8];
+    final double m21 = m[9];
+    final double m22 = m[10];
+    final double tz = m[11];
+    final boolean transformHeight = this.transformHeight;
+    final boolean copy = source != target || sourceOffset != targetOffset;
+    int sourceIndex = sourceOffset;
+    int targetIndex = targetOffset;
+    for (int i = 0; i < pointCount; i++) {
+      final double λ = Math.toRadians(source[sourceIndex]);
+      final double φ = Math.toRadians(source[sourceIndex + 1]);
+      double z = Double.NaN;
+      if (axisCount > 2) {
+        z = source[sourceIndex + 2];
+      }
+      final double h = Double.isFinite(z) ? z : 0;
+
+      // Geographic to geocentric on the source ellipsoid
+      final double sinφ = Math.sin(φ);
+      final double cosφ = Math.cos(φ);
+      final double n = sourceA / Math.sqrt(1 - sourceEs * sinφ * sinφ);
+      final double nPlusHcosφ = (n + h) * cosφ;
+      final double x = nPlusHcosφ * Math.cos(λ);
+      final double y = nPlusHcosφ * Math.sin(λ);
+      final double zc = (n * (1 - sourceEs) + h) * sinφ;
+
+      // Helmert transformation
+      final double x2 = m00 * x + m01 * y + m02 * zc + tx;
+      final double y2 = m10 * x + m11 * y + m12 * zc + ty;
+      final double z2 = m20 * x + m21 * y + m22 * zc + tz;
+
+      // Geocentric to geographic on the target ellipsoid (Bowring)
+      final double p = Math.sqrt(x2 * x2 + y2 * y2);
+      final double θ = Math.atan2(z2 * targetA, p * targetB);
+      final double sinθ = Math.sin(θ);
+      final double cosθ = Math.cos(θ);
+      final double φ2 = Math.atan2(z2 + targetEps * targetB * sinθ * sinθ * sinθ,
+        p - targetEs * targetA * cosθ * cosθ * cosθ);
+      final double λ2 = Math.atan2(y2, x2);
+
+      target[targetIndex] = Math.toDegrees(λ2);
+      target[targetIndex + 1] = Math.toDegrees(φ2);
+      if (axisCount > 2) {
+        if (transformHeight && Double.isFinite(z)) {
+          final double sinφ2 = Math.sin(φ2);
+          final double cosφ2 = Math.cos(φ2);
+          final double n2 = targetA / Math.sqrt(1 - targetEs * sinφ2 * sinφ2);
+          if (Math.abs(cosφ2) < 1e-10) {
+            target[targetIndex + 2] = Math.abs(z2) - targetB;
+          } else {
+            target[targetIndex + 2] = p / cosφ2 - n2;
+          }
+        } else {
+          target[targetIndex + 2] = z;
+        }
+        if (copy) {
+          for (int axisIndex = 3; axisIndex < axisCount; axisIndex++) {
+            target[targetIndex + axisIndex] = source[sourceIndex + axisIndex];
+          }
+        }
+      }
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
+  /**
+   * Create a new transformation that is the same as performing this transformation followed by
+   * the next transformation. The target ellipsoid of this transformation and the source ellipsoid
+   * of the next transformation are not used.
+   *
+   * @param next The transformation to perform after this transformation.
+   * @return The combined transformation.
+   */
+  public HelmertTransformationOperation then(final HelmertTransformationOperation next) {
+    final double[] a = next.matrix;
+    final double[] b = this.matrix;
+    final double[] matrix = new double[12];
+    for (int row = 0; row < 3; row++) {
+      for (int column = 0; column < 4; column++) {
+        double value = 0;
+        for (int k = 0; k < 3; k++) {
+          value += a[row * 4 + k] * b[k * 4 + column];
+        }
+        if (column == 3) {
+          value += a[row * 4 + 3];
+        }
+        matrix[row * 4 + column] = value;
+      }
+    }
+    return new HelmertTransformationOperation(this.sourceEllipsoid, next.targetEllipsoid, matrix,
+      this.transformHeight && next.transformHeight);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder string = new StringBuilder("helmert(");
+    for (int i = 0; i < this.matrix.length; i++) {
+      if (i > 0) {
+        if (i % 4 == 0) {
+          string.append(", ");
+        } else {
+          string.append(' ');
+        }
+      }
+      string.append(Doubles.toString(this.matrix[i]));
+    }
+    string.append(')');
+    return string.toString();
+  }
+
+  /**
+   * Create a copy of this transformation that also transforms the ellipsoidal height. By default
+   * the height is copied unchanged as 2D coordinate systems don't have ellipsoidal heights.
+   *
+   * @param transformHeight True if the height is transformed.
+   * @return The transformation.
+   */
+  public HelmertTransformationOperation withTransformHeight(final boolean transformHeight) {
+    if (transformHeight == this.transformHeight) {
+      return this;
+    } else {
+      return new HelmertTransformationOperation(this.sourceEllipsoid, this.targetEllipsoid,
+        this.matrix, transformHeight);
+    }
+  }
+}
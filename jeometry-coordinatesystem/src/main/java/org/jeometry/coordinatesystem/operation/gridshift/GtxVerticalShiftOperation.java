@@ -0,0 +1,206 @@
+package org.jeometry.coordinatesystem.operation.gridshift;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.jeometry.coordinatesystem.operation.CoordinatesOperationPoint;
+
+/**
+ * Vertical shift using a GTX geoid or vertical offset grid. The file is memory-mapped and the
+ * offset is bilinearly interpolated from the mapped buffer. The coordinates are longitude,
+ * latitude in degrees and the height in the units of the grid (normally metres).
+ *
+ * The shifted height is z + multiplier * offset. For a geoid grid a multiplier of -1 converts
+ * ellipsoidal heights to orthometric heights (H = h - N), 1 converts orthometric heights to
+ * ellipsoidal heights.
+ */
+public class GtxVerticalShiftOperation implements VerticalShiftOperation {
+
+  private static final int HEADER_SIZE = 40;
+
+  private static final double NO_DATA = -88.8888;
+
+  public static GtxVerticalShiftOperation ellipsoidalToOrthometric(final Path file)
+    throws IOException {
+    return new GtxVerticalShiftOperation(file, -1);
+  }
+
+  private static MappedByteBuffer map(final Path file) throws IOException {
+    try (
+      FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return channel.map(MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  public static GtxVerticalShiftOperation orthometricToEllipsoidal(final Path file)
+    throws IOException {
+    return new GtxVerticalShiftOperation(file, 1);
+  }
+
+  private final ByteBuffer buffer;
+
+  private final int columnCount;
+
+  private final double latInc;
+
+  private final double lonInc;
+
+  private final double minLat;
+
+  private final double minLon;
+
+  private final double multiplier;
+
+  private final String name;
+
+  private final int rowCount;
+
+  private GtxVerticalShiftOperation(final GtxVerticalShiftOperation operation,
+    final double multiplier) {
+    this.name = operation.name;
+    this.buffer = operation.buffer;
+    this.minLat = operation.minLat;
+    this.minLon = operation.minLon;
+    this.latInc = operation.latInc;
+    this.lonInc = operation.lonInc;
+    this.rowCount = operation.rowCount;
+    this.columnCount = operation.columnCount;
+    this.multiplier = multiplier;
+  }
+
+  public GtxVerticalShiftOperation(final Path file, final double multiplier) throws IOException {
+    this(file.getFileName().toString(), map(file), multiplier);
+  }
+
+  public GtxVerticalShiftOperation(final String name, final ByteBuffer buffer,
+    final double multiplier) {
+    this.name = name;
+    this.buffer = buffer.order(ByteOrder.BIG_ENDIAN);
+    this.minLat = buffer.getDouble(0);
+    double minLon = buffer.getDouble(8);
+    if (minLon >= 180) {
+      minLon -= 360;
+    }
+    this.minLon = minLon;
+    this.latInc = buffer.getDouble(16);
+    this.lonInc = buffer.getDouble(24);
+    this.rowCount = buffer.getInt(32);
+    this.columnCount = buffer.getInt(36);
+    this.multiplier = multiplier;
+    if (this.rowCount < 1 || this.columnCount < 1 || this.latInc <= 0 || this.lonInc <= 0
+      || buffer.capacity() < HEADER_SIZE + (long)this.rowCount * this.columnCount * 4) {
+      throw new IllegalArgumentException(name + " is not a GTX file");
+    }
+  }
+
+  /**
+   * Get the operation that reverses this vertical shift.
+   *
+   * @return The inverse operation.
+   */
+  @Override
+  public GtxVerticalShiftOperation getInverseOperation() {
+    return new GtxVerticalShiftOperation(this, -this.multiplier);
+  }
+
+  public double getMultiplier() {
+    return this.multiplier;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Get the interpolated offset at the point.
+   *
+   * @param lon The longitude in degrees.
+   * @param lat The latitude in degrees.
+   * @return The offset or NaN if the point is outside the grid or a node has no data.
+   */
+  public double getOffset(final double lon, final double lat) {
+    final double gridY = (lat - this.minLat) / this.latInc;
+    double gridX = (lon - this.minLon) / this.lonInc;
+    if (gridX < 0) {
+      gridX += 360 / this.lonInc;
+    } else if (gridX > this.columnCount - 1) {
+      gridX -= 360 / this.lonInc;
+    }
+    final int rowCount = this.rowCount;
+    final int columnCount = this.columnCount;
+    if (gridX < 0 || gridX > columnCount - 1 || gridY < 0 || gridY > rowCount - 1) {
+      return Double.NaN;
+    } else {
+      final int column = Math.min((int)gridX, Math.max(0, columnCount - 2));
+      final int row = Math.min((int)gridY, Math.max(0, rowCount - 2));
+      final int column1 = Math.min(column + 1, columnCount - 1);
+      final int row1 = Math.min(row + 1, rowCount - 1);
+      final double fx = gridX - column;
+      final double fy = gridY - row;
+      final ByteBuffer buffer = this.buffer;
+      final double v00 = buffer.getFloat(HEADER_SIZE + (row * columnCount + column) * 4);
+      final double v10 = buffer.getFloat(HEADER_SIZE + (row * columnCount + column1) * 4);
+      final double v01 = buffer.getFloat(HEADER_SIZE + (row1 * columnCount + column) * 4);
+      final double v11 = buffer.getFloat(HEADER_SIZE + (row1 * columnCount + column1) * 4);
+      if (isNoData(v00) || isNoData(v10) || isNoData(v01) || isNoData(v11)) {
+        return Double.NaN;
+      } else {
+        return v00 + (v10 - v00) * fx + (v01 - v00) * fy + (v00 - v10 - v01 + v11) * fx * fy;
+      }
+    }
+  }
+
+  private boolean isNoData(final double value) {
+    return Math.abs(value - NO_DATA) < 1e-4;
+  }
+
+  @Override
+  public void perform(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    final double multiplier = this.multiplier;
+    int sourceIndex = sourceOffset;
+    int targetIndex = targetOffset;
+    for (int i = 0; i < pointCount; i++) {
+      final double lon = source[sourceIndex];
+      final double lat = source[sourceIndex + 1];
+      target[targetIndex] = lon;
+      target[targetIndex + 1] = lat;
+      if (axisCount > 2) {
+        final double z = source[sourceIndex + 2];
+        final double offset = getOffset(lon, lat);
+        if (Double.isNaN(offset)) {
+          target[targetIndex + 2] = z;
+        } else {
+          target[targetIndex + 2] = z + multiplier * offset;
+        }
+        for (int axisIndex = 3; axisIndex < axisCount; axisIndex++) {
+          target[targetIndex + axisIndex] = source[sourceIndex + axisIndex];
+        }
+      }
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "GTX " + this.name;
+  }
+
+  @Override
+  public boolean verticalShift(final CoordinatesOperationPoint point) {
+    final double offset = getOffset(point.x, point.y);
+    if (Double.isNaN(offset)) {
+      return false;
+    } else {
+      point.z += this.multiplier * offset;
+      return true;
+    }
+  }
+}
@@ -5,6 +5,15 @@ import org.jeometry.coordinatesystem.operation.CoordinatesOperationPoint;
 
 public interface HorizontalShiftOperation extends CoordinatesOperation {
 
+  /**
+   * Get the extent covered by the shift as minLon, minLat, maxLon, maxLat in degrees.
+   *
+   * @return The bounds or null if the extent is not known.
+   */
+  default double[] getBounds() {
+    return null;
+  }
+
   boolean horizontalShift(CoordinatesOperationPoint point);
 
   @Override
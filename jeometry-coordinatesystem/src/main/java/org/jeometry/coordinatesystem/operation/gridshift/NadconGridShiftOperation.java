@@ -0,0 +1,373 @@
+package org.jeometry.coordinatesystem.operation.gridshift;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import org.jeometry.common.collection.map.LruMap;
+import org.jeometry.coordinatesystem.model.Authority;
+import org.jeometry.coordinatesystem.model.CoordinateOperation;
+import org.jeometry.coordinatesystem.model.ParameterName;
+import org.jeometry.coordinatesystem.model.ParameterValue;
+import org.jeometry.coordinatesystem.operation.CoordinatesOperationPoint;
+
+/**
+ * Horizontal grid shift using a pair of NADCON latitude (.las) and longitude (.los) binary grid
+ * files. The coordinates are longitude, latitude in degrees.
+ *
+ * The grids are read in tiles of {@link #TILE_ROW_COUNT} rows which are stored in an LRU cache
+ * shared by all the NADCON grids and threads, so the memory used stays bounded no matter how many
+ * grids are in use. The size of the cache can be changed with {@link #setTileCacheSize(int)}.
+ */
+public class NadconGridShiftOperation implements HorizontalShiftOperation {
+  private static class TileKey {
+    private final NadconGridShiftOperation operation;
+
+    private final int tileIndex;
+
+    private TileKey(final NadconGridShiftOperation operation, final int tileIndex) {
+      this.operation = operation;
+      this.tileIndex = tileIndex;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+      if (object instanceof TileKey) {
+        final TileKey key = (TileKey)object;
+        return this.operation == key.operation && this.tileIndex == key.tileIndex;
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(this.operation) * 31 + this.tileIndex;
+    }
+  }
+
+  /** The last tiles used by one shift or batch of shifts. */
+  private static class TileReader {
+    private int tileIndex1 = -1;
+
+    private float[] tile1;
+
+    private int tileIndex2 = -1;
+
+    private float[] tile2;
+  }
+
+  private static final int HEADER_SIZE = 96;
+
+  public static final int METHOD_ID = 9613;
+
+  public static final int TILE_ROW_COUNT = 32;
+
+  private static final LruMap<TileKey, float[]> TILES = new LruMap<>(256);
+
+  /**
+   * Create the NADCON grid shift for an EPSG coordinate operation using the NADCON method (9613).
+   * The .las and .los files referenced by the parameters are loaded from the grid directory.
+   *
+   * @param coordinateOperation The coordinate operation.
+   * @param gridDirectory The directory containing the grid files.
+   * @return The operation or null if the coordinate operation has no method or does not use the
+   * NADCON method.
+   * @throws IOException If the grid files could not be read.
+   */
+  public static NadconGridShiftOperation newOperation(
+    final CoordinateOperation coordinateOperation, final Path gridDirectory) throws IOException {
+    if (coordinateOperation == null || coordinateOperation.getMethod() == null) {
+      return null;
+    }
+    final Authority authority = coordinateOperation.getMethod().getAuthority();
+    if (authority != null && authority.getId() == METHOD_ID) {
+      String latitudeFile = null;
+      String longitudeFile = null;
+      for (final Map.Entry<ParameterName, ParameterValue> entry : coordinateOperation
+        .getParameterValues()
+        .entrySet()) {
+        final Object value = entry.getValue().getValue();
+        if (value instanceof String) {
+          final String fileName = (String)value;
+          final String lowerFileName = fileName.toLowerCase();
+          if (lowerFileName.endsWith(".las")) {
+            latitudeFile = fileName;
+          } else if (lowerFileName.endsWith(".los")) {
+            longitudeFile = fileName;
+          }
+        }
+      }
+      if (latitudeFile != null && longitudeFile != null) {
+        return new NadconGridShiftOperation(gridDirectory.resolve(latitudeFile),
+          gridDirectory.resolve(longitudeFile));
+      }
+    }
+    return null;
+  }
+
+  private static ByteBuffer read(final Path file, final long position, final int size)
+    throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    try (
+      FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, position + buffer.position()) < 0) {
+          throw new IOException("Unexpected end of file " + file);
+        }
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  public static void setTileCacheSize(final int tileCacheSize) {
+    synchronized (TILES) {
+      TILES.setMaxSize(tileCacheSize);
+      while (TILES.size() > tileCacheSize) {
+        TILES.remove(TILES.keySet().iterator().next());
+      }
+    }
+  }
+
+  private final int columnCount;
+
+  private final double latInc;
+
+  private final Path latitudeFile;
+
+  private final double lonInc;
+
+  private final Path longitudeFile;
+
+  private final double maxLat;
+
+  private final double maxLon;
+
+  private final double minLat;
+
+  private final double minLon;
+
+  private final int recordSize;
+
+  private final int rowCount;
+
+  public NadconGridShiftOperation(final Path latitudeFile, final Path longitudeFile)
+    throws IOException {
+    this.latitudeFile = latitudeFile;
+    this.longitudeFile = longitudeFile;
+    final ByteBuffer header = read(latitudeFile, 0, HEADER_SIZE);
+    this.columnCount = header.getInt(64);
+    this.rowCount = header.getInt(68);
+    this.minLon = header.getFloat(76);
+    this.lonInc = header.getFloat(80);
+    this.minLat = header.getFloat(84);
+    this.latInc = header.getFloat(88);
+    this.maxLon = this.minLon + (this.columnCount - 1) * this.lonInc;
+    this.maxLat = this.minLat + (this.rowCount - 1) * this.latInc;
+    this.recordSize = (this.columnCount + 1) * 4;
+    if (this.columnCount < 2 || this.rowCount < 2 || this.lonInc <= 0 || this.latInc <= 0) {
+      throw new IllegalArgumentException(latitudeFile + " is not a NADCON grid file");
+    }
+    final ByteBuffer longitudeHeader = read(longitudeFile, 0, HEADER_SIZE);
+    if (longitudeHeader.getInt(64) != this.columnCount
+      || longitudeHeader.getInt(68) != this.rowCount) {
+      throw new IllegalArgumentException(
+        latitudeFile + " and " + longitudeFile + " do not have the same grid size");
+    }
+  }
+
+  @Override
+  public double[] getBounds() {
+    return new double[] {
+      this.minLon, this.minLat, this.maxLon, this.maxLat
+    };
+  }
+
+  /**
+   * Get the operation that reverses this grid shift.
+   *
+   * @return The inverse operation.
+   */
+  public HorizontalShiftOperation getInverseOperation() {
+    return this::horizontalShiftInverse;
+  }
+
+  public Path getLatitudeFile() {
+    return this.latitudeFile;
+  }
+
+  public Path getLongitudeFile() {
+    return this.longitudeFile;
+  }
+
+  private float[] getRow(final TileReader reader, final int row) {
+    final int tileIndex = row / TILE_ROW_COUNT;
+    if (reader.tileIndex1 == tileIndex) {
+      return reader.tile1;
+    } else if (reader.tileIndex2 == tileIndex) {
+      return reader.tile2;
+    } else {
+      final float[] tile = getTile(tileIndex);
+      reader.tileIndex2 = reader.tileIndex1;
+      reader.tile2 = reader.tile1;
+      reader.tileIndex1 = tileIndex;
+      reader.tile1 = tile;
+      return tile;
+    }
+  }
+
+  /**
+   * Get the interpolated shift in seconds (latitude, longitude positive west) at the point.
+   */
+  private boolean getShift(final TileReader reader, final double lon, final double lat,
+    final double[] shift) {
+    if (lon < this.minLon || lon > this.maxLon || lat < this.minLat || lat > this.maxLat) {
+      return false;
+    } else {
+      final double gridX = (lon - this.minLon) / this.lonInc;
+      final double gridY = (lat - this.minLat) / this.latInc;
+      final int column = Math.min((int)gridX, this.columnCount - 2);
+      final int row = Math.min((int)gridY, this.rowCount - 2);
+      final double fx = gridX - column;
+      final double fy = gridY - row;
+      final float[] tile0 = getRow(reader, row);
+      final float[] tile1 = getRow(reader, row + 1);
+      final int columnCount = this.columnCount;
+      final int offset0 = ((row % TILE_ROW_COUNT) * columnCount + column) * 2;
+      final int offset1 = (((row + 1) % TILE_ROW_COUNT) * columnCount + column) * 2;
+      for (int i = 0; i < 2; i++) {
+        final double v00 = tile0[offset0 + i];
+        final double v10 = tile0[offset0 + 2 + i];
+        final double v01 = tile1[offset1 + i];
+        final double v11 = tile1[offset1 + 2 + i];
+        shift[i] = v00 + (v10 - v00) * fx + (v01 - v00) * fy + (v00 - v10 - v01 + v11) * fx * fy;
+      }
+      return true;
+    }
+  }
+
+  private float[] getTile(final int tileIndex) {
+    final TileKey key = new TileKey(this, tileIndex);
+    synchronized (TILES) {
+      final float[] tile = TILES.get(key);
+      if (tile != null) {
+        return tile;
+      }
+    }
+    final float[] tile = readTile(tileIndex);
+    synchronized (TILES) {
+      TILES.put(key, tile);
+    }
+    return tile;
+  }
+
+  @Override
+  public boolean horizontalShift(final CoordinatesOperationPoint point) {
+    final double[] shift = new double[2];
+    if (getShift(new TileReader(), point.x, point.y, shift)) {
+      point.x -= shift[1] / 3600;
+      point.y += shift[0] / 3600;
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * Reverse the grid shift by iterating until the forward shift of the result is within
+   * 1e-6 seconds of the point.
+   *
+   * @param point The point.
+   * @return True if the point was in the grid.
+   */
+  public boolean horizontalShiftInverse(final CoordinatesOperationPoint point) {
+    final TileReader reader = new TileReader();
+    final double lon = point.x;
+    final double lat = point.y;
+    final double[] shift = new double[2];
+    double resultLon = lon;
+    double resultLat = lat;
+    for (int i = 0; i < 10; i++) {
+      if (!getShift(reader, resultLon, resultLat, shift)) {
+        return false;
+      }
+      final double deltaLon = lon - (resultLon - shift[1] / 3600);
+      final double deltaLat = lat - (resultLat + shift[0] / 3600);
+      resultLon += deltaLon;
+      resultLat += deltaLat;
+      if (Math.abs(deltaLon) * 3600 < 1e-6 && Math.abs(deltaLat) * 3600 < 1e-6) {
+        break;
+      }
+    }
+    point.x = resultLon;
+    point.y = resultLat;
+    return true;
+  }
+
+  @Override
+  public void perform(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    final TileReader reader = new TileReader();
+    final double[] shift = new double[2];
+    int sourceIndex = sourceOffset;
+    int targetIndex = targetOffset;
+    for (int i = 0; i < pointCount; i++) {
+      final double lon = source[sourceIndex];
+      final double lat = source[sourceIndex + 1];
+      if (getShift(reader, lon, lat, shift)) {
+        target[targetIndex] = lon - shift[1] / 3600;
+        target[targetIndex + 1] = lat + shift[0] / 3600;
+      } else {
+        target[targetIndex] = lon;
+        target[targetIndex + 1] = lat;
+      }
+      for (int axisIndex = 2; axisIndex < axisCount; axisIndex++) {
+        target[targetIndex + axisIndex] = source[sourceIndex + axisIndex];
+      }
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
+  /**
+   * Read the rows for the tile from the .las and .los files. Each row record starts with a 4 byte
+   * value followed by the columnCount float values.
+   */
+  private float[] readTile(final int tileIndex) {
+    final int firstRow = tileIndex * TILE_ROW_COUNT;
+    final int tileRowCount = Math.min(TILE_ROW_COUNT, this.rowCount - firstRow);
+    final int columnCount = this.columnCount;
+    final int recordSize = this.recordSize;
+    final long position = (long)(firstRow + 1) * recordSize;
+    final int size = tileRowCount * recordSize;
+    final float[] tile = new float[tileRowCount * columnCount * 2];
+    try {
+      final ByteBuffer latitudes = read(this.latitudeFile, position, size);
+      final ByteBuffer longitudes = read(this.longitudeFile, position, size);
+      int index = 0;
+      for (int row = 0; row < tileRowCount; row++) {
+        int offset = row * recordSize + 4;
+        for (int column = 0; column < columnCount; column++) {
+          tile[index++] = latitudes.getFloat(offset);
+          tile[index++] = longitudes.getFloat(offset);
+          offset += 4;
+        }
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Cannot read NADCON tile " + tileIndex + " from "
+        + this.latitudeFile, e);
+    }
+    return tile;
+  }
+
+  @Override
+  public String toString() {
+    return "NADCON " + this.latitudeFile.getFileName();
+  }
+}
@@ -0,0 +1,376 @@
+package org.jeometry.coordinatesystem.operation.gridshift;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jeometry.coordinatesystem.operation.CoordinatesOperationPoint;
+
+/**
+ * Horizontal grid shift using an NTv2 (.gsb) file. The file is memory-mapped and only the headers
+ * are read when it is opened; the shifts are interpolated directly from the mapped buffer. The
+ * coordinates are longitude, latitude in degrees.
+ *
+ * The most detailed sub-grid containing a point is used. Points outside all the grids are not
+ * changed and {@link #horizontalShift(CoordinatesOperationPoint)} returns false.
+ */
+public class Ntv2GridShiftOperation implements HorizontalShiftOperation {
+  private static class SubGrid {
+    private final List<SubGrid> children = new ArrayList<>();
+
+    private final int columnCount;
+
+    private final int dataOffset;
+
+    private final double eastLon;
+
+    private final double latInc;
+
+    private final double lonInc;
+
+    private final String name;
+
+    private final double northLat;
+
+    private final String parentName;
+
+    private final int rowCount;
+
+    private final double southLat;
+
+    private final double westLon;
+
+    private SubGrid(final String name, final String parentName, final double southLat,
+      final double northLat, final double eastLon, final double westLon, final double latInc,
+      final double lonInc, final int nodeCount, final int dataOffset) {
+      this.name = name;
+      this.parentName = parentName;
+      this.southLat = southLat;
+      this.northLat = northLat;
+      this.eastLon = eastLon;
+      this.westLon = westLon;
+      this.latInc = latInc;
+      this.lonInc = lonInc;
+      this.rowCount = (int)Math.round((northLat - southLat) / latInc) + 1;
+      this.columnCount = (int)Math.round((westLon - eastLon) / lonInc) + 1;
+      this.dataOffset = dataOffset;
+      if (this.rowCount * this.columnCount != nodeCount) {
+        throw new IllegalArgumentException("NTv2 sub-grid " + name + " has " + nodeCount
+          + " nodes, expecting " + this.rowCount + "x" + this.columnCount);
+      }
+    }
+
+    private boolean contains(final double lat, final double lonWest) {
+      return this.southLat <= lat && lat <= this.northLat && this.eastLon <= lonWest
+        && lonWest <= this.westLon;
+    }
+
+    private SubGrid getSubGrid(final double lat, final double lonWest) {
+      for (final SubGrid child : this.children) {
+        if (child.contains(lat, lonWest)) {
+          return child.getSubGrid(lat, lonWest);
+        }
+      }
+      return this;
+    }
+
+    @Override
+    public String toString() {
+      return this.name;
+    }
+  }
+
+  private static final int RECORD_SIZE = 16;
+
+  private static final int NODE_SIZE = 16;
+
+  private static double getDouble(final ByteBuffer buffer, final int recordOffset) {
+    return buffer.getDouble(recordOffset + 8);
+  }
+
+  private static int getInt(final ByteBuffer buffer, final int recordOffset) {
+    return buffer.getInt(recordOffset + 8);
+  }
+
+  private static String getString(final ByteBuffer buffer, final int recordOffset) {
+    final byte[] bytes = new byte[8];
+    buffer.get(recordOffset + 8, bytes);
+    return new String(bytes, StandardCharsets.US_ASCII).trim();
+  }
+
+  private static MappedByteBuffer map(final Path file) throws IOException {
+    try (
+      FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return channel.map(MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  private final ByteBuffer buffer;
+
+  private final List<SubGrid> grids = new ArrayList<>();
+
+  private final String name;
+
+  private final String sourceName;
+
+  private final String targetName;
+
+  /**
+   * Shift units in seconds.
+   */
+  private final double unitSeconds;
+
+  public Ntv2GridShiftOperation(final Path file) throws IOException {
+    this(file.getFileName().toString(), map(file));
+  }
+
+  public Ntv2GridShiftOperation(final String name, final ByteBuffer buffer) {
+    this.name = name;
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    if (buffer.getInt(8) != 11) {
+      buffer.order(ByteOrder.BIG_ENDIAN);
+    }
+    if (buffer.getInt(8) != 11) {
+      throw new IllegalArgumentException(name + " is not an NTv2 file");
+    }
+    this.buffer = buffer;
+    final int headerCount = getInt(buffer, 0);
+    final int subGridHeaderCount = getInt(buffer, RECORD_SIZE);
+    final int subGridCount = getInt(buffer, 2 * RECORD_SIZE);
+    final String gsType = getString(buffer, 3 * RECORD_SIZE).toUpperCase();
+    if (gsType.startsWith("MINUTE")) {
+      this.unitSeconds = 60;
+    } else if (gsType.startsWith("DEGREE")) {
+      this.unitSeconds = 3600;
+    } else {
+      this.unitSeconds = 1;
+    }
+    this.sourceName = getString(buffer, 5 * RECORD_SIZE);
+    this.targetName = getString(buffer, 6 * RECORD_SIZE);
+
+    final Map<String, SubGrid> gridByName = new LinkedHashMap<>();
+    int offset = headerCount * RECORD_SIZE;
+    for (int i = 0; i < subGridCount; i++) {
+      final String subGridName = getString(buffer, offset);
+      final String parentName = getString(buffer, offset + RECORD_SIZE);
+      final double unitSeconds = this.unitSeconds;
+      final double southLat = getDouble(buffer, offset + 4 * RECORD_SIZE) * unitSeconds;
+      final double northLat = getDouble(buffer, offset + 5 * RECORD_SIZE) * unitSeconds;
+      final double eastLon = getDouble(buffer, offset + 6 * RECORD_SIZE) * unitSeconds;
+      final double westLon = getDouble(buffer, offset + 7 * RECORD_SIZE) * unitSeconds;
+      final double latInc = getDouble(buffer, offset + 8 * RECORD_SIZE) * unitSeconds;
+      final double lonInc = getDouble(buffer, offset + 9 * RECORD_SIZE) * unitSeconds;
+      final int nodeCount = getInt(buffer, offset + 10 * RECORD_SIZE);
+      final int dataOffset = offset + subGridHeaderCount * RECORD_SIZE;
+      final SubGrid grid = new SubGrid(subGridName, parentName, southLat, northLat, eastLon,
+        westLon, latInc, lonInc, nodeCount, dataOffset);
+      gridByName.put(subGridName, grid);
+      offset = dataOffset + nodeCount * NODE_SIZE;
+    }
+    for (final SubGrid grid : gridByName.values()) {
+      final SubGrid parent = gridByName.get(grid.parentName);
+      if (parent == null || "NONE".equalsIgnoreCase(grid.parentName)) {
+        this.grids.add(grid);
+      } else {
+        parent.children.add(grid);
+      }
+    }
+  }
+
+  /**
+   * Get the operation that reverses this grid shift.
+   *
+   * @return The inverse operation.
+   */
+  public HorizontalShiftOperation getInverseOperation() {
+    return this::horizontalShiftInverse;
+  }
+
+  @Override
+  public double[] getBounds() {
+    double minLon = Double.POSITIVE_INFINITY;
+    double minLat = Double.POSITIVE_INFINITY;
+    double maxLon = Double.NEGATIVE_INFINITY;
+    double maxLat = Double.NEGATIVE_INFINITY;
+    for (final SubGrid grid : this.grids) {
+      minLon = Math.min(minLon, -grid.westLon / 3600);
+      maxLon = Math.max(maxLon, -grid.eastLon / 3600);
+      minLat = Math.min(minLat, grid.southLat / 3600);
+      maxLat = Math.max(maxLat, grid.northLat / 3600);
+    }
+    if (minLon > maxLon) {
+      return null;
+    } else {
+      return new double[] {
+        minLon, minLat, maxLon, maxLat
+      };
+    }
+  }
+
+  public String getName() {
+    return this.name;
+  }
+
+  public String getSourceName() {
+    return this.sourceName;
+  }
+
+  public List<String> getSubGridNames() {
+    final List<String> names = new ArrayList<>();
+    addSubGridNames(names, this.grids);
+    return Collections.unmodifiableList(names);
+  }
+
+  private void addSubGridNames(final List<String> names, final List<SubGrid> grids) {
+    for (final SubGrid grid : grids) {
+      names.add(grid.name);
+      addSubGridNames(names, grid.children);
+    }
+  }
+
+  private SubGrid getSubGrid(final double lat, final double lonWest) {
+    for (final SubGrid grid : this.grids) {
+      if (grid.contains(lat, lonWest)) {
+        return grid.getSubGrid(lat, lonWest);
+      }
+    }
+    return null;
+  }
+
+  public String getTargetName() {
+    return this.targetName;
+  }
+
+  /**
+   * Get the interpolated shift in seconds (latitude, longitude positive west) at the point.
+   *
+   * @param lat The latitude in seconds.
+   * @param lonWest The longitude in seconds positive west.
+   * @param shift The array to store the latitude and longitude shift in.
+   * @return True if the point was in a grid.
+   */
+  private boolean getShift(final double lat, final double lonWest, final double[] shift) {
+    final SubGrid grid = getSubGrid(lat, lonWest);
+    if (grid == null) {
+      return false;
+    } else {
+      final double gridX = (lonWest - grid.eastLon) / grid.lonInc;
+      final double gridY = (lat - grid.southLat) / grid.latInc;
+      int column = (int)gridX;
+      int row = (int)gridY;
+      if (column >= grid.columnCount - 1) {
+        column = Math.max(0, grid.columnCount - 2);
+      }
+      if (row >= grid.rowCount - 1) {
+        row = Math.max(0, grid.rowCount - 2);
+      }
+      final double fx = gridX - column;
+      final double fy = gridY - row;
+      final int columnCount = grid.columnCount;
+      final int column1 = Math.min(column + 1, columnCount - 1);
+      final int row1 = Math.min(row + 1, grid.rowCount - 1);
+      final ByteBuffer buffer = this.buffer;
+      final int dataOffset = grid.dataOffset;
+      final int offset00 = dataOffset + (row * columnCount + column) * NODE_SIZE;
+      final int offset10 = dataOffset + (row * columnCount + column1) * NODE_SIZE;
+      final int offset01 = dataOffset + (row1 * columnCount + column) * NODE_SIZE;
+      final int offset11 = dataOffset + (row1 * columnCount + column1) * NODE_SIZE;
+      for (int i = 0; i < 2; i++) {
+        final int valueOffset = i * 4;
+        final double v00 = buffer.getFloat(offset00 + valueOffset);
+        final double v10 = buffer.getFloat(offset10 + valueOffset);
+        final double v01 = buffer.getFloat(offset01 + valueOffset);
+        final double v11 = buffer.getFloat(offset11 + valueOffset);
+        shift[i] = (v00 + (v10 - v00) * fx + (v01 - v00) * fy + (v00 - v10 - v01 + v11) * fx * fy)
+          * this.unitSeconds;
+      }
+      return true;
+    }
+  }
+
+  @Override
+  public boolean horizontalShift(final CoordinatesOperationPoint point) {
+    final double lat = point.y * 3600;
+    final double lonWest = -point.x * 3600;
+    final double[] shift = new double[2];
+    if (getShift(lat, lonWest, shift)) {
+      point.y = (lat + shift[0]) / 3600;
+      point.x = -(lonWest + shift[1]) / 3600;
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * Reverse the grid shift by iterating until the forward shift of the result is within
+   * 1e-6 seconds of the point.
+   *
+   * @param point The point.
+   * @return True if the point was in a grid.
+   */
+  public boolean horizontalShiftInverse(final CoordinatesOperationPoint point) {
+    final double lat = point.y * 3600;
+    final double lonWest = -point.x * 3600;
+    final double[] shift = new double[2];
+    double resultLat = lat;
+    double resultLonWest = lonWest;
+    for (int i = 0; i < 10; i++) {
+      if (!getShift(resultLat, resultLonWest, shift)) {
+        return false;
+      }
+      final double deltaLat = lat - (resultLat + shift[0]);
+      final double deltaLon = lonWest - (resultLonWest + shift[1]);
+      resultLat += deltaLat;
+      resultLonWest += deltaLon;
+      if (Math.abs(deltaLat) < 1e-6 && Math.abs(deltaLon) < 1e-6) {
+        break;
+      }
+    }
+    point.y = resultLat / 3600;
+    point.x = -resultLonWest / 3600;
+    return true;
+  }
+
+  @Override
+  public void perform(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    final double[] shift = new double[2];
+    int sourceIndex = sourceOffset;
+    int targetIndex = targetOffset;
+    for (int i = 0; i < pointCount; i++) {
+      final double lon = source[sourceIndex];
+      final double lat = source[sourceIndex + 1];
+      final double latSeconds = lat * 3600;
+      final double lonWest = -lon * 3600;
+      if (getShift(latSeconds, lonWest, shift)) {
+        target[targetIndex] = -(lonWest + shift[1]) / 3600;
+        target[targetIndex + 1] = (latSeconds + shift[0]) / 3600;
+      } else {
+        target[targetIndex] = lon;
+        target[targetIndex + 1] = lat;
+      }
+      for (int axisIndex = 2; axisIndex < axisCount; axisIndex++) {
+        target[targetIndex + axisIndex] = source[sourceIndex + axisIndex];
+      }
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "NTv2 " + this.name;
+  }
+}
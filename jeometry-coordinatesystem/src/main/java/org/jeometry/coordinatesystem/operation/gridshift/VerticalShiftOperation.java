@@ -5,6 +5,15 @@ import org.jeometry.coordinatesystem.operation.CoordinatesOperationPoint;
 
 public interface VerticalShiftOperation extends CoordinatesOperation {
 
+  /**
+   * Get the operation that reverses this shift.
+   *
+   * @return The inverse operation or null if the shift can't be reversed.
+   */
+  default VerticalShiftOperation getInverseOperation() {
+    return null;
+  }
+
   @Override
   default void perform(final CoordinatesOperationPoint point) {
     verticalShift(point);
@@ -1,12 +1,64 @@
 package org.jeometry.coordinatesystem.operation.projection;
 
 import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
+import org.jeometry.coordinatesystem.operation.CoordinatesOperationPoint;
 
 public abstract class AbstractCoordinatesProjection implements CoordinatesProjection {
 
-  private final CoordinatesOperation inverseOperation = this::inverse;
+  /**
+   * Copy the ordinates after x,y from the source to the target if they are not the same
+   * coordinates. Used by the batch project and inverse methods.
+   */
+  protected static void copyOtherOrdinates(final double[] source, final int sourceOffset,
+    final double[] target, final int targetOffset, final int pointCount, final int axisCount) {
+    if (axisCount > 2 && (source != target || sourceOffset != targetOffset)) {
+      int sourceIndex = sourceOffset;
+      int targetIndex = targetOffset;
+      for (int i = 0; i < pointCount; i++) {
+        for (int axisIndex = 2; axisIndex < axisCount; axisIndex++) {
+          target[targetIndex + axisIndex] = source[sourceIndex + axisIndex];
+        }
+        sourceIndex += axisCount;
+        targetIndex += axisCount;
+      }
+    }
+  }
+
+  private final CoordinatesOperation inverseOperation = new CoordinatesOperation() {
+    @Override
+    public void perform(final CoordinatesOperationPoint point) {
+      inverse(point);
+    }
+
+    @Override
+    public void perform(final double[] source, final int sourceOffset, final double[] target,
+      final int targetOffset, final int pointCount, final int axisCount) {
+      inverse(source, sourceOffset, target, targetOffset, pointCount, axisCount);
+    }
+
+    @Override
+    public String toString() {
+      return "inverse " + AbstractCoordinatesProjection.this;
+    }
+  };
+
+  private final CoordinatesOperation projectOperation = new CoordinatesOperation() {
+    @Override
+    public void perform(final CoordinatesOperationPoint point) {
+      project(point);
+    }
+
+    @Override
+    public void perform(final double[] source, final int sourceOffset, final double[] target,
+      final int targetOffset, final int pointCount, final int axisCount) {
+      project(source, sourceOffset, target, targetOffset, pointCount, axisCount);
+    }
 
-  private final CoordinatesOperation projectOperation = this::project;
+    @Override
+    public String toString() {
+      return "project " + AbstractCoordinatesProjection.this;
+    }
+  };
 
   @Override
   public CoordinatesOperation getInverseOperation() {
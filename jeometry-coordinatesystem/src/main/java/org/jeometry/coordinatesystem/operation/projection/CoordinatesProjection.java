@@ -1,5 +1,7 @@
 package org.jeometry.coordinatesystem.operation.projection;
 
+import java.nio.DoubleBuffer;
+
 import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
 import org.jeometry.coordinatesystem.operation.CoordinatesOperationPoint;
 
@@ -8,7 +10,65 @@ public interface CoordinatesProjection {
 
   CoordinatesOperation getProjectOperation();
 
+  /**
+   * Inverse project the interleaved source coordinates to the target coordinates. See
+   * {@link CoordinatesOperation#perform(double[], int, double[], int, int, int)}.
+   */
+  default void inverse(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    final CoordinatesOperationPoint point = new CoordinatesOperationPoint();
+    int sourceIndex = sourceOffset;
+    int targetIndex = targetOffset;
+    for (int i = 0; i < pointCount; i++) {
+      point.resetPoint(source, sourceIndex, axisCount);
+      inverse(point);
+      point.copyCoordinatesTo(target, targetIndex, axisCount);
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
+  /**
+   * Inverse project the points in the source buffer to the target buffer. See
+   * {@link CoordinatesOperation#perform(DoubleBuffer, int, int, DoubleBuffer, int, int, int, int)}.
+   */
+  default void inverse(final DoubleBuffer source, final int sourceOffset, final int sourceStride,
+    final DoubleBuffer target, final int targetOffset, final int targetStride, final int pointCount,
+    final int axisCount) {
+    getInverseOperation().perform(source, sourceOffset, sourceStride, target, targetOffset,
+      targetStride, pointCount, axisCount);
+  }
+
   void inverse(CoordinatesOperationPoint point);
 
+  /**
+   * Project the interleaved source coordinates to the target coordinates. See
+   * {@link CoordinatesOperation#perform(double[], int, double[], int, int, int)}.
+   */
+  default void project(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    final CoordinatesOperationPoint point = new CoordinatesOperationPoint();
+    int sourceIndex = sourceOffset;
+    int targetIndex = targetOffset;
+    for (int i = 0; i < pointCount; i++) {
+      point.resetPoint(source, sourceIndex, axisCount);
+      project(point);
+      point.copyCoordinatesTo(target, targetIndex, axisCount);
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
+  /**
+   * Project the points in the source buffer to the target buffer. See
+   * {@link CoordinatesOperation#perform(DoubleBuffer, int, int, DoubleBuffer, int, int, int, int)}.
+   */
+  default void project(final DoubleBuffer source, final int sourceOffset, final int sourceStride,
+    final DoubleBuffer target, final int targetOffset, final int targetStride, final int pointCount,
+    final int axisCount) {
+    getProjectOperation().perform(source, sourceOffset, sourceStride, target, targetOffset,
+      targetStride, pointCount, axisCount);
+  }
+
   void project(CoordinatesOperationPoint point);
 }
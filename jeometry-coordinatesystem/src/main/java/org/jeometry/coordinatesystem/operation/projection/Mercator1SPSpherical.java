@@ -40,6 +40,56 @@ public class Mercator1SPSpherical extends AbstractCoordinatesProjection {
     point.y = φ;
   }
 
+  @Override
+  public void inverse(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    copyOtherOrdinates(source, sourceOffset, target, targetOffset, pointCount, axisCount);
+    final double r = this.r;
+    final double x0 = this.x0;
+    final double y0 = this.y0;
+    final double λ0 = this.λ0;
+    int i = 0;
+    if (VectorProjections.AVAILABLE) {
+      i = VectorProjections.MERCATOR.inverse(r, 0, λ0, x0, y0, source, sourceOffset, target,
+        targetOffset, pointCount, axisCount);
+    }
+    int sourceIndex = sourceOffset + i * axisCount;
+    int targetIndex = targetOffset + i * axisCount;
+    for (; i < pointCount; i++) {
+      final double dX = source[sourceIndex] - x0;
+      final double dY = source[sourceIndex + 1] - y0;
+      target[targetIndex] = dX / r + λ0;
+      target[targetIndex + 1] = Angle.PI_OVER_2 - 2 * Math.atan(Math.pow(Math.E, -dY / r));
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
+  @Override
+  public void project(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    copyOtherOrdinates(source, sourceOffset, target, targetOffset, pointCount, axisCount);
+    final double r = this.r;
+    final double x0 = this.x0;
+    final double y0 = this.y0;
+    final double λ0 = this.λ0;
+    int i = 0;
+    if (VectorProjections.AVAILABLE) {
+      i = VectorProjections.MERCATOR.project(r, 0, λ0, x0, y0, source, sourceOffset, target,
+        targetOffset, pointCount, axisCount);
+    }
+    int sourceIndex = sourceOffset + i * axisCount;
+    int targetIndex = targetOffset + i * axisCount;
+    for (; i < pointCount; i++) {
+      final double λ = source[sourceIndex];
+      final double φ = source[sourceIndex + 1];
+      target[targetIndex] = x0 + r * (λ - λ0);
+      target[targetIndex + 1] = y0 + r * Math.log(Math.tan(Angle.PI_OVER_4 + φ / 2));
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
   @Override
   public void project(final CoordinatesOperationPoint point) {
     final double λ = point.x;
@@ -61,6 +61,82 @@ public class Mercator2SP extends AbstractCoordinatesProjection {
     point.y = φ;
   }
 
+  @Override
+  public void inverse(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    copyOtherOrdinates(source, sourceOffset, target, targetOffset, pointCount, axisCount);
+    final double a = this.a;
+    final double e = this.e;
+    final double eOver2 = this.eOver2;
+    final double multiple = this.multiple;
+    final double x0 = this.x0;
+    final double y0 = this.y0;
+    final double λ0 = this.λ0;
+    int i = 0;
+    if (VectorProjections.AVAILABLE) {
+      i = VectorProjections.MERCATOR.inverse(a * multiple, e, λ0, x0, y0, source, sourceOffset,
+        target, targetOffset, pointCount, axisCount);
+    }
+    int sourceIndex = sourceOffset + i * axisCount;
+    int targetIndex = targetOffset + i * axisCount;
+    for (; i < pointCount; i++) {
+      final double dX = (source[sourceIndex] - x0) / multiple;
+      final double dY = (source[sourceIndex + 1] - y0) / multiple;
+
+      final double t = Math.pow(Math.E, -dY / a);
+      double φ = Angle.PI_OVER_2 - 2 * Math.atan(t);
+      double delta;
+      do {
+        final double eSinPhi = e * Math.sin(φ);
+        final double φ1 = Angle.PI_OVER_2
+          - 2 * Math.atan(t * Math.pow((1 - eSinPhi) / (1 + eSinPhi), eOver2));
+        delta = Math.abs(φ1 - φ);
+        φ = φ1;
+      } while (delta > 1.0e-011);
+
+      target[targetIndex] = dX / a + λ0;
+      target[targetIndex + 1] = φ;
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
+  @Override
+  public void project(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    copyOtherOrdinates(source, sourceOffset, target, targetOffset, pointCount, axisCount);
+    final double a = this.a;
+    final double e = this.e;
+    final double eOver2 = this.eOver2;
+    final double multiple = this.multiple;
+    final double x0 = this.x0;
+    final double y0 = this.y0;
+    final double λ0 = this.λ0;
+    int i = 0;
+    if (VectorProjections.AVAILABLE) {
+      i = VectorProjections.MERCATOR.project(a * multiple, e, λ0, x0, y0, source, sourceOffset,
+        target, targetOffset, pointCount, axisCount);
+    }
+    int sourceIndex = sourceOffset + i * axisCount;
+    int targetIndex = targetOffset + i * axisCount;
+    for (; i < pointCount; i++) {
+      final double λ = source[sourceIndex];
+      final double φ = source[sourceIndex + 1];
+
+      final double eSinPhi = e * Math.sin(φ);
+      final double x = a * (λ - λ0) * multiple;
+      final double y = a
+        * Math.log(
+          Math.tan(Angle.PI_OVER_4 + φ / 2) * Math.pow((1 - eSinPhi) / (1 + eSinPhi), eOver2))
+        * multiple;
+
+      target[targetIndex] = x0 + x;
+      target[targetIndex + 1] = y0 + y;
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
   @Override
   public void project(final CoordinatesOperationPoint point) {
     final double λ = point.x;
@@ -0,0 +1,27 @@
+package org.jeometry.coordinatesystem.operation.projection;
+
+/**
+ * Batch loops for the Mercator family that process the largest multiple of
+ * {@link #getLaneCount()} points and return that count, the caller performs the remaining
+ * points with the scalar loop. The spherical forms use an eccentricity of 0.
+ *
+ * The implementation (MercatorVectorKernels) uses the incubating Vector API and is compiled from
+ * src/main/vector, see {@link VectorProjections}.
+ */
+interface MercatorKernels {
+
+  int getLaneCount();
+
+  /**
+   * λ = (x - x0) / k + λ0, φ = π/2 - 2 atan(t * ((1 - e sin φ) / (1 + e sin φ))^(e/2)) where t =
+   * exp(-(y - y0) / k).
+   */
+  int inverse(double k, double e, double λ0, double x0, double y0, double[] source,
+    int sourceOffset, double[] target, int targetOffset, int pointCount, int axisCount);
+
+  /**
+   * x = x0 + k (λ - λ0), y = y0 + k ln(tan(π/4 + φ/2) * ((1 - e sin φ) / (1 + e sin φ))^(e/2)).
+   */
+  int project(double k, double e, double λ0, double x0, double y0, double[] source,
+    int sourceOffset, double[] target, int targetOffset, int pointCount, int axisCount);
+}
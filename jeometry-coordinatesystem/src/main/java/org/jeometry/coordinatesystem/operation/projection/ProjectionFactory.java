@@ -1,69 +1,51 @@
 package org.jeometry.coordinatesystem.operation.projection;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 
 import org.jeometry.coordinatesystem.model.CoordinateOperationMethod;
 import org.jeometry.coordinatesystem.model.ProjectedCoordinateSystem;
 
 public final class ProjectionFactory {
-  /** The map from projection names to projection classes. */
-  private static final Map<String, Class<? extends CoordinatesProjection>> projectionClasses = new HashMap<>();
-
-  static {
-    registerCoordinatesProjection(CoordinateOperationMethod.LAMBERT_CONIC_CONFORMAL_2SP_BELGIUM,
-      LambertConicConformal.class);
-  }
 
   public static CoordinatesProjection newCoordinatesProjection(
     final ProjectedCoordinateSystem coordinateSystem) {
     final CoordinateOperationMethod coordinateOperationMethod = coordinateSystem
       .getCoordinateOperationMethod();
-    final String projectionName = coordinateOperationMethod.getNormalizedName();
-    synchronized (projectionClasses) {
-      final Class<? extends CoordinatesProjection> projectionClass = projectionClasses
-        .get(projectionName);
-      if (projectionClass == null) {
-        return null;
-      } else {
-        try {
-          final Constructor<? extends CoordinatesProjection> constructor = projectionClass
-            .getConstructor(ProjectedCoordinateSystem.class);
-          final CoordinatesProjection coordinateProjection = constructor
-            .newInstance(coordinateSystem);
-          return coordinateProjection;
-        } catch (final NoSuchMethodException e) {
-          throw new IllegalArgumentException("Constructor " + projectionClass + "("
-            + ProjectedCoordinateSystem.class.getName() + ") does not exist");
-        } catch (final InstantiationException e) {
-          throw new IllegalArgumentException(projectionClass + " cannot be instantiated", e);
-        } catch (final IllegalAccessException e) {
-          throw new IllegalArgumentException(projectionClass + " cannot be instantiated", e);
-        } catch (final InvocationTargetException e) {
-          final Throwable cause = e.getCause();
-          if (cause instanceof RuntimeException) {
-            throw (RuntimeException)cause;
-          } else if (cause instanceof Error) {
-            throw (Error)cause;
-          } else {
-            throw new IllegalArgumentException(projectionClass + " cannot be instantiated", cause);
-          }
-        }
-      }
-    }
+    return coordinateOperationMethod.newCoordinatesProjection(coordinateSystem);
   }
 
   /**
-   * Register a projection for the named projection.
+   * Register a projection for the named projection. The constructor is looked up once and
+   * registered as a factory with
+   * {@link CoordinateOperationMethod#registerCoordinatesProjection(java.util.function.Function, String...)}.
    *
    * @param name The name.
    * @param projectionClass The projection class.
    */
   public static void registerCoordinatesProjection(final String name,
     final Class<? extends CoordinatesProjection> projectionClass) {
-    projectionClasses.put(name, projectionClass);
+    final MethodHandle constructor;
+    try {
+      constructor = MethodHandles.publicLookup()
+        .findConstructor(projectionClass,
+          MethodType.methodType(void.class, ProjectedCoordinateSystem.class));
+    } catch (final NoSuchMethodException e) {
+      throw new IllegalArgumentException("Constructor " + projectionClass + "("
+        + ProjectedCoordinateSystem.class.getName() + ") does not exist");
+    } catch (final IllegalAccessException e) {
+      throw new IllegalArgumentException(projectionClass + " cannot be instantiated", e);
+    }
+    CoordinateOperationMethod.registerCoordinatesProjection(coordinateSystem -> {
+      try {
+        return (CoordinatesProjection)constructor.invoke(coordinateSystem);
+      } catch (final RuntimeException | Error e) {
+        throw e;
+      } catch (final Throwable e) {
+        throw new IllegalArgumentException(projectionClass + " cannot be instantiated", e);
+      }
+    }, name);
   }
 
   private ProjectionFactory() {
@@ -0,0 +1,41 @@
+package org.jeometry.coordinatesystem.operation.projection;
+
+import org.jeometry.common.logging.Logs;
+
+/**
+ * Check if the vectorized batch loops in MercatorVectorKernels can be used. The
+ * jdk.incubator.vector module is only resolved if the JVM is started with
+ * <code>--add-modules jdk.incubator.vector</code>, otherwise (or if the class wasn't compiled or
+ * the CPU has no vector registers for doubles) the scalar loops are used.
+ *
+ * The class is loaded by name so the main source tree compiles without the incubator module.
+ */
+final class VectorProjections {
+
+  /** The vectorized Mercator loops, null if not {@link #AVAILABLE}. */
+  static final MercatorKernels MERCATOR = newMercatorKernels();
+
+  static final boolean AVAILABLE = MERCATOR != null;
+
+  private static MercatorKernels newMercatorKernels() {
+    if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+      return null;
+    } else {
+      try {
+        final MercatorKernels kernels = (MercatorKernels)Class
+          .forName(VectorProjections.class.getPackageName() + ".MercatorVectorKernels")
+          .getDeclaredConstructor()
+          .newInstance();
+        if (kernels.getLaneCount() > 1) {
+          return kernels;
+        }
+      } catch (ReflectiveOperationException | LinkageError e) {
+        Logs.debug(VectorProjections.class, "Vector API not available", e);
+      }
+      return null;
+    }
+  }
+
+  private VectorProjections() {
+  }
+}
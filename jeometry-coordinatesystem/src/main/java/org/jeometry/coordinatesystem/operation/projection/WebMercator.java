@@ -37,6 +37,56 @@ public class WebMercator extends AbstractCoordinatesProjection {
     point.y = Angle.PI_OVER_2 - 2 * Math.atan(Math.exp((this.yo - y) / a));
   }
 
+  @Override
+  public void inverse(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    copyOtherOrdinates(source, sourceOffset, target, targetOffset, pointCount, axisCount);
+    final double a = this.a;
+    final double xo = this.xo;
+    final double yo = this.yo;
+    final double λo = this.λo;
+    int i = 0;
+    if (VectorProjections.AVAILABLE) {
+      i = VectorProjections.MERCATOR.inverse(a, 0, λo, xo, yo, source, sourceOffset, target,
+        targetOffset, pointCount, axisCount);
+    }
+    int sourceIndex = sourceOffset + i * axisCount;
+    int targetIndex = targetOffset + i * axisCount;
+    for (; i < pointCount; i++) {
+      final double x = source[sourceIndex];
+      final double y = source[sourceIndex + 1];
+      target[targetIndex] = λo + (x - xo) / a;
+      target[targetIndex + 1] = Angle.PI_OVER_2 - 2 * Math.atan(Math.exp((yo - y) / a));
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
+  @Override
+  public void project(final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    copyOtherOrdinates(source, sourceOffset, target, targetOffset, pointCount, axisCount);
+    final double a = this.a;
+    final double xo = this.xo;
+    final double yo = this.yo;
+    final double λo = this.λo;
+    int i = 0;
+    if (VectorProjections.AVAILABLE) {
+      i = VectorProjections.MERCATOR.project(a, 0, λo, xo, yo, source, sourceOffset, target,
+        targetOffset, pointCount, axisCount);
+    }
+    int sourceIndex = sourceOffset + i * axisCount;
+    int targetIndex = targetOffset + i * axisCount;
+    for (; i < pointCount; i++) {
+      final double λ = source[sourceIndex];
+      final double φ = source[sourceIndex + 1];
+      target[targetIndex] = xo + a * (λ - λo);
+      target[targetIndex + 1] = yo + a * Math.log(Math.tan(Angle.PI_OVER_4 + φ / 2));
+      sourceIndex += axisCount;
+      targetIndex += axisCount;
+    }
+  }
+
   @Override
   public void project(final CoordinatesOperationPoint point) {
     final double λ = point.x;
@@ -0,0 +1,113 @@
+package org.jeometry.coordinatesystem.operation.projection;
+
+import org.jeometry.common.math.Angle;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vectorized batch loops for the Mercator family using the jdk.incubator.vector API. This is the
+ * only class that imports the incubator module, it is compiled in a separate execution (see
+ * pom.xml) and loaded by name from {@link VectorProjections} if the module is resolved.
+ *
+ * The lane operations (e.g. LOG, TAN) aren't the same implementation as {@link Math} so the
+ * results can differ from the scalar methods in the last bits.
+ */
+final class MercatorVectorKernels implements MercatorKernels {
+
+  private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+  private static int[] getIndexMap(final int axisCount) {
+    final int[] indexMap = new int[SPECIES.length()];
+    for (int i = 0; i < indexMap.length; i++) {
+      indexMap[i] = i * axisCount;
+    }
+    return indexMap;
+  }
+
+  @Override
+  public int getLaneCount() {
+    return SPECIES.length();
+  }
+
+  /**
+   * Iterate φ until all lanes have converged.
+   */
+  @Override
+  public int inverse(final double k, final double e, final double λ0, final double x0,
+    final double y0, final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    final int laneCount = SPECIES.length();
+    final int vectorPointCount = pointCount - pointCount % laneCount;
+    final int[] indexMap = getIndexMap(axisCount);
+    final double eOver2 = e / 2;
+    final int step = laneCount * axisCount;
+    int sourceIndex = sourceOffset;
+    int targetIndex = targetOffset;
+    for (int i = 0; i < vectorPointCount; i += laneCount) {
+      final DoubleVector x = DoubleVector.fromArray(SPECIES, source, sourceIndex, indexMap, 0);
+      final DoubleVector y = DoubleVector.fromArray(SPECIES, source, sourceIndex + 1, indexMap,
+        0);
+
+      final DoubleVector λ = x.sub(x0).div(k).add(λ0);
+      final DoubleVector t = y.sub(y0).div(-k).lanewise(VectorOperators.EXP);
+      DoubleVector φ = t.lanewise(VectorOperators.ATAN).mul(-2).add(Angle.PI_OVER_2);
+      if (e != 0) {
+        boolean converged;
+        do {
+          final DoubleVector eSinPhi = φ.lanewise(VectorOperators.SIN).mul(e);
+          final DoubleVector φ1 = t
+            .mul(eSinPhi.neg().add(1).div(eSinPhi.add(1)).lanewise(VectorOperators.POW, eOver2))
+            .lanewise(VectorOperators.ATAN)
+            .mul(-2)
+            .add(Angle.PI_OVER_2);
+          converged = !φ1.sub(φ).abs().compare(VectorOperators.GT, 1.0e-011).anyTrue();
+          φ = φ1;
+        } while (!converged);
+      }
+
+      λ.intoArray(target, targetIndex, indexMap, 0);
+      φ.intoArray(target, targetIndex + 1, indexMap, 0);
+      sourceIndex += step;
+      targetIndex += step;
+    }
+    return vectorPointCount;
+  }
+
+  @Override
+  public int project(final double k, final double e, final double λ0, final double x0,
+    final double y0, final double[] source, final int sourceOffset, final double[] target,
+    final int targetOffset, final int pointCount, final int axisCount) {
+    final int laneCount = SPECIES.length();
+    final int vectorPointCount = pointCount - pointCount % laneCount;
+    final int[] indexMap = getIndexMap(axisCount);
+    final double eOver2 = e / 2;
+    final int step = laneCount * axisCount;
+    int sourceIndex = sourceOffset;
+    int targetIndex = targetOffset;
+    for (int i = 0; i < vectorPointCount; i += laneCount) {
+      final DoubleVector λ = DoubleVector.fromArray(SPECIES, source, sourceIndex, indexMap, 0);
+      final DoubleVector φ = DoubleVector.fromArray(SPECIES, source, sourceIndex + 1, indexMap,
+        0);
+
+      final DoubleVector x = λ.sub(λ0).mul(k).add(x0);
+      DoubleVector tan = φ.div(2).add(Angle.PI_OVER_4).lanewise(VectorOperators.TAN);
+      if (e != 0) {
+        final DoubleVector eSinPhi = φ.lanewise(VectorOperators.SIN).mul(e);
+        tan = tan
+          .mul(eSinPhi.neg().add(1).div(eSinPhi.add(1)).lanewise(VectorOperators.POW, eOver2));
+      }
+      final DoubleVector y = tan.lanewise(VectorOperators.LOG).mul(k).add(y0);
+
+      x.intoArray(target, targetIndex, indexMap, 0);
+      y.intoArray(target, targetIndex + 1, indexMap, 0);
+      sourceIndex += step;
+      targetIndex += step;
+    }
+    return vectorPointCount;
+  }
+
+  MercatorVectorKernels() {
+  }
+}
@@ -0,0 +1,115 @@
+package org.jeometry.coordinatesystem.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jeometry.coordinatesystem.model.systems.EpsgCoordinateSystems;
+
+/**
+ * Build the project and inverse operations for all the EPSG projected coordinate systems from
+ * many threads at the same time. Each thread starts at a different position in the list so the
+ * threads race to create the same projections.
+ *
+ * For each thread count the cold time uses newly loaded coordinate systems with empty operation
+ * caches (projection creation and operation building). The warm time is the average time per call
+ * when the same calls are repeated (the lock-free read path), with no contention it stays the
+ * same as the thread count increases up to the number of processors.
+ *
+ * Arguments: [maxThreadCount] [warmIterationCount]
+ */
+public class ProjectedCoordinateSystemConcurrencyBenchmark {
+
+  private static int buildOperations(final List<ProjectedCoordinateSystem> coordinateSystems,
+    final int startIndex) {
+    int count = 0;
+    final int size = coordinateSystems.size();
+    for (int i = 0; i < size; i++) {
+      final ProjectedCoordinateSystem projectedCoordinateSystem = coordinateSystems
+        .get((startIndex + i) % size);
+      final GeographicCoordinateSystem geographicCoordinateSystem = projectedCoordinateSystem
+        .getGeographicCoordinateSystem();
+      if (projectedCoordinateSystem.getCoordinatesProjection() != null) {
+        count++;
+      }
+      if (projectedCoordinateSystem.getCoordinatesOperation(geographicCoordinateSystem) != null) {
+        count++;
+      }
+      if (geographicCoordinateSystem.getCoordinatesOperation(projectedCoordinateSystem) != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static List<ProjectedCoordinateSystem> loadCoordinateSystems() {
+    EpsgCoordinateSystems.clear();
+    CoordinatesOperationRegistry.getCache().clear();
+    final List<ProjectedCoordinateSystem> coordinateSystems = new ArrayList<>();
+    for (final CoordinateSystem coordinateSystem : EpsgCoordinateSystems.getCoordinateSystems()) {
+      if (coordinateSystem instanceof ProjectedCoordinateSystem) {
+        final ProjectedCoordinateSystem projectedCoordinateSystem = //
+          (ProjectedCoordinateSystem)coordinateSystem;
+        if (projectedCoordinateSystem.getGeographicCoordinateSystem() != null) {
+          coordinateSystems.add(projectedCoordinateSystem);
+        }
+      }
+    }
+    return coordinateSystems;
+  }
+
+  public static void main(final String[] args) throws Exception {
+    final int maxThreadCount = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+    final int warmIterationCount = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    System.out.println("processors=" + Runtime.getRuntime().availableProcessors());
+    System.out.println("threads\tcoordinate systems\tcold ms\twarm ns/call\tcount");
+
+    // Load the classes and resources and compile the read path before timing
+    final List<ProjectedCoordinateSystem> warmupCoordinateSystems = loadCoordinateSystems();
+    for (int i = 0; i < 20; i++) {
+      buildOperations(warmupCoordinateSystems, 0);
+    }
+
+    for (int threadCount = 1; threadCount <= maxThreadCount; threadCount *= 2) {
+      final List<ProjectedCoordinateSystem> coordinateSystems = loadCoordinateSystems();
+      final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+      try {
+        final long coldStart = System.nanoTime();
+        final int count = run(executor, coordinateSystems, threadCount);
+        final long coldTime = System.nanoTime() - coldStart;
+
+        final long warmStart = System.nanoTime();
+        for (int i = 0; i < warmIterationCount; i++) {
+          final int warmCount = run(executor, coordinateSystems, threadCount);
+          if (warmCount != count) {
+            throw new IllegalStateException("Warm count " + warmCount + " != cold count " + count);
+          }
+        }
+        final long warmTime = System.nanoTime() - warmStart;
+        // Each thread makes 3 calls for each coordinate system
+        final double callCount = 3.0 * coordinateSystems.size() * threadCount * warmIterationCount;
+        System.out.printf("%d\t%d\t%.1f\t%.1f\t%d%n", threadCount, coordinateSystems.size(),
+          coldTime / 1e6, warmTime / callCount, count);
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+
+  private static int run(final ExecutorService executor,
+    final List<ProjectedCoordinateSystem> coordinateSystems, final int threadCount)
+    throws Exception {
+    final List<Future<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < threadCount; i++) {
+      final int startIndex = i * coordinateSystems.size() / threadCount;
+      futures.add(executor.submit(() -> buildOperations(coordinateSystems, startIndex)));
+    }
+    int count = 0;
+    for (final Future<Integer> future : futures) {
+      count += future.get();
+    }
+    return count / threadCount;
+  }
+}
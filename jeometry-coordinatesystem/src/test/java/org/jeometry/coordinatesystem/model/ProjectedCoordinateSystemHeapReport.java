@@ -0,0 +1,144 @@
+package org.jeometry.coordinatesystem.model;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.management.ObjectName;
+
+import org.jeometry.coordinatesystem.model.systems.EpsgCoordinateSystems;
+
+/**
+ * Report the heap used by the EPSG coordinate systems and how much of it is shared. Loads every
+ * EPSG coordinate system and the toWgs84 operation of every geographic coordinate system, then
+ * prints the retained heap, the number of distinct axis lists and parameter maps, and the
+ * largest classes from the GC.class_histogram diagnostic command.
+ *
+ * Then each thread creates a copy of all the projected coordinate systems, so they all look up
+ * the same shared parameter maps at the same time. The ns/coordinate system is the total time
+ * divided by all the copies, with no lock it goes down as the thread count increases up to the
+ * number of processors.
+ *
+ * Arguments: [histogramLineCount] [maxThreadCount]
+ */
+public class ProjectedCoordinateSystemHeapReport {
+
+  private static int copyCoordinateSystems(final List<ProjectedCoordinateSystem> coordinateSystems,
+    final int startIndex) {
+    int sharedCount = 0;
+    final int size = coordinateSystems.size();
+    for (int i = 0; i < size; i++) {
+      final ProjectedCoordinateSystem coordinateSystem = coordinateSystems
+        .get((startIndex + i) % size);
+      final ProjectedCoordinateSystem copy = new ProjectedCoordinateSystem(
+        coordinateSystem.getCoordinateSystemId(), coordinateSystem.getCoordinateSystemName(),
+        coordinateSystem.getGeographicCoordinateSystem(), coordinateSystem.getArea(),
+        coordinateSystem.getCoordinateOperationMethod(), coordinateSystem.getParameterValues(),
+        coordinateSystem.getLinearUnit(), coordinateSystem.getAxis(),
+        coordinateSystem.getAuthority(), coordinateSystem.isDeprecated());
+      if (copy.getParameters() == coordinateSystem.getParameters()) {
+        sharedCount++;
+      }
+    }
+    return sharedCount;
+  }
+
+  private static int getDistinctCount(final List<?> values) {
+    final Set<Object> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+    distinct.addAll(values);
+    return distinct.size();
+  }
+
+  private static String getHistogram() throws Exception {
+    return (String)ManagementFactory.getPlatformMBeanServer()
+      .invoke(new ObjectName("com.sun.management:type=DiagnosticCommand"), "gcClassHistogram",
+        new Object[] {
+          null
+        }, new String[] {
+          String[].class.getName()
+        });
+  }
+
+  private static long getUsedMemory() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  public static void main(final String[] args) throws Exception {
+    final int histogramLineCount = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+    final int maxThreadCount = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+    System.out.println("processors=" + Runtime.getRuntime().availableProcessors());
+
+    EpsgCoordinateSystems.initialize();
+    final long usedBefore = getUsedMemory();
+    final Set<CoordinateSystem> coordinateSystems = EpsgCoordinateSystems.getCoordinateSystems();
+    for (final GeographicCoordinateSystem geographicCoordinateSystem : EpsgCoordinateSystems
+      .getGeographicCoordinateSystems()) {
+      geographicCoordinateSystem.getToWgs84Operation();
+    }
+    final long usedAfter = getUsedMemory();
+
+    final List<List<Axis>> axisLists = new ArrayList<>();
+    for (final CoordinateSystem coordinateSystem : coordinateSystems) {
+      axisLists.add(coordinateSystem.getAxis());
+    }
+    final List<ProjectedCoordinateSystem> projectedCoordinateSystems = EpsgCoordinateSystems
+      .getProjectedCoordinateSystems();
+    final List<Map<ParameterName, Object>> parameterMaps = new ArrayList<>();
+    for (final ProjectedCoordinateSystem projectedCoordinateSystem : projectedCoordinateSystems) {
+      parameterMaps.add(projectedCoordinateSystem.getParameters());
+    }
+
+    System.out.printf("coordinate systems\t%d%n", coordinateSystems.size());
+    System.out.printf("retained KB\t%d%n", (usedAfter - usedBefore) / 1024);
+    System.out.printf("axis lists\t%d\tdistinct\t%d%n", axisLists.size(),
+      getDistinctCount(axisLists));
+    System.out.printf("projected parameter maps\t%d\tdistinct\t%d%n", parameterMaps.size(),
+      getDistinctCount(parameterMaps));
+
+    System.out.println();
+    final String[] histogramLines = getHistogram().split("\n");
+    for (int i = 0; i < Math.min(histogramLineCount + 2, histogramLines.length); i++) {
+      System.out.println(histogramLines[i]);
+    }
+
+    System.out.println();
+    System.out.println("threads\tms\tns/coordinate system");
+    // Warm up
+    copyCoordinateSystems(projectedCoordinateSystems, 0);
+    for (int threadCount = 1; threadCount <= maxThreadCount; threadCount *= 2) {
+      final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+      try {
+        final long startTime = System.nanoTime();
+        final List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+          final int startIndex = i * projectedCoordinateSystems.size() / threadCount;
+          futures.add(
+            executor.submit(() -> copyCoordinateSystems(projectedCoordinateSystems, startIndex)));
+        }
+        for (final Future<Integer> future : futures) {
+          final int sharedCount = future.get();
+          if (sharedCount != projectedCoordinateSystems.size()) {
+            throw new IllegalStateException("Only " + sharedCount + " of "
+              + projectedCoordinateSystems.size() + " copies share the parameters");
+          }
+        }
+        final long time = System.nanoTime() - startTime;
+        System.out.printf("%d\t%.1f\t%.0f%n", threadCount, time / 1e6,
+          (double)time / threadCount / projectedCoordinateSystems.size());
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package org.jeometry.coordinatesystem.model.systems;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measure the cold start time of a new JVM running {@link CoordinateSystemsPreload} with and
+ * without the AppCDS archive (-XX:SharedArchiveFile) and with and without the
+ * {@link EpsgRegistrySnapshot}. Each run starts a new java process and reports the wall time of
+ * the process and the preload time it prints, the mean of each configuration is printed at the
+ * end.
+ *
+ * The classpath must start with the packaged jar, CDS only archives classes loaded from jars.
+ * Create the jar and archive with mvn -P appcds package. The CDS configurations are skipped if
+ * the archive doesn't exist.
+ *
+ * Arguments: [classpath] [archive] [runCount]
+ */
+public class CoordinateSystemsColdStartBenchmark {
+
+  private static final String PRELOAD_PREFIX = "Preloaded coordinate systems in ";
+
+  /**
+   * Run the preload in a new java process.
+   *
+   * @return The wall time and preload time in milliseconds.
+   */
+  private static double[] run(final String classpath, final List<String> jvmArgs)
+    throws IOException, InterruptedException {
+    final List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.addAll(jvmArgs);
+    command.add("-cp");
+    command.add(classpath);
+    command.add(CoordinateSystemsPreload.class.getName());
+
+    final long startTime = System.nanoTime();
+    final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    double preloadTime = Double.NaN;
+    try (
+      BufferedReader in = new BufferedReader(
+        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      for (String line = in.readLine(); line != null; line = in.readLine()) {
+        if (line.startsWith(PRELOAD_PREFIX)) {
+          preloadTime = Double
+            .parseDouble(line.substring(PRELOAD_PREFIX.length()).replace(" ms", ""));
+        }
+      }
+    }
+    final int exitCode = process.waitFor();
+    final double wallTime = (System.nanoTime() - startTime) / 1e6;
+    if (exitCode != 0 || Double.isNaN(preloadTime)) {
+      throw new IllegalStateException("Exit code " + exitCode + " for " + command);
+    }
+    return new double[] {
+      wallTime, preloadTime
+    };
+  }
+
+  public static void main(final String[] args) throws Exception {
+    final String classpath = args.length > 0 ? args[0] : System.getProperty("java.class.path");
+    final String archive = args.length > 1 ? args[1]
+      : "target/jeometry-coordinatesystem.jsa";
+    final int runCount = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+    System.out.println("processors=" + Runtime.getRuntime().availableProcessors());
+
+    final String noSnapshot = "-D" + EpsgRegistrySnapshot.PROPERTY + "=false";
+    final String sharedArchive = "-XX:SharedArchiveFile=" + archive;
+    final List<String> names = new ArrayList<>();
+    final List<List<String>> configurations = new ArrayList<>();
+    names.add("no CDS, no snapshot");
+    configurations.add(Arrays.asList(noSnapshot));
+    names.add("no CDS, snapshot");
+    configurations.add(Collections.emptyList());
+    if (new File(archive).exists()) {
+      names.add("CDS, no snapshot");
+      configurations.add(Arrays.asList(sharedArchive, noSnapshot));
+      names.add("CDS, snapshot");
+      configurations.add(Arrays.asList(sharedArchive));
+    } else {
+      System.out.println("Skipping CDS, missing archive " + archive);
+    }
+
+    // One run of each configuration to warm up the file system cache
+    for (final List<String> jvmArgs : configurations) {
+      run(classpath, jvmArgs);
+    }
+
+    System.out.println("configuration\trun\twall ms\tpreload ms");
+    final double[][] totals = new double[configurations.size()][2];
+    // Interleave the configurations so they all see the same machine load
+    for (int runIndex = 1; runIndex <= runCount; runIndex++) {
+      for (int i = 0; i < configurations.size(); i++) {
+        final double[] times = run(classpath, configurations.get(i));
+        totals[i][0] += times[0];
+        totals[i][1] += times[1];
+        System.out.printf("%s\t%d\t%.0f\t%.0f%n", names.get(i), runIndex, times[0], times[1]);
+      }
+    }
+
+    System.out.println();
+    System.out.println("configuration\tmean wall ms\tmean preload ms\twall vs no CDS, no snapshot");
+    for (int i = 0; i < configurations.size(); i++) {
+      final double wallTime = totals[i][0] / runCount;
+      final double preloadTime = totals[i][1] / runCount;
+      System.out.printf("%s\t%.0f\t%.0f\t%.0f%%%n", names.get(i), wallTime, preloadTime,
+        100 * (wallTime / (totals[0][0] / runCount) - 1));
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package org.jeometry.coordinatesystem.model.systems;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jeometry.coordinatesystem.model.CoordinateSystem;
+
+/**
+ * Look up coordinate systems in {@link EpsgCoordinateSystems} from many threads at the same time.
+ * Each lookup matches a coordinate system parsed from ESRI WKT to the EPSG coordinate system and
+ * gets a coordinate system by id and by name. With lock-free lookups the time per lookup stays
+ * the same as the thread count increases up to the number of processors.
+ *
+ * Before the timed lookups the threads all register the same coordinate system that isn't in
+ * EPSG, they must all get the same registered instance.
+ *
+ * Arguments: [maxThreadCount] [lookupCount]
+ */
+public class EpsgCoordinateSystemsLookupBenchmark {
+
+  private static final int[] IDS = {
+    4326, 3857, 26910, 3005, 4269, 32610
+  };
+
+  private static int lookup(final List<CoordinateSystem> wktCoordinateSystems,
+    final int lookupCount) {
+    int count = 0;
+    final int size = wktCoordinateSystems.size();
+    for (int i = 0; i < lookupCount; i++) {
+      final int index = i % size;
+      final CoordinateSystem coordinateSystem = EpsgCoordinateSystems
+        .getCoordinateSystem(wktCoordinateSystems.get(index));
+      if (coordinateSystem != null && coordinateSystem.getCoordinateSystemId() == IDS[index]) {
+        count++;
+      }
+      if (EpsgCoordinateSystems.getCoordinateSystem(IDS[index]) != null) {
+        count++;
+      }
+      if (EpsgCoordinateSystems.getCoordinateSystem("WGS 84 / Pseudo-Mercator") != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  public static void main(final String[] args) throws Exception {
+    final int maxThreadCount = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+    final int lookupCount = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+    System.out.println("processors=" + Runtime.getRuntime().availableProcessors());
+
+    final List<CoordinateSystem> wktCoordinateSystems = new ArrayList<>();
+    for (final int id : IDS) {
+      final String wkt = EpsgCoordinateSystems.getCoordinateSystem(id).toEsriWktCs();
+      wktCoordinateSystems.add(EsriCoordinateSystems.readCoordinateSystem(wkt));
+    }
+    registerCustom(maxThreadCount);
+
+    // Warm up the lookups before timing
+    for (int i = 0; i < 10; i++) {
+      lookup(wktCoordinateSystems, lookupCount);
+    }
+
+    System.out.println("threads\tms\tns/lookup\tlookups/s (millions)");
+    for (int threadCount = 1; threadCount <= maxThreadCount; threadCount *= 2) {
+      final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+      try {
+        final long startTime = System.nanoTime();
+        final List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+          futures.add(executor.submit(() -> lookup(wktCoordinateSystems, lookupCount)));
+        }
+        for (final Future<Integer> future : futures) {
+          final int count = future.get();
+          if (count != lookupCount * 3) {
+            throw new IllegalStateException(
+              "Only " + count + " of " + lookupCount * 3 + " lookups matched");
+          }
+        }
+        final long time = System.nanoTime() - startTime;
+        // 3 lookups per iteration
+        final double totalLookupCount = 3.0 * lookupCount * threadCount;
+        System.out.printf("%d\t%.1f\t%.1f\t%.2f%n", threadCount, time / 1e6,
+          time / totalLookupCount, totalLookupCount / (time / 1e9) / 1e6);
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+
+  private static void registerCustom(final int threadCount) throws Exception {
+    final String wkt = EpsgCoordinateSystems.getCoordinateSystem(3005)
+      .toEsriWktCs()
+      .replace("NAD_1983_BC_Environment_Albers", "Benchmark_Albers")
+      .replace("1000000.0", "1234567.0");
+    final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      final List<Future<CoordinateSystem>> futures = new ArrayList<>();
+      for (int i = 0; i < threadCount; i++) {
+        futures.add(executor.submit(() -> {
+          final CoordinateSystem coordinateSystem = EsriCoordinateSystems
+            .readCoordinateSystem(wkt);
+          return EpsgCoordinateSystems.getCoordinateSystem(coordinateSystem);
+        }));
+      }
+      final CoordinateSystem registered = futures.get(0).get();
+      for (final Future<CoordinateSystem> future : futures) {
+        if (future.get() != registered) {
+          throw new IllegalStateException("Registration returned different instances");
+        }
+      }
+      System.out.println("registered " + registered.getCoordinateSystemName() + " id="
+        + registered.getCoordinateSystemId() + " from " + threadCount + " threads");
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package org.jeometry.coordinatesystem.model.systems;
+
+import org.jeometry.coordinatesystem.model.CoordinateSystem;
+import org.jeometry.coordinatesystem.model.CoordinatesOperationRegistry;
+import org.jeometry.coordinatesystem.operation.CoordinatesOperation;
+
+/**
+ * Measure the time to load the EPSG tables with {@link EpsgCoordinateSystems#initialize()}, the
+ * first lookup of a coordinate system and the first operation between two coordinate systems.
+ *
+ * The first iteration includes the class loading and is the startup time of a new JVM. The other
+ * iterations call {@link EpsgCoordinateSystems#clear()} first so they only show the time to read
+ * the tables once the code is loaded.
+ *
+ * Arguments: [iterationCount]
+ */
+public class EpsgCoordinateSystemsStartupBenchmark {
+
+  public static void main(final String[] args) {
+    final int iterationCount = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+    System.out.println("processors=" + Runtime.getRuntime().availableProcessors());
+    System.out.println("iteration\tinitialize ms\tfirst lookup ms\tfirst operation ms\ttotal ms");
+
+    double initializeTotal = 0;
+    double lookupTotal = 0;
+    double operationTotal = 0;
+    for (int i = 0; i < iterationCount; i++) {
+      if (i > 0) {
+        EpsgCoordinateSystems.clear();
+        CoordinatesOperationRegistry.getCache().clear();
+      }
+      final long startTime = System.nanoTime();
+      EpsgCoordinateSystems.initialize();
+      final long initializeEnd = System.nanoTime();
+      // Not 3005 or 3857, they are read by initialize() for the aliases
+      final CoordinateSystem utm10 = EpsgCoordinateSystems.getCoordinateSystem(26910);
+      final long lookupEnd = System.nanoTime();
+      final CoordinateSystem webMercator = EpsgCoordinateSystems.getCoordinateSystem(3857);
+      final CoordinatesOperation operation = utm10.getCoordinatesOperation(webMercator);
+      final long operationEnd = System.nanoTime();
+      if (operation == null) {
+        throw new IllegalStateException("No operation from 26910 to 3857");
+      }
+
+      final double initializeTime = (initializeEnd - startTime) / 1e6;
+      final double lookupTime = (lookupEnd - initializeEnd) / 1e6;
+      final double operationTime = (operationEnd - lookupEnd) / 1e6;
+      System.out.printf("%d\t%.1f\t%.2f\t%.2f\t%.1f%n", i + 1, initializeTime, lookupTime,
+        operationTime, (operationEnd - startTime) / 1e6);
+      if (i > 0) {
+        initializeTotal += initializeTime;
+        lookupTotal += lookupTime;
+        operationTotal += operationTime;
+      }
+    }
+    if (iterationCount > 1) {
+      final int count = iterationCount - 1;
+      System.out.printf("mean 2-%d\t%.1f\t%.2f\t%.2f\t%.1f%n", iterationCount,
+        initializeTotal / count, lookupTotal / count, operationTotal / count,
+        (initializeTotal + lookupTotal + operationTotal) / count);
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package org.jeometry.coordinatesystem.operation;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jeometry.coordinatesystem.model.CoordinateSystem;
+import org.jeometry.coordinatesystem.model.systems.EpsgCoordinateSystems;
+
+/**
+ * Measure how {@link ParallelCoordinatesOperation} scales with the number of threads compared to
+ * performing the operation on the calling thread. Each parallelism from 1 to the number of
+ * available processors (doubling each time) uses its own {@link ForkJoinPool}.
+ *
+ * Arguments: [pointCount] [iterationCount] [chunkSize]
+ */
+public class ParallelCoordinatesOperationBenchmark {
+
+  private static final int[][] PAIRS = {
+    {
+      4326, 3857
+    }, {
+      4267, 26910
+    }, {
+      3005, 4326
+    }
+  };
+
+  public static void main(final String[] args) {
+    final int pointCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+    final int iterationCount = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+    final int chunkSize = args.length > 2 ? Integer.parseInt(args[2])
+      : ParallelCoordinatesOperation.DEFAULT_CHUNK_SIZE;
+    final int processorCount = Runtime.getRuntime().availableProcessors();
+    System.out.println("processors=" + processorCount + " points=" + pointCount + " chunkSize="
+      + chunkSize);
+    System.out.println("pair\tthreads\tms\tMpoints/s\tspeedup");
+
+    final Random random = new Random(1);
+    final double[] source = new double[pointCount * 2];
+    for (final int[] pair : PAIRS) {
+      final CoordinateSystem sourceCs = EpsgCoordinateSystems.getCoordinateSystem(pair[0]);
+      final CoordinateSystem targetCs = EpsgCoordinateSystems.getCoordinateSystem(pair[1]);
+      final CoordinatesOperation operation = sourceCs.getCoordinatesOperation(targetCs);
+
+      // Points within 1 degree of Vancouver in the source coordinate system
+      for (int i = 0; i < source.length; i += 2) {
+        source[i] = -123 + random.nextDouble();
+        source[i + 1] = 49 + random.nextDouble();
+      }
+      final CoordinatesOperation toSource = EpsgCoordinateSystems.getCoordinateSystem(4326)
+        .getCoordinatesOperation(sourceCs);
+      if (toSource != null) {
+        toSource.perform(source, 0, source, 0, pointCount, 2);
+      }
+
+      final double[] expected = new double[source.length];
+      final double[] target = new double[source.length];
+      final long serialTime = time(iterationCount,
+        () -> operation.perform(source, 0, expected, 0, pointCount, 2));
+      print(pair, "serial", serialTime, serialTime, pointCount, iterationCount);
+
+      for (int parallelism = 1; parallelism <= processorCount; parallelism *= 2) {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+          final ParallelCoordinatesOperation parallelOperation = new ParallelCoordinatesOperation(
+            operation, chunkSize, pool);
+          final long time = time(iterationCount,
+            () -> parallelOperation.perform(source, 0, target, 0, pointCount, 2));
+          if (!Arrays.equals(expected, target)) {
+            throw new IllegalStateException("Parallel result differs for " + pair[0] + "->"
+              + pair[1] + " with " + parallelism + " threads");
+          }
+          print(pair, Integer.toString(parallelism), time, serialTime, pointCount,
+            iterationCount);
+        } finally {
+          pool.shutdown();
+        }
+      }
+    }
+  }
+
+  private static void print(final int[] pair, final String threads, final long time,
+    final long serialTime, final int pointCount, final int iterationCount) {
+    final double milliseconds = time / 1000000.0 / iterationCount;
+    final double pointsPerSecond = (double)pointCount * iterationCount / (time / 1e9) / 1e6;
+    System.out.printf("%d->%d\t%s\t%.1f\t%.2f\t%.2f%n", pair[0], pair[1], threads, milliseconds,
+      pointsPerSecond, (double)serialTime / time);
+  }
+
+  private static long time(final int iterationCount, final Runnable action) {
+    for (int i = 0; i < Math.max(1, iterationCount / 4); i++) {
+      action.run();
+    }
+    final long startTime = System.nanoTime();
+    for (int i = 0; i < iterationCount; i++) {
+      action.run();
+    }
+    return System.nanoTime() - startTime;
+  }
+}
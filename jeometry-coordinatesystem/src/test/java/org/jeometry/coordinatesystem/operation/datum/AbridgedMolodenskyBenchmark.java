@@ -0,0 +1,119 @@
+package org.jeometry.coordinatesystem.operation.datum;
+
+import java.util.Random;
+
+import org.jeometry.coordinatesystem.model.Ellipsoid;
+import org.jeometry.coordinatesystem.model.GeographicCoordinateSystem;
+import org.jeometry.coordinatesystem.model.systems.EpsgCoordinateSystems;
+
+/**
+ * Compare the {@link AbridgedMolodenskyOperation} with the {@link HelmertTransformationOperation}
+ * it approximates for the NAD27, ED50 and OSGB36 to WGS 84 translations and a 300 m translation
+ * from Clarke 1866. Reports the time per point of each and the maximum and mean horizontal
+ * difference for random points over the whole world with heights from 0 to 0, 1000 and 5000 m.
+ *
+ * Throws an {@link IllegalStateException} (exit code 1) if a horizontal difference is more than
+ * {@link #MAX_ERROR} metres for heights up to 1000 m, the bound in the
+ * {@link AbridgedMolodenskyOperation} Javadoc.
+ *
+ * Arguments: [pointCount] [iterationCount]
+ */
+public class AbridgedMolodenskyBenchmark {
+
+  private static final double MAX_ERROR = 0.6;
+
+  private static final double[] MAX_HEIGHTS = {
+    0, 1000, 5000
+  };
+
+  private static void benchmark(final String name, final HelmertTransformationOperation helmert,
+    final int pointCount, final int iterationCount) {
+    final AbridgedMolodenskyOperation molodensky = helmert.getAbridgedMolodenskyOperation();
+    if (molodensky == null) {
+      throw new IllegalStateException(name + " is not a translation " + helmert);
+    }
+    for (final double maxHeight : MAX_HEIGHTS) {
+      final Random random = new Random(1);
+      final double[] source = new double[pointCount * 3];
+      for (int i = 0; i < source.length; i += 3) {
+        source[i] = random.nextDouble() * 360 - 180;
+        source[i + 1] = random.nextDouble() * 170 - 85;
+        source[i + 2] = random.nextDouble() * maxHeight;
+      }
+      final double[] helmertTarget = new double[source.length];
+      final double[] molodenskyTarget = new double[source.length];
+
+      long helmertTime = 0;
+      long molodenskyTime = 0;
+      for (int iteration = 0; iteration < iterationCount * 2; iteration++) {
+        final long startTime = System.nanoTime();
+        helmert.perform(source, 0, helmertTarget, 0, pointCount, 3);
+        final long helmertEnd = System.nanoTime();
+        molodensky.perform(source, 0, molodenskyTarget, 0, pointCount, 3);
+        final long molodenskyEnd = System.nanoTime();
+        // The first half of the iterations are the warm up
+        if (iteration >= iterationCount) {
+          helmertTime += helmertEnd - startTime;
+          molodenskyTime += molodenskyEnd - helmertEnd;
+        }
+      }
+
+      double maxError = 0;
+      double totalError = 0;
+      for (int i = 0; i < source.length; i += 3) {
+        final double error = getHorizontalDistance(helmertTarget[i], helmertTarget[i + 1],
+          molodenskyTarget[i], molodenskyTarget[i + 1]);
+        maxError = Math.max(maxError, error);
+        totalError += error;
+      }
+      final double pointIterations = (double)pointCount * iterationCount;
+      System.out.printf("%s\t%.0f\t%.1f\t%.1f\t%.2f\t%.3f\t%.3f%n", name, maxHeight,
+        helmertTime / pointIterations, molodenskyTime / pointIterations,
+        (double)helmertTime / molodenskyTime, maxError, totalError / pointCount);
+      if (maxHeight <= 1000 && maxError > MAX_ERROR) {
+        throw new IllegalStateException(
+          name + " error " + maxError + " m > " + MAX_ERROR + " m for heights <= " + maxHeight);
+      }
+    }
+  }
+
+  /**
+   * The approximate distance in metres between 2 nearby longitude, latitude points in degrees.
+   */
+  private static double getHorizontalDistance(final double lon1, final double lat1,
+    final double lon2, final double lat2) {
+    double deltaLon = lon1 - lon2;
+    if (deltaLon > 180) {
+      deltaLon -= 360;
+    } else if (deltaLon < -180) {
+      deltaLon += 360;
+    }
+    final double dx = Math.toRadians(deltaLon) * 6378137 * Math.cos(Math.toRadians(lat1));
+    final double dy = Math.toRadians(lat1 - lat2) * 6378137;
+    return Math.sqrt(dx * dx + dy * dy);
+  }
+
+  public static void main(final String[] args) {
+    final int pointCount = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+    final int iterationCount = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+    System.out.println("datum\tmax height m\thelmert ns/point\tmolodensky ns/point\tspeedup"
+      + "\tmax error m\tmean error m");
+
+    for (final int id : new int[] {
+      4267, 4230, 4277
+    }) {
+      final GeographicCoordinateSystem coordinateSystem = EpsgCoordinateSystems
+        .getCoordinateSystem(id);
+      final HelmertTransformationOperation toWgs84 = coordinateSystem.getToWgs84Operation()
+        .withTransformHeight(true);
+      benchmark(coordinateSystem.getCoordinateSystemName(), toWgs84, pointCount, iterationCount);
+    }
+
+    final GeographicCoordinateSystem nad27 = EpsgCoordinateSystems.getCoordinateSystem(4267);
+    final Ellipsoid wgs84 = EpsgCoordinateSystems.wgs84().getEllipsoid();
+    final HelmertTransformationOperation translation = HelmertTransformationOperation
+      .geocentricTranslations(nad27.getEllipsoid(), wgs84, 300, -300, 300)
+      .withTransformHeight(true);
+    benchmark("Clarke 1866 300 m", translation, pointCount, iterationCount);
+  }
+}
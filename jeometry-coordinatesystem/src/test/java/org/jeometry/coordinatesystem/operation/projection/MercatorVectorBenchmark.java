@@ -0,0 +1,138 @@
+package org.jeometry.coordinatesystem.operation.projection;
+
+import java.util.Random;
+
+import org.jeometry.coordinatesystem.model.ProjectedCoordinateSystem;
+import org.jeometry.coordinatesystem.model.systems.EpsgCoordinateSystems;
+import org.jeometry.coordinatesystem.model.systems.EsriCoordinateSystems;
+import org.jeometry.coordinatesystem.operation.CoordinatesOperationPoint;
+
+/**
+ * Compare the batch project and inverse methods of the Mercator family with the scalar point
+ * methods. Reports the maximum difference and the time per point of each. Run with
+ * <code>--add-modules jdk.incubator.vector</code> to check the vectorized loops, without it the
+ * batch methods use the scalar loops.
+ *
+ * Throws an {@link IllegalStateException} (exit code 1) if a difference is more than
+ * {@link #MAX_PROJECT_DIFFERENCE} metres or {@link #MAX_INVERSE_DIFFERENCE} radians.
+ *
+ * Arguments: [pointCount] [iterationCount]
+ */
+public class MercatorVectorBenchmark {
+
+  /** 1 µm. */
+  private static final double MAX_PROJECT_DIFFERENCE = 1e-6;
+
+  /** About 6 µm on the ellipsoid. */
+  private static final double MAX_INVERSE_DIFFERENCE = 1e-12;
+
+  private static void benchmark(final String name, final CoordinatesProjection projection,
+    final int pointCount, final int iterationCount) {
+    final Random random = new Random(1);
+    final double[] lonLat = new double[pointCount * 2];
+    for (int i = 0; i < lonLat.length; i += 2) {
+      lonLat[i] = (random.nextDouble() * 2 - 1) * Math.PI;
+      lonLat[i + 1] = (random.nextDouble() * 2 - 1) * 1.4;
+    }
+
+    final double[] scalarXy = new double[lonLat.length];
+    final double[] batchXy = new double[lonLat.length];
+    final double[] scalarLonLat = new double[lonLat.length];
+    final double[] batchLonLat = new double[lonLat.length];
+    long scalarProjectTime = 0;
+    long batchProjectTime = 0;
+    long scalarInverseTime = 0;
+    long batchInverseTime = 0;
+    // The vector lane operations need more iterations before they are compiled
+    final int warmupCount = iterationCount;
+    for (int iteration = 0; iteration < warmupCount + iterationCount; iteration++) {
+      final long startTime = System.nanoTime();
+      projectPoints(projection, lonLat, scalarXy);
+      final long scalarProjectEnd = System.nanoTime();
+      projection.project(lonLat, 0, batchXy, 0, pointCount, 2);
+      final long batchProjectEnd = System.nanoTime();
+      inversePoints(projection, scalarXy, scalarLonLat);
+      final long scalarInverseEnd = System.nanoTime();
+      projection.inverse(scalarXy, 0, batchLonLat, 0, pointCount, 2);
+      final long batchInverseEnd = System.nanoTime();
+      if (iteration >= warmupCount) {
+        scalarProjectTime += scalarProjectEnd - startTime;
+        batchProjectTime += batchProjectEnd - scalarProjectEnd;
+        scalarInverseTime += scalarInverseEnd - batchProjectEnd;
+        batchInverseTime += batchInverseEnd - scalarInverseEnd;
+      }
+    }
+
+    double maxProjectDifference = 0;
+    double maxInverseDifference = 0;
+    for (int i = 0; i < lonLat.length; i++) {
+      maxProjectDifference = Math.max(maxProjectDifference, Math.abs(scalarXy[i] - batchXy[i]));
+      maxInverseDifference = Math.max(maxInverseDifference,
+        Math.abs(scalarLonLat[i] - batchLonLat[i]));
+    }
+    final double pointIterations = (double)pointCount * iterationCount;
+    System.out.printf("%s\tproject\t%.1f\t%.1f\t%.2f\t%.3e m%n", name,
+      scalarProjectTime / pointIterations, batchProjectTime / pointIterations,
+      (double)scalarProjectTime / batchProjectTime, maxProjectDifference);
+    System.out.printf("%s\tinverse\t%.1f\t%.1f\t%.2f\t%.3e rad%n", name,
+      scalarInverseTime / pointIterations, batchInverseTime / pointIterations,
+      (double)scalarInverseTime / batchInverseTime, maxInverseDifference);
+    if (maxProjectDifference > MAX_PROJECT_DIFFERENCE) {
+      throw new IllegalStateException(name + " project difference " + maxProjectDifference
+        + " m > " + MAX_PROJECT_DIFFERENCE + " m");
+    }
+    if (maxInverseDifference > MAX_INVERSE_DIFFERENCE) {
+      throw new IllegalStateException(name + " inverse difference " + maxInverseDifference
+        + " rad > " + MAX_INVERSE_DIFFERENCE + " rad");
+    }
+  }
+
+  private static void inversePoints(final CoordinatesProjection projection,
+    final double[] source, final double[] target) {
+    final CoordinatesOperationPoint point = new CoordinatesOperationPoint();
+    for (int i = 0; i < source.length; i += 2) {
+      point.x = source[i];
+      point.y = source[i + 1];
+      projection.inverse(point);
+      target[i] = point.x;
+      target[i + 1] = point.y;
+    }
+  }
+
+  public static void main(final String[] args) {
+    final int pointCount = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+    final int iterationCount = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+    System.out.println("Vector API " + (VectorProjections.AVAILABLE
+      ? "enabled, " + VectorProjections.MERCATOR.getLaneCount() + " lanes" : "not enabled"));
+    System.out
+      .println("projection\tmethod\tscalar ns/point\tbatch ns/point\tspeedup\tmax difference");
+
+    final ProjectedCoordinateSystem webMercator = EpsgCoordinateSystems.getCoordinateSystem(3857);
+    benchmark("WebMercator", new WebMercator(webMercator), pointCount, iterationCount);
+
+    final ProjectedCoordinateSystem sphericalMercator = EpsgCoordinateSystems
+      .getCoordinateSystem(3785);
+    benchmark("Mercator1SPSpherical", new Mercator1SPSpherical(sphericalMercator), pointCount,
+      iterationCount);
+
+    final ProjectedCoordinateSystem worldMercator = EsriCoordinateSystems
+      .getProjectedCoordinateSystem(3395);
+    benchmark("Mercator1SP", new Mercator1SP(worldMercator), pointCount, iterationCount);
+
+    final ProjectedCoordinateSystem caspianSeaMercator = EsriCoordinateSystems
+      .getProjectedCoordinateSystem(3388);
+    benchmark("Mercator2SP", new Mercator2SP(caspianSeaMercator), pointCount, iterationCount);
+  }
+
+  private static void projectPoints(final CoordinatesProjection projection,
+    final double[] source, final double[] target) {
+    final CoordinatesOperationPoint point = new CoordinatesOperationPoint();
+    for (int i = 0; i < source.length; i += 2) {
+      point.x = source[i];
+      point.y = source[i + 1];
+      projection.project(point);
+      target[i] = point.x;
+      target[i + 1] = point.y;
+    }
+  }
+}